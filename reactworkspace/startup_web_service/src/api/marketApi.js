@@ -6,6 +6,23 @@ const axiosInstance = createInstance();
 // 환경변수 파일에 저장된 서버 URL 읽어오기
 const serverUrl = import.meta.env.VITE_BACK_SERVER;
 
+// 마켓 첨부파일 URL
+// 저장소 파일은 "ab/cd/<해시>.jpg" 경로 그대로, 이전 방식 파일은 "날짜(앞 8자리)/파일명"
+export function marketFileUrl(filePath) {
+    const path = filePath.includes('/') ? filePath : filePath.substring(0, 8) + '/' + filePath;
+    return serverUrl + '/market/postFile/' + path;
+}
+
+// 마켓 이미지 축소본 URL (variant : "thumb" 목록 카드, "detail" 상세 화면)
+// 목록 API는 thumbUrl을 함께 내려주므로 그 값이 있으면 서버 주소만 붙여서 사용
+export function marketImageUrl(filePath, variant) {
+    return serverUrl + '/market/image/' + variant + '?file=' + encodeURIComponent(filePath);
+}
+
+export function marketThumbUrl(market) {
+    return market.thumbUrl ? serverUrl + market.thumbUrl : marketImageUrl(market.filePath, 'thumb');
+}
+
 // 마켓 목록 조회 (모든 사용자용)
 export function getMarketList() {
     let options = {};
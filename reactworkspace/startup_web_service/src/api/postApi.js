@@ -57,6 +57,66 @@ export function deletePost(postNo) {
   return axiosInstance(options);
 }
 
+// 이 크기 이상인 첨부파일은 나눠 올리기 (연결이 끊겨도 받지 못한 조각만 다시 전송)
+export const CHUNKED_UPLOAD_THRESHOLD = 5 * 1024 * 1024;
+
+// 조각 1개 전송 (실패 시 최대 3번 재시도)
+function putChunk(uploadId, index, blob, retry = 3) {
+  let options = {};
+  options.url = serverUrl + `/api/post/upload/${uploadId}/${index}`;
+  options.method = 'put';
+  options.data = blob;
+  options.headers = { 'Content-Type': 'application/octet-stream' };
+  
+  return axiosInstance(options).catch(function(error) {
+    const status = error.response?.status;
+    if (retry > 0 && (status === undefined || status >= 500)) {
+      return putChunk(uploadId, index, blob, retry - 1);
+    }
+    throw error;
+  });
+}
+
+// 큰 첨부파일 나눠 올리기 : 세션 생성 → 조각 전송(동시 3개, 순서 무관) → 완료, uploadId 반환
+export async function uploadFileInChunks(file) {
+  const created = await axiosInstance({
+    url: serverUrl + '/api/post/upload',
+    method: 'post',
+    params: { fileName: file.name, fileSize: file.size }
+  });
+  const { uploadId, chunkSize, totalChunks } = created.data;
+  
+  let next = 0;
+  const worker = async function() {
+    while (next < totalChunks) {
+      const index = next++;
+      await putChunk(uploadId, index, file.slice(index * chunkSize, (index + 1) * chunkSize));
+    }
+  };
+  await Promise.all([worker(), worker(), worker()]);
+  
+  await axiosInstance({ url: serverUrl + `/api/post/upload/${uploadId}/complete`, method: 'post' });
+  return uploadId;
+}
+
+// 게시글 등록/수정 FormData에 첨부파일 추가 : 작은 파일은 그대로, 큰 파일은 먼저 나눠 올린 뒤 uploadIds로
+export function appendAttachedFiles(formData, files) {
+  const largeFiles = [];
+  for (let i = 0; i < files.length; i++) {
+    if (files[i].size >= CHUNKED_UPLOAD_THRESHOLD) {
+      largeFiles.push(files[i]);
+    } else {
+      formData.append('attachedFiles', files[i]);
+    }
+  }
+  return Promise.all(largeFiles.map(uploadFileInChunks)).then(function(uploadIds) {
+    uploadIds.forEach(function(uploadId) {
+      formData.append('uploadIds', uploadId);
+    });
+    return formData;
+  });
+}
+
 // 파일 다운로드
 export function downloadFile(fileNo, fileName) {
   let options = {};
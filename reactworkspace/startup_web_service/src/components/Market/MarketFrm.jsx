@@ -1,5 +1,6 @@
 import { useEffect, useRef, useState } from "react";
 import Swal from "sweetalert2";
+import { marketFileUrl } from "../../api/marketApi";
 
 import "./MarketFrm.css";
 
@@ -21,8 +22,6 @@ export default function MarketFrm(props){
     const delFileList=props.delFileList;
     const setDelFileList=props.setDelFileList;
 
-    const serverUrl=import.meta.env.VITE_BACK_SERVER;
-
     //제목 변경시 호출
     function chgMarketTitle(e){
         setMarketTitle(e.target.value);
@@ -49,7 +48,7 @@ export default function MarketFrm(props){
 
             for (let i = 0; i < prevFileList.length; i++) {
                 let filePath = prevFileList[i].filePath;
-                let imgUrl = serverUrl + "/market/postFile/" + filePath.substring(0, 8) + "/" + filePath;
+                let imgUrl = marketFileUrl(filePath);
                 
                 serverImgs.push({
                                     url: imgUrl,
@@ -1,6 +1,7 @@
 import { useEffect, useState } from "react";
 import { Link, useNavigate } from "react-router-dom";
 import createInstance from "../../api/Interceptor";
+import { marketThumbUrl } from "../../api/marketApi";
 import useAuthStore from "../../store/authStore";
 import PageNavi from "../common/PageNavi";
 import "./MarketList.css"; 
@@ -62,7 +63,6 @@ export default function MarketList(){
 
 function MarketItem(props){
     const market=props.market;
-    const serverUrl = import.meta.env.VITE_BACK_SERVER;
     const navigate = useNavigate();
 
 
@@ -75,7 +75,7 @@ function MarketItem(props){
                     <CardMedia
                         component="img"
                         height="300"
-                        image={market.filePath ? serverUrl + "/market/postFile/" + market.filePath.substring(0,8) + "/" + market.filePath
+                        image={market.filePath ? marketThumbUrl(market)
                                                 : "/image/default_img.png"}
                     />
                     <CardContent>
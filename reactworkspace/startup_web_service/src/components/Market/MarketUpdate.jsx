@@ -30,7 +30,7 @@ export default function MarketUpdate(){
     
     useEffect(function(){
         let options={};
-        options.url=serverUrl+'/market/'+marketNo;
+        options.url=serverUrl+'/market/'+marketNo+'?view=false'; //수정 화면 조회는 조회수 증가 제외
         options.method='get';
 
         axiosInstance(options)
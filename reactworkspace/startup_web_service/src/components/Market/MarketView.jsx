@@ -3,6 +3,7 @@ import { Link, useNavigate, useParams } from "react-router-dom";
 import useAuthStore from "../../store/authStore";
 import { Viewer } from "@toast-ui/react-editor";
 import createInstance from "../../api/Interceptor";
+import { marketImageUrl } from "../../api/marketApi";
 import "./MarketView.css"
 
 export default function MarketView(){
@@ -72,7 +73,7 @@ export default function MarketView(){
                             <img className="file-img"
                                  src={
                                         marketFile[currentImageIndex].filePath
-                                        ? serverUrl + "/market/postFile/" + marketFile[currentImageIndex].filePath.substring(0, 8) + "/" + marketFile[currentImageIndex].filePath
+                                        ? marketImageUrl(marketFile[currentImageIndex].filePath, "detail")
                                         : "/image/default_img.png" //혹시나 해서 방어코드. marketFile이 null이 아니면 filePath가 비어있을일은 없긴 함.
             
                             } />
@@ -171,13 +172,12 @@ export default function MarketView(){
 function FileItem(props){
     const file=props.file;
 
-    const serverUrl =import.meta.env.VITE_BACK_SERVER;
     const axiosInstance=createInstance();
 
     return(
         <div>
             <img className="file-img" src={
-                        file.filePath ? serverUrl + "/market/postFile/" + file.filePath.substring(0,8) + "/" + file.filePath
+                        file.filePath ? marketFileUrl(file.filePath)
                                                 : "/image/default_img.png"
                     }/>
         </div>
@@ -51,6 +51,8 @@ export default function CommercialDetail() {
   const location = useLocation();
   const [storeDetail, setStoreDetail] = useState(null);
   const [relatedStores, setRelatedStores] = useState([]);
+  const [smallCounts, setSmallCounts] = useState([]); // 같은 중분류의 소분류별 상가 수 (서버 집계)
+  const [relatedTotal, setRelatedTotal] = useState(0);
   const [loading, setLoading] = useState(true);
   const [gridApi, setGridApi] = useState(null);
   const [hoverLabel, setHoverLabel] = useState('');
@@ -161,32 +163,18 @@ export default function CommercialDetail() {
   function fetchStoreDetail() {
     setLoading(true);
     
-    // 개별 상가 정보 조회
-    axios.get(`${serverUrl}/commercial/detail/${storeId}`)
-      .then(function(detailRes) {
-        const store = detailRes.data;
-        setStoreDetail(store); // 상점 정보를 state에 저장
-
-        // 관련 상가 목록 조회 (같은 중분류)
-        if (store.mediumCode) {
-          return axios.get(`${serverUrl}/commercial/filter`, {
-            params: {
-              mediumCode: store.mediumCode,
-              page: 1,
-              size: 300000
-            }
-          });
-        }
-        return null;
-      })
-      .then(function(relatedRes) {
-        if (relatedRes) {
-          // 현재 상가 제외하고 표시
-          const filteredStores = relatedRes.data.list.filter(function(s) {
-            return s.storeId !== storeId;
-          });
-          setRelatedStores(filteredStores);
-        }
+    // 상가 정보 + 관련 상가 목록(같은 중분류, 가까운 지역 순) 한 번에 조회
+    axios.get(`${serverUrl}/commercial/detail/${storeId}/related`, {
+      params: {
+        limit: 300
+      }
+    })
+      .then(function(res) {
+        setStoreDetail(res.data.detail); // 상점 정보를 state에 저장
+        setRelatedStores(res.data.related);
+        // 집계 큐브가 아직 준비되지 않았으면 서버가 생략 → 빈 차트, 관련 상가 수로 대신 표시
+        setSmallCounts(res.data.smallCounts || []);
+        setRelatedTotal(res.data.relatedTotal != null ? res.data.relatedTotal : res.data.related.length);
         setLoading(false);
       })
       .catch(function(error) {
@@ -385,71 +373,38 @@ function renderMiniMap(address) {
   });
 }
 
-// 1. 중복 없는 소분류 목록 추출
-function getUniqueCategorySmalls(relatedStores) {
-  var smalls = [];
-  for (var i = 0; i < relatedStores.length; i++) {
-    var small = relatedStores[i].categorySmall || '기타';
-    var exists = false;
-
-    for (var j = 0; j < smalls.length; j++) {
-      if (smalls[j] === small) {
-        exists = true;
-        break;
-      }
-    }
-
-    if (!exists) {
-      smalls.push(small);
-    }
-  }
-  return smalls;
+// 소분류별 상가 수 (서버 집계 결과 {code, name, count}) → 차트 라벨/값
+function getSmallLabels(smallCounts) {
+  return smallCounts.map(function(item) {
+    return item.name || '기타';
+  });
 }
 
-// 2. 각 소분류별 상가 수 계산
-function countStoresBySmall(relatedStores, smalls) {
-  var counts = [];
-  for (var i = 0; i < smalls.length; i++) {
-    var label = smalls[i];
-    var count = 0;
-
-    for (var j = 0; j < relatedStores.length; j++) {
-      var small = relatedStores[j].categorySmall || '기타';
-      if (small === label) {
-        count++;
-      }
-    }
-
-    counts.push(count);
-  }
-  return counts;
+function getSmallValues(smallCounts) {
+  return smallCounts.map(function(item) {
+    return item.count;
+  });
 }
 
-// 3. 세로 막대 Bar Chart용 데이터 생성
-function createChartData(relatedStores) {
-  var smalls = getUniqueCategorySmalls(relatedStores);
-  var counts = countStoresBySmall(relatedStores, smalls);
-
+// 세로 막대 Bar Chart용 데이터 생성
+function createChartData(smallCounts) {
   return {
-    labels: smalls,
+    labels: getSmallLabels(smallCounts),
     datasets: [{
       label: '소분류별 상가 수',
-      data: counts,
-      backgroundColor: colors.slice(0, smalls.length) // 소분류 수만큼 색상 적용
+      data: getSmallValues(smallCounts),
+      backgroundColor: colors.slice(0, smallCounts.length) // 소분류 수만큼 색상 적용
     }]
   };
 }
 
 // Doughnut 차트 데이터 생성 시 label 포함
-function createDoughnutData(relatedStores) {
-  const smalls = getUniqueCategorySmalls(relatedStores);
-  const counts = countStoresBySmall(relatedStores, smalls);
-
+function createDoughnutData(smallCounts) {
   return {
-    labels: smalls,
+    labels: getSmallLabels(smallCounts),
     datasets: [{
-      data: counts,
-      backgroundColor: colors.slice(0, smalls.length),
+      data: getSmallValues(smallCounts),
+      backgroundColor: colors.slice(0, smallCounts.length),
       borderWidth: 1
     }]
   };
@@ -590,20 +545,20 @@ function getDoughnutOptions() {
         {/* Bar 차트 */}
         <Box sx={{ flex: 1 }}>
           <Typography variant="h6" sx={{ mb: 1 }}>소분류별 상가 수</Typography>
-          <Bar options={getChartOptions()} data={createChartData(relatedStores)} />
+          <Bar options={getChartOptions()} data={createChartData(smallCounts)} />
         </Box>
 
         {/* Doughnut 차트 */}
         <Box sx={{ width: 300 }}>
           <Typography variant="h6" sx={{ mb: 10 }}>소분류 비율</Typography>
           <Doughnut
-            data={createDoughnutData(relatedStores)}
+            data={createDoughnutData(smallCounts)}
             options={getDoughnutOptions()}
             plugins={[doughnutCenterText]}
             onHover={(event, elements) => {
               if (elements.length > 0) {
                 const index = elements[0].index;
-                const label = createDoughnutData(relatedStores).labels[index];
+                const label = createDoughnutData(smallCounts).labels[index];
                 setHoverLabel(label);
               } else {
                 setHoverLabel('');
@@ -626,7 +581,7 @@ function getDoughnutOptions() {
             관련 상가 목록 ({storeDetail.categoryMedium})
           </Typography>
           <Typography variant="body2" color="text.secondary">
-            같은 업종의 상가 {relatedStores.length}개를 표시합니다.
+            같은 업종의 상가 {relatedTotal}개 중 가까운 상가 {relatedStores.length}개를 표시합니다.
           </Typography>
         </Box>
         
@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate, useParams } from 'react-router-dom';
-import { getPostDetail, updatePost } from '../../api/postApi';
+import { getPostDetail, updatePost, appendAttachedFiles } from '../../api/postApi';
 import useAuthStore from '../../store/authStore';
 import SimpleEditor from './SimpleEditor';
 import Swal from 'sweetalert2';
@@ -219,12 +219,11 @@ const PostEdit = function() {
       formDataToSend.append('deletedFiles', deletedFilesJson);
     }
     
-    // 새 첨부파일 추가
-    for (let i = 0; i < attachedFiles.length; i++) {
-      formDataToSend.append('attachedFiles', attachedFiles[i]);
-    }
-    
-    updatePost(postNo, formDataToSend)
+    // 새 첨부파일 추가 (큰 파일은 먼저 나눠 올린 뒤 uploadId로 첨부)
+    appendAttachedFiles(formDataToSend, attachedFiles)
+      .then(function(data) {
+        return updatePost(postNo, data);
+      })
       .then(function(response) {
         Swal.fire({
           icon: 'success',
@@ -146,8 +146,11 @@ const PostList = function() {
                     calculatePostNumber(index)
                   }
                 </div>
-                <div className="col-title">
+                <div className="col-title" title={post.postSnippet || ''}>
                   {post.postTitle}
+                  {post.fileCount > 0 && 
+                    <span className="file-badge">📎{post.fileCount}</span>
+                  }
                   {post.postStatus === 'private' && 
                     <span className="status-badge">비공개</span>
                   }
@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate, useParams } from 'react-router-dom';
-import { createPost } from '../../api/postApi';
+import { createPost, appendAttachedFiles } from '../../api/postApi';
 import useAuthStore from '../../store/authStore';
 import SimpleEditor from './SimpleEditor';
 import Swal from 'sweetalert2';
@@ -251,12 +251,9 @@ const PostWrite = function() {
     formDataToSend.append('postContent', formData.postContent);
     formDataToSend.append('postType', formData.postType);
     
-    // 첨부파일 추가
-    for (let i = 0; i < attachedFiles.length; i++) {
-      formDataToSend.append('attachedFiles', attachedFiles[i]);
-    }
-    
-    createPost(formDataToSend)
+    // 첨부파일 추가 (큰 파일은 먼저 나눠 올린 뒤 uploadId로 첨부)
+    appendAttachedFiles(formDataToSend, attachedFiles)
+      .then(createPost)
       .then(function(response) {
         Swal.fire({
           icon: 'success',
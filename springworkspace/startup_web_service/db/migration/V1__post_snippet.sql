@@ -0,0 +1,11 @@
+-- 게시글 목록 미리보기 컬럼 (PostSnippetBackfill이 기존 게시글 값을 채움)
+-- 이미 컬럼이 있으면 아무 것도 하지 않음 (여러 번 실행해도 됨)
+DECLARE
+    cnt NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO cnt FROM USER_TAB_COLUMNS WHERE TABLE_NAME = 'T_POSTS' AND COLUMN_NAME = 'POST_SNIPPET';
+    IF cnt = 0 THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE t_posts ADD (post_snippet VARCHAR2(1000))';
+    END IF;
+END;
+/
@@ -0,0 +1,16 @@
+-- 게시글 첨부파일 형식/크기 컬럼 (PostFileMetaBackfill이 기존 첨부파일 값을 채움)
+-- 이미 있는 컬럼은 건너뜀 (여러 번 실행해도 됨)
+DECLARE
+    cnt NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO cnt FROM USER_TAB_COLUMNS WHERE TABLE_NAME = 'T_POST_FILE' AND COLUMN_NAME = 'CONTENT_TYPE';
+    IF cnt = 0 THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE t_post_file ADD (content_type VARCHAR2(100))';
+    END IF;
+
+    SELECT COUNT(*) INTO cnt FROM USER_TAB_COLUMNS WHERE TABLE_NAME = 'T_POST_FILE' AND COLUMN_NAME = 'FILE_SIZE';
+    IF cnt = 0 THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE t_post_file ADD (file_size NUMBER)';
+    END IF;
+END;
+/
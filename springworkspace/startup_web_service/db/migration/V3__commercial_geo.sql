@@ -0,0 +1,21 @@
+-- 상가 좌표 컬럼(LON, LAT)과 지도 영역 조회 색인 (좌표 값은 다음 CSV 적재 때 MERGE로 채워짐)
+-- 이미 있는 컬럼/색인은 건너뜀 (여러 번 실행해도 됨)
+DECLARE
+    cnt NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO cnt FROM USER_TAB_COLUMNS WHERE TABLE_NAME = 'M_COMMERCIAL_INFO' AND COLUMN_NAME = 'LON';
+    IF cnt = 0 THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE M_COMMERCIAL_INFO ADD (LON NUMBER(10, 7))';
+    END IF;
+
+    SELECT COUNT(*) INTO cnt FROM USER_TAB_COLUMNS WHERE TABLE_NAME = 'M_COMMERCIAL_INFO' AND COLUMN_NAME = 'LAT';
+    IF cnt = 0 THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE M_COMMERCIAL_INFO ADD (LAT NUMBER(10, 7))';
+    END IF;
+
+    SELECT COUNT(*) INTO cnt FROM USER_INDEXES WHERE INDEX_NAME = 'IX_COMMERCIAL_LAT_LON';
+    IF cnt = 0 THEN
+        EXECUTE IMMEDIATE 'CREATE INDEX IX_COMMERCIAL_LAT_LON ON M_COMMERCIAL_INFO (LAT, LON)';
+    END IF;
+END;
+/
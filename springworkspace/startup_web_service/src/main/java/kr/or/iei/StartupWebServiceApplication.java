@@ -2,8 +2,10 @@ package kr.or.iei;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // 메모리 데이터 주기적 갱신 등 @Scheduled 작업 활성화
 public class StartupWebServiceApplication {
 
 	public static void main(String[] args) {
@@ -1,15 +1,32 @@
 package kr.or.iei.commercial.controller;
 
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import kr.or.iei.commercial.model.dto.CategoryTree;
 import kr.or.iei.commercial.model.dto.Commercial;
+import kr.or.iei.commercial.model.dto.CommercialCursor;
+import kr.or.iei.commercial.model.service.CommercialExportService;
+import kr.or.iei.commercial.model.service.CommercialLoadService;
 import kr.or.iei.commercial.model.service.CommercialService;
+import kr.or.iei.commercial.model.service.CommercialNameIndexService;
+import kr.or.iei.commercial.model.service.CommercialSnapshotService;
+import kr.or.iei.commercial.model.service.CommercialStatsService;
+import jakarta.servlet.http.HttpServletResponse;
 import kr.or.iei.common.annotation.NoTokenCheck;
+import kr.or.iei.common.dto.ResponseDTO;
+import kr.or.iei.common.service.CountService;
+import kr.or.iei.common.util.JwtUtils;
 
 @RestController
 @CrossOrigin("*") // 프론트 요청 허용
@@ -19,9 +36,33 @@ public class CommercialController {
     @Autowired
     private CommercialService service;
 
+    @Autowired
+    private CommercialExportService exportService;
+
+    @Autowired
+    private CommercialSnapshotService snapshotService;
+
+    @Autowired
+    private CommercialStatsService statsService;
+
+    @Autowired
+    private CommercialNameIndexService nameIndexService;
+
+    @Autowired
+    private CommercialLoadService loadService;
+
+    @Autowired
+    private CountService countService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
     /*
      * 조건 검색 API
      * - 대/중/소 분류 + 키워드 + 페이징
+     * - after 파라미터가 있으면 키셋(커서) 페이징 : 첫 페이지는 after= (빈 값), 이후 응답의 nextCursor 전달
+     * - after 파라미터가 없으면 기존 page/size 페이징 (기존 클라이언트 호환)
+     * - countMode=estimated : 키워드가 없으면 총 개수를 추정값으로 응답 (countEstimated=true)
      */
     @NoTokenCheck
     @GetMapping("/filter")
@@ -31,8 +72,19 @@ public class CommercialController {
         @RequestParam(required = false) String smallCode,
         @RequestParam(required = false) String keyword,
         @RequestParam(defaultValue = "1") int page,
-        @RequestParam(defaultValue = "8") int size
+        @RequestParam(defaultValue = "8") int size,
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "exact") String countMode
     ) {
+        if (after != null) {
+            Map<String, Object> param = new HashMap<>();
+            param.put("largeCode", largeCode);
+            param.put("mediumCode", mediumCode);
+            param.put("smallCode", smallCode);
+            param.put("keyword", keyword);
+            return service.getCommercialByCursor(param, CommercialCursor.decode(after), size);
+        }
+
         int startRow = (page - 1) * size;
         int endRow = page * size;
 
@@ -44,40 +96,204 @@ public class CommercialController {
         param.put("startRow", startRow);
         param.put("endRow", endRow);
 
-        ArrayList<Commercial> list = service.getCommercialByFilter(param);
-        int totalCount = service.getTotalCount(param);
+        Map<String, Object> found = service.getCommercialPage(param, "estimated".equals(countMode));
 
         Map<String, Object> result = new HashMap<>();
-        result.put("list", list);
-        result.put("totalCount", totalCount);
+        result.put("list", found.get("list"));
+        result.put("totalCount", found.get("totalCount"));
+        result.put("countEstimated", found.get("countEstimated"));
         result.put("page", page);
         result.put("size", size);
         return result;
     }
 
+    /*
+     * 조건 검색 결과 전체 내보내기 API
+     * - 검색 조건은 /filter와 동일, format : csv(기본) 또는 xlsx
+     * - 전체 목록을 JSON으로 내려받지 않고 서버에서 파일로 바로 스트리밍
+     */
+    @NoTokenCheck
+    @GetMapping("/export")
+    public void exportCommercial(
+        @RequestParam(required = false) String largeCode,
+        @RequestParam(required = false) String mediumCode,
+        @RequestParam(required = false) String smallCode,
+        @RequestParam(required = false) String keyword,
+        @RequestParam(defaultValue = "csv") String format,
+        HttpServletResponse response
+    ) throws IOException {
+        Map<String, Object> param = new HashMap<>();
+        param.put("largeCode", largeCode);
+        param.put("mediumCode", mediumCode);
+        param.put("smallCode", smallCode);
+        param.put("keyword", keyword);
+        exportService.export(param, format, response);
+    }
+
+    /*
+     * 지도 영역 조회 API
+     * - 남서(sw)/북동(ne) 좌표 + 카카오맵 확대 레벨(level) + /filter와 동일한 업종/키워드 조건
+     * - 넓은 영역 또는 밀집 지역은 클러스터(격자별 건수), 좁은 영역은 개별 상가 목록으로 응답
+     */
+    @NoTokenCheck
+    @GetMapping("/bbox")
+    public Map<String, Object> getCommercialInBounds(
+        @RequestParam double swLat,
+        @RequestParam double swLng,
+        @RequestParam double neLat,
+        @RequestParam double neLng,
+        @RequestParam(defaultValue = "3") int level,
+        @RequestParam(required = false) String largeCode,
+        @RequestParam(required = false) String mediumCode,
+        @RequestParam(required = false) String smallCode,
+        @RequestParam(required = false) String keyword
+    ) {
+        Map<String, Object> param = new HashMap<>();
+        param.put("largeCode", largeCode);
+        param.put("mediumCode", mediumCode);
+        param.put("smallCode", smallCode);
+        param.put("keyword", keyword);
+        return service.getCommercialInBounds(param, swLat, swLng, neLat, neLng, level);
+    }
+
+    /*
+     * 상권 분석 통계 API
+     * - 지역(sido → sigun → hang) / 업종(largeCode → mediumCode → smallCode) 조건별 상가 수
+     * - groupBy=region(기본) : 하위 지역별 건수, groupBy=category : 하위 업종별 건수
+     * - top : 건수 상위 N개만 (0이면 전체)
+     */
+    @NoTokenCheck
+    @GetMapping("/stats")
+    public Map<String, Object> getCommercialStats(
+        @RequestParam(required = false) String sido,
+        @RequestParam(required = false) String sigun,
+        @RequestParam(required = false) String hang,
+        @RequestParam(required = false) String largeCode,
+        @RequestParam(required = false) String mediumCode,
+        @RequestParam(required = false) String smallCode,
+        @RequestParam(defaultValue = "region") String groupBy,
+        @RequestParam(defaultValue = "0") int top
+    ) {
+        return statsService.getStats(sido, sigun, hang, largeCode, mediumCode, smallCode, groupBy, top);
+    }
 
+    /*
+     * 업종 분류 목록 API (대/중/소)
+     * - 서버 메모리의 분류 트리에서 응답, 트리 버전을 ETag로 내려 변경이 없으면 304 응답
+     */
     // 대분류 목록 조회
     @NoTokenCheck
     @GetMapping("/large")
-    public ArrayList<Map<String, String>> getLargeCategories(@RequestParam(required = false) String largeCode) {
-        return service.getLargeCategories(largeCode);
+    public ResponseEntity<List<Map<String, String>>> getLargeCategories(@RequestParam(required = false) String largeCode, WebRequest request) {
+        return categoryResponse(service.getLargeCategories(largeCode), request);
     }
 
     // 중분류 목록 조회
     @NoTokenCheck
     @GetMapping("/middle")
-    public ArrayList<Map<String, String>> getMiddleCategories(@RequestParam String largeCode) {
-        return service.getMiddleCategories(largeCode);
+    public ResponseEntity<List<Map<String, String>>> getMiddleCategories(@RequestParam String largeCode, WebRequest request) {
+        return categoryResponse(service.getMiddleCategories(largeCode), request);
     }
 
     // 소분류 목록 조회
     @NoTokenCheck
     @GetMapping("/small")
-    public ArrayList<Map<String, String>> getSmallCategories(@RequestParam String largeCode, @RequestParam String mediumCode) {
+    public ResponseEntity<List<Map<String, String>>> getSmallCategories(@RequestParam String largeCode, @RequestParam String mediumCode, WebRequest request) {
         Map<String, String> param = new HashMap<>();
         param.put("largeCode", largeCode);
         param.put("mediumCode", mediumCode);
-        return service.getSmallCategories(param);
+        return categoryResponse(service.getSmallCategories(param), request);
+    }
+
+    private ResponseEntity<List<Map<String, String>>> categoryResponse(List<Map<String, String>> list, WebRequest request) {
+        String eTag = "\"cat-" + service.getCategoryTree().getVersion() + "\"";
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic())
+                .eTag(eTag)
+                .body(list);
+    }
+
+    /*
+     * 상권 메모리 데이터 갱신 (관리자 전용)
+     * - 업종 분류 트리를 DB에서 다시 구성해 교체
+     * - 상호명 색인 재적재 (비활성화 또는 적재 중이면 nameIndexReloaded=false)
+     * - 메모리 스냅샷 사용 시 스냅샷도 재적재 (비활성화 또는 적재 중이면 snapshotReloaded=false)
+     * - 상권 분석 집계 큐브 재적재
+     */
+    @PostMapping("/admin/refresh")
+    public ResponseEntity<ResponseDTO> refreshCommercialData(@RequestHeader("Authorization") String token) {
+        if (jwtUtils.getMemberLevelFromToken(token) != 1) {
+            ResponseDTO res = new ResponseDTO(HttpStatus.FORBIDDEN, "관리자만 사용할 수 있는 기능입니다.", false, "error");
+            return new ResponseEntity<ResponseDTO>(res, res.getHttpStatus());
+        }
+
+        ResponseDTO res = new ResponseDTO(HttpStatus.INTERNAL_SERVER_ERROR, "상권 데이터 갱신 중 오류가 발생하였습니다.", false, "error");
+        try {
+            CategoryTree tree = service.refreshCategoryTree();
+            nameIndexService.markDataChanged(); // DB가 직접 바뀐 경우 기존 색인은 더 이상 쓰지 않음
+            boolean nameIndexReloaded = nameIndexService.reload();
+            boolean snapshotReloaded = snapshotService.reload();
+            boolean statsReloaded = statsService.reload();
+            service.clearFilterCache();
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("categoryVersion", tree.getVersion());
+            result.put("nameIndexReloaded", nameIndexReloaded);
+            result.put("snapshotReloaded", snapshotReloaded);
+            result.put("statsReloaded", statsReloaded);
+            res = new ResponseDTO(HttpStatus.OK, "상권 데이터가 갱신되었습니다.", result, "success");
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return new ResponseEntity<ResponseDTO>(res, res.getHttpStatus());
+    }
+
+    /*
+     * 상가 공공데이터 CSV 일괄 적재 시작 (관리자 전용)
+     * - file : 서버 적재 디렉터리(commercial.load.dir) 안의 파일명, charset : 파일 인코딩
+     * - fullLoad : 전국 전체 파일이면 true (기본 false : 파일에 있는 시도 범위에서만 사라진 상가 삭제)
+     * - 적재는 백그라운드에서 진행, 진행 상황은 GET /admin/load 로 조회
+     */
+    @PostMapping("/admin/load")
+    public ResponseEntity<ResponseDTO> startCommercialLoad(@RequestHeader("Authorization") String token,
+                                                           @RequestParam String file,
+                                                           @RequestParam(defaultValue = "UTF-8") String charset,
+                                                           @RequestParam(defaultValue = "false") boolean fullLoad) {
+        if (jwtUtils.getMemberLevelFromToken(token) != 1) {
+            ResponseDTO res = new ResponseDTO(HttpStatus.FORBIDDEN, "관리자만 사용할 수 있는 기능입니다.", false, "error");
+            return new ResponseEntity<ResponseDTO>(res, res.getHttpStatus());
+        }
+        ResponseDTO res = new ResponseDTO(HttpStatus.ACCEPTED, "상가 데이터 적재를 시작했습니다.", loadService.start(file, charset, fullLoad), "success");
+        return new ResponseEntity<ResponseDTO>(res, res.getHttpStatus());
+    }
+
+    // 상가 공공데이터 적재 진행 상황 조회 (관리자 전용)
+    @GetMapping("/admin/load")
+    public ResponseEntity<ResponseDTO> getCommercialLoadStatus(@RequestHeader("Authorization") String token) {
+        if (jwtUtils.getMemberLevelFromToken(token) != 1) {
+            ResponseDTO res = new ResponseDTO(HttpStatus.FORBIDDEN, "관리자만 사용할 수 있는 기능입니다.", false, "error");
+            return new ResponseEntity<ResponseDTO>(res, res.getHttpStatus());
+        }
+        ResponseDTO res = new ResponseDTO(HttpStatus.OK, "", loadService.status(), "success");
+        return new ResponseEntity<ResponseDTO>(res, res.getHttpStatus());
+    }
+
+    // 상권 조회 캐시 통계 (관리자 전용)
+    @GetMapping("/admin/metrics")
+    public ResponseEntity<ResponseDTO> getCommercialMetrics(@RequestHeader("Authorization") String token) {
+        if (jwtUtils.getMemberLevelFromToken(token) != 1) {
+            ResponseDTO res = new ResponseDTO(HttpStatus.FORBIDDEN, "관리자만 사용할 수 있는 기능입니다.", false, "error");
+            return new ResponseEntity<ResponseDTO>(res, res.getHttpStatus());
+        }
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("filterCache", service.getFilterCacheStats());
+        metrics.put("countCache", countService.stats());
+        metrics.put("nameIndex", nameIndexService.stats());
+        ResponseDTO res = new ResponseDTO(HttpStatus.OK, "", metrics, "success");
+        return new ResponseEntity<ResponseDTO>(res, res.getHttpStatus());
     }
 
     // 상가 상세정보 조회
@@ -86,4 +302,15 @@ public class CommercialController {
     public Commercial getCommercialDetail(@PathVariable String storeId) {
         return service.getCommercialDetail(storeId);
     }
+
+    /*
+     * 상가 상세정보 + 관련 상가 조회 (상세 페이지용, 한 번의 요청으로 처리)
+     * - limit : 관련 상가 최대 개수 (기본 100, 최대 1000)
+     */
+    @NoTokenCheck
+    @GetMapping("/detail/{storeId}/related")
+    public Map<String, Object> getCommercialDetailWithRelated(@PathVariable String storeId,
+                                                              @RequestParam(defaultValue = "100") int limit) {
+        return service.getCommercialDetailWithRelated(storeId, limit);
+    }
 }
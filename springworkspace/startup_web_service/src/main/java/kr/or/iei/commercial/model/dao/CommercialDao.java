@@ -5,6 +5,8 @@ import java.util.Map;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultHandler;
 
 import kr.or.iei.commercial.model.dto.Commercial;
 
@@ -14,18 +16,66 @@ public interface CommercialDao {
     // 조건 검색 목록
     ArrayList<Commercial> selectByCondition(Map<String, Object> param);
 
-    // 총 상가 수
-    int selectTotalCount(Map<String, Object> param);
+    // 조건 검색 목록 (키셋 페이징)
+    ArrayList<Commercial> selectByCursor(Map<String, Object> param);
+
+    // 조건 검색 전체 내보내기 (스트리밍)
+    Cursor<Commercial> selectForExport(Map<String, Object> param);
+
+    // 메모리 스냅샷 적재용 전체 조회 (정렬 순서대로 handler에 전달)
+    void selectAllForSnapshot(ResultHandler<Commercial> handler);
+
+    // 상호명 색인 적재용 상가ID/상호명 (handler에 전달)
+    void selectStoreNames(ResultHandler<Commercial> handler);
 
-    // 대분류 목록
-    ArrayList<Map<String, String>> selectLargeCategories(@Param("largeCode") String largeCode);
+    // 지도 영역 내 상가
+    ArrayList<Commercial> selectByBounds(Map<String, Object> param);
 
-    // 중분류 목록
-    ArrayList<Map<String, String>> selectMiddleCategories(@Param("largeCode") String largeCode);
+    // 지도 영역 내 상가 클러스터
+    ArrayList<Map<String, Object>> selectClustersByBounds(Map<String, Object> param);
+
+    // 관련 상가 (같은 중분류, 가까운 지역 순)
+    ArrayList<Commercial> selectRelated(Map<String, Object> param);
+
+    // 지역 × 업종 집계
+    ArrayList<Map<String, Object>> selectStatsRows();
+
+    // 옵티마이저 통계 기준 전체 행 수
+    Long selectEstimatedRowCount();
+
+    // 총 상가 수
+    int selectTotalCount(Map<String, Object> param);
 
-    // 소분류 목록
-    ArrayList<Map<String, String>> selectSmallCategories(Map<String, String> param);
+    // 업종 분류 트리 원본 (대/중/소 분류 코드+이름 조합)
+    ArrayList<Map<String, String>> selectCategoryRows();
 
     // 상가 상세정보 조회
     Commercial selectCommercialDetail(@Param("storeId") String storeId);
+
+    // 좌표 컬럼(LON, LAT) 수
+    int selectGeoColumnCount();
+
+    // 좌표 색인 존재 여부 (0/1)
+    int selectGeoIndexCount();
+
+    // 일괄 적재 : 스테이징 테이블 존재 여부 (0/1)
+    int selectStagingTableCount();
+
+    // 일괄 적재 : 스테이징 테이블 생성
+    void createStagingTable();
+
+    // 일괄 적재 : 스테이징 테이블 삭제
+    void dropStagingTable();
+
+    // 일괄 적재 : 스테이징 1건 등록 (BATCH 실행기로 호출, lineOffset : 파일 내 줄 시작 위치)
+    int insertStaging(@Param("row") Commercial commercial, @Param("lineOffset") long lineOffset);
+
+    // 일괄 적재 : 본 테이블에 없는 신규 상가 수
+    int selectNewStagingCount();
+
+    // 일괄 적재 : 신규 INSERT + 변경분 UPDATE (처리 건수 반환)
+    int mergeFromStaging();
+
+    // 일괄 적재 : 이번 파일에 없는 상가 삭제 (fullLoad=false면 이번 파일에 있는 시도 범위만)
+    int deleteMissingFromStaging(@Param("fullLoad") boolean fullLoad);
 }
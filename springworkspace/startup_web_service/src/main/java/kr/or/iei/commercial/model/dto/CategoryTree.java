@@ -0,0 +1,107 @@
+package kr.or.iei.commercial.model.dto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 업종 분류 트리 (대분류 → 중분류 → 소분류)
+ * - 생성 후 변경되지 않는 불변 객체 : 갱신 시에는 새 트리를 만들어 통째로 교체
+ * - 각 목록의 원소는 기존 API 응답과 동일한 {CODE, NAME} 형태
+ */
+public final class CategoryTree {
+
+    private static final Comparator<Map<String, String>> BY_NAME =
+            Comparator.comparing((Map<String, String> m) -> m.get("NAME"), Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final List<Map<String, String>> largeList;
+    private final Map<String, List<Map<String, String>>> middleByLarge;  // key : 대분류코드
+    private final Map<String, List<Map<String, String>>> smallByMiddle;  // key : 대분류코드 + '|' + 중분류코드
+    private final String version;                                        // ETag 용 버전 (내용이 같으면 동일)
+
+    private CategoryTree(List<Map<String, String>> largeList,
+                         Map<String, List<Map<String, String>>> middleByLarge,
+                         Map<String, List<Map<String, String>>> smallByMiddle,
+                         String version) {
+        this.largeList = largeList;
+        this.middleByLarge = middleByLarge;
+        this.smallByMiddle = smallByMiddle;
+        this.version = version;
+    }
+
+    /*
+     * DISTINCT (G_GB_CD, G_GB_NM, S_GB_CD, S_GB_NM, T_GB_CD, T_GB_NM) 조회 결과로 트리 생성
+     * - 기존 쿼리와 동일하게 코드가 없는 항목은 해당 단계에서 제외하고, 이름순 정렬
+     */
+    public static CategoryTree of(List<Map<String, String>> rows) {
+        Map<String, Map<String, String>> large = new LinkedHashMap<>();
+        Map<String, Map<String, Map<String, String>>> middle = new HashMap<>();
+        Map<String, Map<String, Map<String, String>>> small = new HashMap<>();
+
+        for (Map<String, String> row : rows) {
+            String lCode = row.get("G_GB_CD");
+            if (lCode == null) {
+                continue;
+            }
+            putNode(large, lCode, row.get("G_GB_NM"));
+
+            String mCode = row.get("S_GB_CD");
+            if (mCode == null) {
+                continue;
+            }
+            putNode(middle.computeIfAbsent(lCode, k -> new LinkedHashMap<>()), mCode, row.get("S_GB_NM"));
+
+            String sCode = row.get("T_GB_CD");
+            if (sCode == null) {
+                continue;
+            }
+            putNode(small.computeIfAbsent(lCode + "|" + mCode, k -> new LinkedHashMap<>()), sCode, row.get("T_GB_NM"));
+        }
+
+        List<Map<String, String>> largeList = sorted(large.values());
+        Map<String, List<Map<String, String>>> middleByLarge = new HashMap<>();
+        middle.forEach((k, v) -> middleByLarge.put(k, sorted(v.values())));
+        Map<String, List<Map<String, String>>> smallByMiddle = new HashMap<>();
+        small.forEach((k, v) -> smallByMiddle.put(k, sorted(v.values())));
+
+        String version = Integer.toHexString(largeList.hashCode() * 31 * 31 + middleByLarge.hashCode() * 31 + smallByMiddle.hashCode());
+        return new CategoryTree(largeList, Map.copyOf(middleByLarge), Map.copyOf(smallByMiddle), version);
+    }
+
+    // 같은 코드라도 이름이 다르면 별도 항목 (기존 SELECT DISTINCT code, name 과 동일)
+    private static void putNode(Map<String, Map<String, String>> target, String code, String name) {
+        target.computeIfAbsent(code + "|" + name, k -> {
+            Map<String, String> node = new HashMap<>();
+            node.put("CODE", code);
+            node.put("NAME", name);
+            return Collections.unmodifiableMap(node);
+        });
+    }
+
+    private static List<Map<String, String>> sorted(Collection<Map<String, String>> nodes) {
+        List<Map<String, String>> list = new ArrayList<>(nodes);
+        list.sort(BY_NAME);
+        return Collections.unmodifiableList(list);
+    }
+
+    public List<Map<String, String>> getLargeList() {
+        return largeList;
+    }
+
+    public List<Map<String, String>> getMiddleList(String largeCode) {
+        return middleByLarge.getOrDefault(largeCode, List.of());
+    }
+
+    public List<Map<String, String>> getSmallList(String largeCode, String mediumCode) {
+        return smallByMiddle.getOrDefault(largeCode + "|" + mediumCode, List.of());
+    }
+
+    public String getVersion() {
+        return version;
+    }
+}
@@ -21,4 +21,6 @@ public class Commercial {
     private String largeCode;       // 대분류 코드 (G_GB_CD)
     private String mediumCode;      // 중분류 코드 (S_GB_CD)
     private String smallCode;       // 소분류 코드 (T_GB_CD)
+    private Double longitude;       // 경도 (LON)
+    private Double latitude;        // 위도 (LAT)
 }
\ No newline at end of file
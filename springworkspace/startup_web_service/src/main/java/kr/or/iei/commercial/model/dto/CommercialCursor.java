@@ -0,0 +1,58 @@
+package kr.or.iei.commercial.model.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+
+import kr.or.iei.common.exception.CommonException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * 키셋(seek) 페이징용 커서
+ * - 직전 페이지 마지막 상가의 상호명(M_NM) + 상가업소 ID(M_NO)
+ * - 상호명이 없는(NULL) 상가는 상호명 있는 상가 뒤에 정렬 (NULLS LAST), 커서에는 구분자 없이 ID만 기록
+ * - 클라이언트에는 Base64(URL-safe) 문자열로만 노출 (내부 구조에 의존하지 않도록)
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CommercialCursor {
+    private static final char SEPARATOR = '\u0000';
+
+    private String storeName;   // 마지막 상호명 (M_NM), 상호명 없는 상가이면 null
+    private String storeId;     // 마지막 상가업소 ID (M_NO) - 동일 상호명 정렬 기준
+
+    // 마지막 상가 정보로 커서 생성
+    public static CommercialCursor of(Commercial last) {
+        return new CommercialCursor(last.getStoreName(), last.getStoreId());
+    }
+
+    // 커서 -> 문자열
+    public String encode() {
+        String raw = storeName == null ? storeId : storeName + SEPARATOR + storeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 문자열 -> 커서 (빈 값이면 첫 페이지이므로 null)
+    public static CommercialCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            if (idx < 0) {
+                return new CommercialCursor(null, raw);
+            }
+            return new CommercialCursor(raw.substring(0, idx), raw.substring(idx + 1));
+        } catch (IllegalArgumentException e) {
+            CommonException ex = new CommonException("잘못된 커서 값입니다. - " + token);
+            ex.setErrorCode(HttpStatus.BAD_REQUEST);
+            ex.setUserMsg("잘못된 페이지 요청입니다.");
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package kr.or.iei.commercial.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * 상가 공공데이터 일괄 적재 진행 상황 / 결과
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CommercialLoadReport {
+    private String fileName;        // 적재 파일명
+    private String status;          // READY / RUNNING / MERGING / DONE / FAILED
+    private long parsedRows;        // 읽은 행 수 (스테이징 등록 건수)
+    private long skippedRows;       // 상가업소번호가 없어 건너뛴 행 수
+    private long insertedRows;      // 신규 등록
+    private long updatedRows;       // 값이 바뀌어 수정
+    private long deletedRows;       // 이번 파일에 없어 삭제
+    private long startedAt;         // 시작 시각 (ms)
+    private long elapsedMs;         // 경과 시간
+    private long rowsPerSecond;     // 파싱/스테이징 처리량
+    private String message;         // 실패 사유 등
+}
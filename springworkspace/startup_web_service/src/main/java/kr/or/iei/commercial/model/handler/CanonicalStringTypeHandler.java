@@ -0,0 +1,58 @@
+package kr.or.iei.commercial.model.handler;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+/*
+ * 반복이 많은 문자열 컬럼용 TypeHandler
+ * - 시도/시군구/행정동, 업종 코드/이름처럼 값 종류가 적은 컬럼은 같은 값을 하나의 String 인스턴스로 공유
+ * - JDBC 드라이버가 행마다 새로 만든 String 대신 공용 표(POOL)의 인스턴스를 돌려주므로
+ *   내보내기/관련 상가처럼 큰 결과에서 행당 힙 사용량이 줄어듦
+ * - 표 크기는 MAX_SIZE로 제한 : 가득 차면 새 값은 공유하지 않고 그대로 반환 (잘못 지정된 고유값 컬럼으로 인한 메모리 누수 방지)
+ */
+public class CanonicalStringTypeHandler extends BaseTypeHandler<String> {
+
+    private static final int MAX_SIZE = 16384;
+    private static final ConcurrentHashMap<String, String> POOL = new ConcurrentHashMap<>(4096);
+
+    static String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String shared = POOL.get(value);
+        if (shared != null) {
+            return shared;
+        }
+        if (POOL.size() >= MAX_SIZE) {
+            return value;
+        }
+        shared = POOL.putIfAbsent(value, value);
+        return shared != null ? shared : value;
+    }
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType) throws SQLException {
+        ps.setString(i, parameter);
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return canonical(rs.getString(columnName));
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return canonical(rs.getString(columnIndex));
+    }
+
+    @Override
+    public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return canonical(cs.getString(columnIndex));
+    }
+}
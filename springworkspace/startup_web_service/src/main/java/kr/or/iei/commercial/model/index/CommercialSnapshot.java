@@ -0,0 +1,364 @@
+package kr.or.iei.commercial.model.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import kr.or.iei.commercial.model.dto.Commercial;
+
+/*
+ * M_COMMERCIAL_INFO 메모리 스냅샷 (컬럼 단위 저장)
+ * - 행 번호 = (M_NM, M_NO) 정렬 순서 : 적재 시 정렬된 순서대로 넣으므로 페이징은 비트 순회만으로 처리
+ * - 시도/시군구/행정동, 업종 코드/이름은 사전(Dictionary) 인코딩하여 int 배열로 보관
+ * - 대/중/소 분류 코드마다 해당 행들의 비트맵(BitSet)을 두어 조건 검색/건수를 비트 연산으로 계산
+ * - 상호명 키워드 검색은 n-gram 역색인(StoreNameIndex)으로 후보를 좁혀 처리
+ * - 지도 영역 검색은 좌표 격자 색인(GeoGridIndex) 사용
+ * - 생성 후 변경되지 않는 불변 객체 : 재적재 시 새 스냅샷을 만들어 통째로 교체
+ */
+public final class CommercialSnapshot {
+
+    private final int size;
+
+    // 행마다 값이 다른 컬럼
+    private final String[] storeId;
+    private final String[] storeName;
+    private final String[] roadAddr;
+    private final String[] landAddr;
+    private final double[] lat;
+    private final double[] lng;
+
+    // 사전 인코딩 컬럼 (값 = 사전 번호)
+    private final int[] province;
+    private final int[] district;
+    private final int[] town;
+    private final int[] largeCode;
+    private final int[] mediumCode;
+    private final int[] smallCode;
+    private final int[] largeName;
+    private final int[] mediumName;
+    private final int[] smallName;
+
+    private final Dictionary regionDict;     // 시도/시군구/행정동 이름 공용 사전
+    private final Dictionary codeDict;       // 업종 코드 사전
+    private final Dictionary categoryDict;   // 업종 이름 사전
+
+    // 업종 코드 번호 → 행 비트맵
+    private final BitSet[] largeBitmap;
+    private final BitSet[] mediumBitmap;
+    private final BitSet[] smallBitmap;
+
+    private final BitSet allRows;
+    private final StoreNameIndex nameIndex;
+    private final GeoGridIndex geoIndex;
+    private final Map<String, Integer> rowByStoreId;
+    private final long loadedAt;
+
+    private CommercialSnapshot(Builder b) {
+        this.size = b.size;
+        this.storeId = Arrays.copyOf(b.storeId, size);
+        this.storeName = Arrays.copyOf(b.storeName, size);
+        this.roadAddr = Arrays.copyOf(b.roadAddr, size);
+        this.landAddr = Arrays.copyOf(b.landAddr, size);
+        this.lat = Arrays.copyOf(b.lat, size);
+        this.lng = Arrays.copyOf(b.lng, size);
+        this.province = Arrays.copyOf(b.province, size);
+        this.district = Arrays.copyOf(b.district, size);
+        this.town = Arrays.copyOf(b.town, size);
+        this.largeCode = Arrays.copyOf(b.largeCode, size);
+        this.mediumCode = Arrays.copyOf(b.mediumCode, size);
+        this.smallCode = Arrays.copyOf(b.smallCode, size);
+        this.largeName = Arrays.copyOf(b.largeName, size);
+        this.mediumName = Arrays.copyOf(b.mediumName, size);
+        this.smallName = Arrays.copyOf(b.smallName, size);
+        this.regionDict = b.regionDict;
+        this.codeDict = b.codeDict;
+        this.categoryDict = b.categoryDict;
+
+        this.largeBitmap = buildBitmaps(largeCode, codeDict.size());
+        this.mediumBitmap = buildBitmaps(mediumCode, codeDict.size());
+        this.smallBitmap = buildBitmaps(smallCode, codeDict.size());
+
+        this.allRows = new BitSet(size);
+        allRows.set(0, size);
+
+        this.nameIndex = StoreNameIndex.build(storeName, size);
+        this.geoIndex = GeoGridIndex.build(lat, lng, size);
+
+        this.rowByStoreId = new HashMap<>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            rowByStoreId.put(storeId[i], i);
+        }
+        this.loadedAt = System.currentTimeMillis();
+    }
+
+    private BitSet[] buildBitmaps(int[] column, int dictSize) {
+        BitSet[] bitmaps = new BitSet[dictSize];
+        for (int row = 0; row < size; row++) {
+            int code = column[row];
+            if (code < 0) {
+                continue;
+            }
+            if (bitmaps[code] == null) {
+                bitmaps[code] = new BitSet(size);
+            }
+            bitmaps[code].set(row);
+        }
+        return bitmaps;
+    }
+
+    /*
+     * 업종 코드 조건으로 행 비트맵 계산
+     * - 같은 단계 안의 여러 코드는 OR, 단계끼리는 AND
+     * - 조건이 없는 단계(null/빈 목록)는 전체 행
+     * - 반환된 BitSet은 호출자 소유 (이후 키워드 조건 등으로 자유롭게 변경 가능)
+     */
+    public BitSet filter(List<String> largeCodes, List<String> mediumCodes, List<String> smallCodes) {
+        BitSet result = (BitSet) allRows.clone();
+        and(result, largeBitmap, largeCodes);
+        and(result, mediumBitmap, mediumCodes);
+        and(result, smallBitmap, smallCodes);
+        return result;
+    }
+
+    private void and(BitSet result, BitSet[] bitmaps, List<String> codes) {
+        if (codes == null || codes.isEmpty()) {
+            return;
+        }
+        BitSet union = new BitSet(size);
+        for (String code : codes) {
+            Integer id = codeDict.find(code);
+            if (id != null && bitmaps[id] != null) {
+                union.or(bitmaps[id]);
+            }
+        }
+        result.and(union);
+    }
+
+    /*
+     * 상호명 LIKE '%keyword%' 인 행만 남김 (상호명이 없는 행은 제외)
+     * - n-gram 색인으로 후보를 먼저 좁힌 뒤, 남은 행만 실제 상호명과 비교
+     */
+    public void retainNameLike(BitSet rows, String keyword) {
+        BitSet candidates = nameIndex.candidates(keyword);
+        if (candidates != null) {
+            rows.and(candidates);
+        }
+
+        boolean wildcard = keyword.indexOf('%') >= 0 || keyword.indexOf('_') >= 0;
+        Pattern pattern = wildcard ? StoreNameIndex.likePattern(keyword) : null;
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            String name = storeName[row];
+            boolean matched = name != null && (wildcard ? pattern.matcher(name).matches() : name.contains(keyword));
+            if (!matched) {
+                rows.clear(row);
+            }
+        }
+    }
+
+    // 정렬 순서상 startRow 초과 ~ endRow 이하 구간 (기존 ROWNUM 페이징과 동일한 의미)
+    public ArrayList<Commercial> page(BitSet rows, int startRow, int endRow) {
+        ArrayList<Commercial> list = new ArrayList<>(Math.max(0, Math.min(endRow - startRow, rows.cardinality())));
+        int seen = 0;
+        for (int row = rows.nextSetBit(0); row >= 0 && seen < endRow; row = rows.nextSetBit(row + 1)) {
+            if (seen++ >= startRow) {
+                list.add(toCommercial(row));
+            }
+        }
+        return list;
+    }
+
+    /*
+     * 관련 상가 행 번호 (기준 행 제외, 최대 limit개)
+     * - 후보 : 같은 중분류
+     * - 순위 : 같은 행정동 > 같은 시군구 > 같은 시도 > 그 외, 같은 단계에서는 같은 소분류 우선, 그 다음 상호명 순
+     * - 순위 단계가 8개뿐이므로 정렬 없이 단계별 버킷에 상호명 순서대로 limit개까지만 담음
+     */
+    public int[] related(int base, int limit) {
+        int medium = mediumCode[base];
+        if (medium < 0 || mediumBitmap[medium] == null || limit <= 0) {
+            return new int[0];
+        }
+        int[][] buckets = new int[8][];
+        int[] counts = new int[8];
+        BitSet rows = mediumBitmap[medium];
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            if (row == base) {
+                continue;
+            }
+            int level = province[row] != province[base] ? 3
+                      : district[row] != district[base] ? 2
+                      : town[row] != town[base] ? 1 : 0;
+            int rank = level * 2 + (smallCode[row] == smallCode[base] ? 0 : 1);
+            if (counts[rank] == limit) {
+                continue;
+            }
+            if (buckets[rank] == null) {
+                buckets[rank] = new int[Math.min(limit, 64)];
+            } else if (counts[rank] == buckets[rank].length) {
+                buckets[rank] = Arrays.copyOf(buckets[rank], Math.min(limit, counts[rank] * 2));
+            }
+            buckets[rank][counts[rank]++] = row;
+        }
+
+        int[] result = new int[limit];
+        int size = 0;
+        for (int rank = 0; rank < 8 && size < limit; rank++) {
+            int n = Math.min(counts[rank], limit - size);
+            if (n > 0) {
+                System.arraycopy(buckets[rank], 0, result, size, n);
+                size += n;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    // 상가업소 ID로 행 번호 조회 (없으면 -1)
+    public int rowOf(String id) {
+        Integer row = rowByStoreId.get(id);
+        return row != null ? row : -1;
+    }
+
+    public Commercial toCommercial(int row) {
+        return new Commercial(
+            storeId[row],
+            storeName[row],
+            regionDict.get(province[row]),
+            regionDict.get(district[row]),
+            regionDict.get(town[row]),
+            roadAddr[row],
+            landAddr[row],
+            categoryDict.get(largeName[row]),
+            categoryDict.get(mediumName[row]),
+            categoryDict.get(smallName[row]),
+            codeDict.get(largeCode[row]),
+            codeDict.get(mediumCode[row]),
+            codeDict.get(smallCode[row]),
+            Double.isNaN(lng[row]) ? null : lng[row],
+            Double.isNaN(lat[row]) ? null : lat[row]
+        );
+    }
+
+    public GeoGridIndex getGeoIndex() {
+        return geoIndex;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    /*
+     * 문자열 사전 : 값 ↔ 번호 (null은 -1)
+     */
+    static final class Dictionary {
+        private final Map<String, Integer> index = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer id = index.get(value);
+            if (id == null) {
+                id = values.size();
+                index.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+
+        Integer find(String value) {
+            return index.get(value);
+        }
+
+        String get(int id) {
+            return id < 0 ? null : values.get(id);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+
+    /*
+     * 스냅샷 적재용 빌더 : (M_NM, M_NO) 정렬 순서대로 add 호출
+     */
+    public static final class Builder {
+        private int size;
+        private String[] storeId = new String[1024];
+        private String[] storeName = new String[1024];
+        private String[] roadAddr = new String[1024];
+        private String[] landAddr = new String[1024];
+        private double[] lat = new double[1024];
+        private double[] lng = new double[1024];
+        private int[] province = new int[1024];
+        private int[] district = new int[1024];
+        private int[] town = new int[1024];
+        private int[] largeCode = new int[1024];
+        private int[] mediumCode = new int[1024];
+        private int[] smallCode = new int[1024];
+        private int[] largeName = new int[1024];
+        private int[] mediumName = new int[1024];
+        private int[] smallName = new int[1024];
+
+        private final Dictionary regionDict = new Dictionary();
+        private final Dictionary codeDict = new Dictionary();
+        private final Dictionary categoryDict = new Dictionary();
+
+        public void add(Commercial c) {
+            if (size == storeId.length) {
+                grow();
+            }
+            storeId[size] = c.getStoreId();
+            storeName[size] = c.getStoreName();
+            roadAddr[size] = c.getRoadAddr();
+            landAddr[size] = c.getLandAddr();
+            lat[size] = c.getLatitude() != null ? c.getLatitude() : Double.NaN;
+            lng[size] = c.getLongitude() != null ? c.getLongitude() : Double.NaN;
+            province[size] = regionDict.encode(c.getProvinceName());
+            district[size] = regionDict.encode(c.getDistrictName());
+            town[size] = regionDict.encode(c.getTownName());
+            largeCode[size] = codeDict.encode(c.getLargeCode());
+            mediumCode[size] = codeDict.encode(c.getMediumCode());
+            smallCode[size] = codeDict.encode(c.getSmallCode());
+            largeName[size] = categoryDict.encode(c.getCategoryLarge());
+            mediumName[size] = categoryDict.encode(c.getCategoryMedium());
+            smallName[size] = categoryDict.encode(c.getCategorySmall());
+            size++;
+        }
+
+        private void grow() {
+            int capacity = storeId.length * 2;
+            storeId = Arrays.copyOf(storeId, capacity);
+            storeName = Arrays.copyOf(storeName, capacity);
+            roadAddr = Arrays.copyOf(roadAddr, capacity);
+            landAddr = Arrays.copyOf(landAddr, capacity);
+            lat = Arrays.copyOf(lat, capacity);
+            lng = Arrays.copyOf(lng, capacity);
+            province = Arrays.copyOf(province, capacity);
+            district = Arrays.copyOf(district, capacity);
+            town = Arrays.copyOf(town, capacity);
+            largeCode = Arrays.copyOf(largeCode, capacity);
+            mediumCode = Arrays.copyOf(mediumCode, capacity);
+            smallCode = Arrays.copyOf(smallCode, capacity);
+            largeName = Arrays.copyOf(largeName, capacity);
+            mediumName = Arrays.copyOf(mediumName, capacity);
+            smallName = Arrays.copyOf(smallName, capacity);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public CommercialSnapshot build() {
+            return new CommercialSnapshot(this);
+        }
+    }
+}
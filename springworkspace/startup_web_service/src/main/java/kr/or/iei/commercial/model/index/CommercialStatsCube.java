@@ -0,0 +1,235 @@
+package kr.or.iei.commercial.model.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * 지역 × 업종 상가 수 집계 큐브
+ * - 지역 축 : (시도, 시군구, 행정동) 조합, 업종 축 : (대, 중, 소분류 코드) 조합
+ * - counts[지역 번호 * 업종 수 + 업종 번호] = 상가 수 (빈 칸도 0으로 보관하는 dense 배열)
+ * - 두 축 모두 정렬해 두므로 "시도=서울" 같은 상위 단계 조건은 항상 연속된 번호 구간 → 구간 합산만으로 롤업/드릴다운 처리
+ * - 생성 후 변경되지 않는 불변 객체 : 재적재 시 새 큐브를 만들어 통째로 교체
+ */
+public final class CommercialStatsCube {
+
+    public static final String[] REGION_LEVELS = {"sido", "sigun", "hang"};
+    public static final String[] CATEGORY_LEVELS = {"large", "medium", "small"};
+
+    private final String[][] regions;     // [지역 번호] → {시도, 시군구, 행정동} (null은 "")
+    private final String[][] categories;  // [업종 번호] → {대, 중, 소분류 코드} (null은 "")
+    private final String[][] categoryNames;
+    private final int[] counts;
+    private final long[] categoryTotals;  // [업종 번호] → 전체 지역 합계
+    private final long total;
+    private final long builtAt;
+
+    private CommercialStatsCube(String[][] regions, String[][] categories, String[][] categoryNames, int[] counts) {
+        this.regions = regions;
+        this.categories = categories;
+        this.categoryNames = categoryNames;
+        this.counts = counts;
+        this.categoryTotals = new long[categories.length];
+        long sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            categoryTotals[i % categories.length] += counts[i];
+            sum += counts[i];
+        }
+        this.total = sum;
+        this.builtAt = System.currentTimeMillis();
+    }
+
+    /*
+     * GROUP BY 지역, 업종 집계 결과로 큐브 생성
+     * - 행 : SIDO_NM, SIGUN_NM, HANG_NM, G_GB_CD, G_GB_NM, S_GB_CD, S_GB_NM, T_GB_CD, T_GB_NM, CNT
+     */
+    public static CommercialStatsCube of(List<Map<String, Object>> rows) {
+        Map<String, String[]> regionKeys = new HashMap<>();
+        Map<String, String[]> categoryKeys = new HashMap<>();
+        Map<String, String[]> names = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            String[] region = {str(row, "SIDO_NM"), str(row, "SIGUN_NM"), str(row, "HANG_NM")};
+            regionKeys.putIfAbsent(String.join("|", region), region);
+
+            String[] category = {str(row, "G_GB_CD"), str(row, "S_GB_CD"), str(row, "T_GB_CD")};
+            String key = String.join("|", category);
+            categoryKeys.putIfAbsent(key, category);
+            names.putIfAbsent(key, new String[] {str(row, "G_GB_NM"), str(row, "S_GB_NM"), str(row, "T_GB_NM")});
+        }
+
+        String[][] regions = sortedKeys(regionKeys);
+        String[][] categories = sortedKeys(categoryKeys);
+        String[][] categoryNames = new String[categories.length][];
+        Map<String, Integer> regionIndex = new HashMap<>(regions.length * 4 / 3 + 1);
+        Map<String, Integer> categoryIndex = new HashMap<>(categories.length * 4 / 3 + 1);
+        for (int i = 0; i < regions.length; i++) {
+            regionIndex.put(String.join("|", regions[i]), i);
+        }
+        for (int i = 0; i < categories.length; i++) {
+            String key = String.join("|", categories[i]);
+            categoryIndex.put(key, i);
+            categoryNames[i] = names.get(key);
+        }
+
+        int[] counts = new int[regions.length * categories.length];
+        for (Map<String, Object> row : rows) {
+            int r = regionIndex.get(str(row, "SIDO_NM") + "|" + str(row, "SIGUN_NM") + "|" + str(row, "HANG_NM"));
+            int c = categoryIndex.get(str(row, "G_GB_CD") + "|" + str(row, "S_GB_CD") + "|" + str(row, "T_GB_CD"));
+            counts[r * categories.length + c] += ((Number) row.get("CNT")).intValue();
+        }
+        return new CommercialStatsCube(regions, categories, categoryNames, counts);
+    }
+
+    private static String str(Map<String, Object> row, String column) {
+        Object value = row.get(column);
+        return value == null ? "" : value.toString();
+    }
+
+    private static String[][] sortedKeys(Map<String, String[]> keys) {
+        String[][] result = keys.values().toArray(new String[0][]);
+        Arrays.sort(result, Comparator.comparing((String[] k) -> k[0]).thenComparing(k -> k[1]).thenComparing(k -> k[2]));
+        return result;
+    }
+
+    /*
+     * 집계 조회
+     * - regionPrefix : {시도, 시군구, 행정동} 중 앞에서부터 지정한 값 (null이 나오면 그 이하 단계는 조건 없음)
+     * - categoryPrefix : {대, 중, 소분류 코드} 동일
+     * - groupBy : "region"이면 지정한 지역의 다음 단계별, "category"면 지정한 업종의 다음 단계별 건수
+     *   (이미 가장 하위 단계까지 지정한 경우 그 단계 그대로)
+     * - top : 0보다 크면 건수 상위 N개만
+     * - 반환 : {total, groupBy, level, items: [{code, name, count}]} (건수 내림차순)
+     */
+    public Map<String, Object> query(String[] regionPrefix, String[] categoryPrefix, String groupBy, int top) {
+        int regionDepth = depth(regionPrefix);
+        int categoryDepth = depth(categoryPrefix);
+        int[] rRange = range(regions, regionPrefix, regionDepth);
+        int[] cRange = range(categories, categoryPrefix, categoryDepth);
+
+        boolean byRegion = !"category".equals(groupBy);
+        int level = Math.min(byRegion ? regionDepth : categoryDepth, 2);
+        String[][] axis = byRegion ? regions : categories;
+        int[] groupRange = byRegion ? rRange : cRange;
+
+        // 그룹 축의 칸별 합계 (다른 축은 구간 합산)
+        long[] sums = new long[groupRange[1] - groupRange[0]];
+        long total = 0;
+        for (int r = rRange[0]; r < rRange[1]; r++) {
+            int base = r * categories.length;
+            for (int c = cRange[0]; c < cRange[1]; c++) {
+                int count = counts[base + c];
+                if (count != 0) {
+                    sums[(byRegion ? r : c) - groupRange[0]] += count;
+                    total += count;
+                }
+            }
+        }
+
+        // 정렬되어 있으므로 같은 상위 값을 가진 칸은 연속 → 값이 바뀌는 지점마다 그룹 분리
+        Map<String, Map<String, Object>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < sums.length; i++) {
+            if (sums[i] == 0) {
+                continue;
+            }
+            int idx = groupRange[0] + i;
+            String code = axis[idx][level];
+            Map<String, Object> item = groups.get(code);
+            if (item == null) {
+                item = new HashMap<>();
+                item.put("code", code.isEmpty() ? null : code);
+                String name = byRegion ? code : categoryNames[idx][level];
+                item.put("name", name.isEmpty() ? null : name);
+                item.put("count", 0L);
+                groups.put(code, item);
+            }
+            item.put("count", (long) item.get("count") + sums[i]);
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>(groups.values());
+        items.sort(Comparator.comparingLong((Map<String, Object> m) -> (long) m.get("count")).reversed());
+        if (top > 0 && items.size() > top) {
+            items = new ArrayList<>(items.subList(0, top));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("total", total);
+        result.put("groupBy", byRegion ? "region" : "category");
+        result.put("level", byRegion ? REGION_LEVELS[level] : CATEGORY_LEVELS[level]);
+        result.put("items", items);
+        return result;
+    }
+
+    /*
+     * 업종 코드 조건(단계 안에서는 OR, 단계끼리는 AND)에 맞는 전체 상가 수
+     * - /filter 의 대/중/소 분류 조건과 같은 의미 (null/빈 집합인 단계는 조건 없음)
+     */
+    public long countCategories(Set<String> largeCodes, Set<String> mediumCodes, Set<String> smallCodes) {
+        long sum = 0;
+        for (int c = 0; c < categories.length; c++) {
+            if (matches(largeCodes, categories[c][0]) && matches(mediumCodes, categories[c][1]) && matches(smallCodes, categories[c][2])) {
+                sum += categoryTotals[c];
+            }
+        }
+        return sum;
+    }
+
+    private static boolean matches(Set<String> codes, String code) {
+        return codes == null || codes.isEmpty() || codes.contains(code);
+    }
+
+    // 앞에서부터 연속으로 지정된 단계 수
+    private static int depth(String[] prefix) {
+        int depth = 0;
+        while (prefix != null && depth < prefix.length && depth < 3 && prefix[depth] != null && !prefix[depth].isEmpty()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    // 정렬된 축에서 prefix와 앞 depth 단계가 일치하는 연속 구간 [start, end)
+    private static int[] range(String[][] axis, String[] prefix, int depth) {
+        if (depth == 0) {
+            return new int[] {0, axis.length};
+        }
+        int start = 0;
+        while (start < axis.length && compare(axis[start], prefix, depth) < 0) {
+            start++;
+        }
+        int end = start;
+        while (end < axis.length && compare(axis[end], prefix, depth) == 0) {
+            end++;
+        }
+        return new int[] {start, end};
+    }
+
+    private static int compare(String[] key, String[] prefix, int depth) {
+        for (int i = 0; i < depth; i++) {
+            int cmp = key[i].compareTo(prefix[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public int regionCount() {
+        return regions.length;
+    }
+
+    public int categoryCount() {
+        return categories.length;
+    }
+
+    public long getBuiltAt() {
+        return builtAt;
+    }
+}
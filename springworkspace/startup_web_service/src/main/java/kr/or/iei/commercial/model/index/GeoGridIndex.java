@@ -0,0 +1,176 @@
+package kr.or.iei.commercial.model.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 상가 좌표 격자 색인
+ * - 위도/경도를 CELL(0.01도, 약 1km) 크기의 격자로 나누고 격자마다 포함된 스냅샷 행 번호를 보관
+ * - 격자별 건수/좌표 합계를 미리 계산해 두어, 검색 조건이 없는 넓은 지역 클러스터링은 행을 보지 않고 합산만으로 처리
+ * - 좌표가 없는 행(NaN)은 색인에서 제외
+ */
+public final class GeoGridIndex {
+
+    public static final double CELL = 0.01;
+
+    private final double[] lat;
+    private final double[] lng;
+    private final Map<Long, int[]> cells;      // 격자 키 → 행 번호 (오름차순)
+    private final Map<Long, double[]> totals;  // 격자 키 → {건수, 위도 합, 경도 합}
+
+    private GeoGridIndex(double[] lat, double[] lng, Map<Long, int[]> cells, Map<Long, double[]> totals) {
+        this.lat = lat;
+        this.lng = lng;
+        this.cells = cells;
+        this.totals = totals;
+    }
+
+    public static GeoGridIndex build(double[] lat, double[] lng, int size) {
+        Map<Long, int[]> counts = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            if (!Double.isNaN(lat[row]) && !Double.isNaN(lng[row])) {
+                counts.computeIfAbsent(key(cellOf(lat[row]), cellOf(lng[row])), k -> new int[1])[0]++;
+            }
+        }
+
+        Map<Long, int[]> cells = new HashMap<>(counts.size() * 4 / 3 + 1);
+        Map<Long, double[]> totals = new HashMap<>(counts.size() * 4 / 3 + 1);
+        Map<Long, int[]> fill = new HashMap<>(counts.size() * 4 / 3 + 1);
+        counts.forEach((k, c) -> {
+            cells.put(k, new int[c[0]]);
+            totals.put(k, new double[3]);
+            fill.put(k, new int[1]);
+        });
+        for (int row = 0; row < size; row++) {
+            if (Double.isNaN(lat[row]) || Double.isNaN(lng[row])) {
+                continue;
+            }
+            long k = key(cellOf(lat[row]), cellOf(lng[row]));
+            cells.get(k)[fill.get(k)[0]++] = row;
+            double[] t = totals.get(k);
+            t[0]++;
+            t[1] += lat[row];
+            t[2] += lng[row];
+        }
+        return new GeoGridIndex(lat, lng, cells, totals);
+    }
+
+    private static int cellOf(double degree) {
+        return (int) Math.floor(degree / CELL);
+    }
+
+    private static long key(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xFFFFFFFFL);
+    }
+
+    /*
+     * 영역 안의 행 번호 (filter가 null이면 전체 행 대상)
+     * - limit개를 넘으면 limit + 1개에서 멈춤 → 호출 측에서 초과 여부 판단
+     */
+    public int[] rowsIn(double swLat, double swLng, double neLat, double neLng, BitSet filter, int limit) {
+        int[] found = new int[Math.min(limit + 1, 1024)];
+        int count = 0;
+        for (Map.Entry<Long, int[]> cell : cellsIn(swLat, swLng, neLat, neLng)) {
+            for (int row : cell.getValue()) {
+                if ((filter == null || filter.get(row)) && inside(row, swLat, swLng, neLat, neLng)) {
+                    if (count == found.length) {
+                        found = Arrays.copyOf(found, Math.min(limit + 1, found.length * 2));
+                    }
+                    found[count++] = row;
+                    if (count > limit) {
+                        return found;
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    /*
+     * 영역 안의 상가를 clusterCell(도, CELL × 2^n) 크기 격자로 묶은 클러스터 목록
+     * - 각 클러스터 : {lat, lng (소속 상가 좌표 평균), count}
+     * - 조건이 없고 색인 격자가 영역에 완전히 포함되면 미리 계산한 합계를 사용
+     */
+    public List<Map<String, Object>> clusters(double swLat, double swLng, double neLat, double neLng, BitSet filter, double clusterCell) {
+        Map<Long, double[]> groups = new LinkedHashMap<>();
+        for (Map.Entry<Long, int[]> cell : cellsIn(swLat, swLng, neLat, neLng)) {
+            long k = cell.getKey();
+            int latCell = (int) (k >> 32);
+            int lngCell = (int) k;
+            boolean fullyInside = latCell * CELL >= swLat && (latCell + 1) * CELL <= neLat
+                    && lngCell * CELL >= swLng && (lngCell + 1) * CELL <= neLng;
+
+            if (filter == null && fullyInside) {
+                // clusterCell은 CELL의 2^n 배이므로 색인 격자 하나는 항상 클러스터 격자 하나에 온전히 속함
+                double[] t = totals.get(k);
+                double[] g = groups.computeIfAbsent(clusterKey((latCell + 0.5) * CELL, (lngCell + 0.5) * CELL, clusterCell), x -> new double[3]);
+                g[0] += t[0];
+                g[1] += t[1];
+                g[2] += t[2];
+                continue;
+            }
+            for (int row : cell.getValue()) {
+                if ((filter == null || filter.get(row)) && inside(row, swLat, swLng, neLat, neLng)) {
+                    double[] g = groups.computeIfAbsent(clusterKey(lat[row], lng[row], clusterCell), x -> new double[3]);
+                    g[0]++;
+                    g[1] += lat[row];
+                    g[2] += lng[row];
+                }
+            }
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>(groups.size());
+        for (double[] g : groups.values()) {
+            Map<String, Object> cluster = new HashMap<>();
+            cluster.put("lat", g[1] / g[0]);
+            cluster.put("lng", g[2] / g[0]);
+            cluster.put("count", (int) g[0]);
+            result.add(cluster);
+        }
+        return result;
+    }
+
+    private static long clusterKey(double latValue, double lngValue, double clusterCell) {
+        return key((int) Math.floor(latValue / clusterCell), (int) Math.floor(lngValue / clusterCell));
+    }
+
+    private boolean inside(int row, double swLat, double swLng, double neLat, double neLng) {
+        return lat[row] >= swLat && lat[row] <= neLat && lng[row] >= swLng && lng[row] <= neLng;
+    }
+
+    // 영역과 겹치는 색인 격자 (영역 격자 수가 실제 격자 수보다 많으면 전체 격자를 훑음)
+    private List<Map.Entry<Long, int[]>> cellsIn(double swLat, double swLng, double neLat, double neLng) {
+        int minLat = cellOf(swLat);
+        int maxLat = cellOf(neLat);
+        int minLng = cellOf(swLng);
+        int maxLng = cellOf(neLng);
+        long span = (long) (maxLat - minLat + 1) * (maxLng - minLng + 1);
+
+        List<Map.Entry<Long, int[]>> result = new ArrayList<>();
+        if (span > cells.size()) {
+            for (Map.Entry<Long, int[]> e : cells.entrySet()) {
+                int latCell = (int) (e.getKey() >> 32);
+                int lngCell = (int) (long) e.getKey();
+                if (latCell >= minLat && latCell <= maxLat && lngCell >= minLng && lngCell <= maxLng) {
+                    result.add(e);
+                }
+            }
+        } else {
+            for (int y = minLat; y <= maxLat; y++) {
+                for (int x = minLng; x <= maxLng; x++) {
+                    long k = key(y, x);
+                    int[] rows = cells.get(k);
+                    if (rows != null) {
+                        result.add(Map.entry(k, rows));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,171 @@
+package kr.or.iei.commercial.model.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/*
+ * 상호명(M_NM) n-gram 역색인
+ * - 글자 1개(unigram), 연속 2글자(bigram) 단위로 해당 글자가 들어있는 행 번호 목록(postings)을 보관
+ * - 행 번호는 스냅샷 행(CommercialSnapshot) 또는 상호명 색인 행(CommercialNameIndexService)
+ * - 한글은 음절 1개가 char 1개이므로 음절 단위 bigram이 되고, LIKE 비교도 음절 단위라 그대로 대응됨
+ * - postings는 행 번호 차이값을 가변 길이 정수(varint)로 압축한 byte 배열
+ * - 색인은 후보 행을 좁히는 용도이며, 최종 결과는 항상 LIKE와 같은 규칙으로 다시 확인 (결과 동일성 보장)
+ */
+public final class StoreNameIndex {
+
+    private final Map<Integer, byte[]> unigrams;
+    private final Map<Integer, byte[]> bigrams;
+    private final int size;
+
+    private StoreNameIndex(Map<Integer, byte[]> unigrams, Map<Integer, byte[]> bigrams, int size) {
+        this.unigrams = unigrams;
+        this.bigrams = bigrams;
+        this.size = size;
+    }
+
+    // 행 순서의 상호명 배열로 색인 생성
+    public static StoreNameIndex build(String[] names, int size) {
+        Map<Integer, IntList> uni = new HashMap<>();
+        Map<Integer, IntList> bi = new HashMap<>();
+
+        for (int row = 0; row < size; row++) {
+            String name = names[row];
+            if (name == null) {
+                continue;
+            }
+            for (int i = 0; i < name.length(); i++) {
+                uni.computeIfAbsent((int) name.charAt(i), k -> new IntList()).addDistinct(row);
+                if (i + 1 < name.length()) {
+                    bi.computeIfAbsent(bigram(name.charAt(i), name.charAt(i + 1)), k -> new IntList()).addDistinct(row);
+                }
+            }
+        }
+        return new StoreNameIndex(compress(uni), compress(bi), size);
+    }
+
+    private static int bigram(char a, char b) {
+        return (a << 16) | b;
+    }
+
+    private static Map<Integer, byte[]> compress(Map<Integer, IntList> lists) {
+        Map<Integer, byte[]> result = new HashMap<>(lists.size() * 4 / 3 + 1);
+        lists.forEach((gram, list) -> result.put(gram, list.encode()));
+        return result;
+    }
+
+    /*
+     * LIKE '%keyword%' 후보 행
+     * - keyword 안의 %, _ 는 LIKE와 동일하게 와일드카드로 보고, 그 사이의 글자 조각만으로 후보를 좁힘
+     * - 반환 null : 글자 조각이 없어 색인으로 좁힐 수 없음 (전체 행이 후보)
+     */
+    public BitSet candidates(String keyword) {
+        List<byte[]> postings = new ArrayList<>();
+        for (String segment : keyword.split("[%_]")) {
+            if (segment.length() == 1) {
+                postings.add(unigrams.get((int) segment.charAt(0)));
+            }
+            for (int i = 0; i + 1 < segment.length(); i++) {
+                postings.add(bigrams.get(bigram(segment.charAt(i), segment.charAt(i + 1))));
+            }
+        }
+        if (postings.isEmpty()) {
+            return null;
+        }
+        if (postings.contains(null)) {
+            return new BitSet(size); // 한 번도 등장하지 않은 글자 조합 → 결과 없음
+        }
+
+        // 짧은 postings부터 교집합
+        postings.sort(Comparator.comparingInt(p -> p.length));
+        BitSet result = decode(postings.get(0));
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.and(decode(postings.get(i)));
+        }
+        return result;
+    }
+
+    private BitSet decode(byte[] data) {
+        BitSet rows = new BitSet(size);
+        int row = 0;
+        int pos = 0;
+        while (pos < data.length) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            row += delta;
+            rows.set(row);
+        }
+        return rows;
+    }
+
+    /*
+     * Oracle LIKE '%' || keyword || '%' 와 같은 의미의 정규식
+     * - % : 0글자 이상, _ : 정확히 1글자, 그 외 글자는 그대로 비교 (ESCAPE 미사용이므로 \도 일반 글자)
+     */
+    public static Pattern likePattern(String keyword) {
+        StringBuilder regex = new StringBuilder(".*");
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < keyword.length(); i++) {
+            char c = keyword.charAt(i);
+            if (c == '%' || c == '_') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '%' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        regex.append(".*");
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    /*
+     * 색인 생성용 가변 길이 int 목록 (행 번호는 증가 순서로만 추가됨)
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int count;
+
+        void addDistinct(int value) {
+            if (count > 0 && values[count - 1] == value) {
+                return; // 같은 상호명 안에서 같은 글자가 반복된 경우
+            }
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = value;
+        }
+
+        byte[] encode() {
+            byte[] buf = new byte[count * 5];
+            int pos = 0;
+            int prev = 0;
+            for (int i = 0; i < count; i++) {
+                int delta = values[i] - prev;
+                prev = values[i];
+                while ((delta & ~0x7F) != 0) {
+                    buf[pos++] = (byte) ((delta & 0x7F) | 0x80);
+                    delta >>>= 7;
+                }
+                buf[pos++] = (byte) delta;
+            }
+            return Arrays.copyOf(buf, pos);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package kr.or.iei.commercial.model.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjLongConsumer;
+
+import kr.or.iei.commercial.model.dto.Commercial;
+
+/*
+ * 소상공인시장진흥공단 상가(상권)정보 CSV 파서
+ * - 헤더 이름으로 컬럼 위치를 찾으므로 배포 시기별 컬럼 순서 차이와 무관
+ * - 파일을 바이트 구간(chunk)으로 나눠 구간마다 다른 스레드에서 읽을 수 있도록 함
+ *   (구간 경계는 줄바꿈 기준으로 맞추며, UTF-8/CP949 모두 0x0A 바이트는 줄바꿈에만 쓰이므로 안전)
+ * - 값 안에 줄바꿈이 들어간 행은 공공데이터 원본에 없으므로 지원하지 않음 (따옴표로 감싼 쉼표는 지원)
+ */
+public final class CommercialCsvReader {
+
+    // Commercial 필드 순서대로의 원본 CSV 헤더 이름
+    private static final String[] HEADERS = {
+        "상가업소번호", "상호명", "시도명", "시군구명", "행정동명", "도로명주소", "지번주소",
+        "상권업종대분류명", "상권업종중분류명", "상권업종소분류명",
+        "상권업종대분류코드", "상권업종중분류코드", "상권업종소분류코드",
+        "경도", "위도"
+    };
+
+    private final Path file;
+    private final Charset charset;
+    private final int[] columns;     // HEADERS[i]의 CSV 컬럼 위치 (없으면 -1)
+    private final long dataStart;    // 헤더 다음 줄의 시작 위치
+
+    public CommercialCsvReader(Path file, Charset charset) throws IOException {
+        this.file = file;
+        this.charset = charset;
+        try (LineInput in = new LineInput(file)) {
+            byte[] line = in.readLine();
+            if (line == null) {
+                throw new IOException("빈 파일입니다. - " + file);
+            }
+            this.dataStart = in.position();
+
+            List<String> header = split(new String(line, charset).replace("\uFEFF", ""));
+            Map<String, Integer> position = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                position.putIfAbsent(header.get(i).trim(), i);
+            }
+            this.columns = new int[HEADERS.length];
+            for (int i = 0; i < HEADERS.length; i++) {
+                columns[i] = position.getOrDefault(HEADERS[i], -1);
+            }
+            if (columns[0] < 0) {
+                throw new IOException("상가업소번호 컬럼이 없는 파일입니다. - " + file);
+            }
+        }
+    }
+
+    /*
+     * 데이터 영역을 최대 count개의 바이트 구간 [start, end)로 분할
+     * - 각 구간은 시작 위치가 속한 줄부터가 아니라, 구간 안에서 처음 시작하는 줄부터 읽음 (readChunk 참고)
+     */
+    public List<long[]> split(int count) throws IOException {
+        long length = file.toFile().length();
+        long chunkSize = Math.max(1, (length - dataStart + count - 1) / count);
+        List<long[]> chunks = new ArrayList<>();
+        for (long start = dataStart; start < length; start += chunkSize) {
+            chunks.add(new long[] {start, Math.min(length, start + chunkSize)});
+        }
+        return chunks;
+    }
+
+    /*
+     * 구간 [start, end) 에서 시작하는 줄을 모두 읽어 Commercial로 변환
+     * - 구간 끝을 넘어가는 마지막 줄도 끝까지 읽음 (다음 구간은 그 줄을 건너뜀)
+     * - onRow에는 행과 그 줄의 파일 내 시작 위치(파일 순서, 구간과 무관하게 유일)를 전달
+     * - 상가업소번호가 없는 줄은 onSkip 호출
+     */
+    public void readChunk(long start, long end, ObjLongConsumer<Commercial> onRow, Runnable onSkip) throws IOException {
+        try (LineInput in = new LineInput(file)) {
+            if (start > dataStart) {
+                // 이전 구간에서 시작한 줄의 나머지는 이전 구간 담당
+                in.seek(start - 1);
+                if (in.read() != '\n') {
+                    in.readLine();
+                }
+            } else {
+                in.seek(start);
+            }
+            while (in.position() < end) {
+                long offset = in.position();
+                byte[] line = in.readLine();
+                if (line == null) {
+                    break;
+                }
+                Commercial row = toCommercial(new String(line, charset));
+                if (row != null) {
+                    onRow.accept(row, offset);
+                } else {
+                    onSkip.run();
+                }
+            }
+        }
+    }
+
+    private Commercial toCommercial(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        List<String> fields = split(line);
+        String storeId = field(fields, 0);
+        if (storeId == null) {
+            return null;
+        }
+        return new Commercial(
+            storeId, field(fields, 1), field(fields, 2), field(fields, 3), field(fields, 4),
+            field(fields, 5), field(fields, 6), field(fields, 7), field(fields, 8), field(fields, 9),
+            field(fields, 10), field(fields, 11), field(fields, 12),
+            number(field(fields, 13)), number(field(fields, 14))
+        );
+    }
+
+    private String field(List<String> fields, int header) {
+        int col = columns[header];
+        if (col < 0 || col >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(col).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Double number(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // 쉼표 구분, 큰따옴표로 감싼 값 및 "" 이스케이프 지원
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /*
+     * 위치 이동(seek)이 가능한 버퍼 입력 : 구간 단위 읽기용
+     */
+    private static final class LineInput implements AutoCloseable {
+        private final RandomAccessFile raf;
+        private final byte[] buf = new byte[64 * 1024];
+        private long bufStart;
+        private int pos;
+        private int limit;
+
+        LineInput(Path file) throws IOException {
+            this.raf = new RandomAccessFile(file.toFile(), "r");
+        }
+
+        void seek(long position) throws IOException {
+            raf.seek(position);
+            bufStart = position;
+            pos = 0;
+            limit = 0;
+        }
+
+        long position() {
+            return bufStart + pos;
+        }
+
+        int read() throws IOException {
+            if (pos == limit) {
+                bufStart += limit;
+                pos = 0;
+                limit = Math.max(0, raf.read(buf));
+                if (limit == 0) {
+                    return -1;
+                }
+            }
+            return buf[pos++] & 0xFF;
+        }
+
+        // 줄바꿈(\n, \r\n) 제외한 한 줄 (파일 끝이면 null)
+        byte[] readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+            int b;
+            while ((b = read()) != -1 && b != '\n') {
+                line.write(b);
+            }
+            if (b == -1 && line.size() == 0) {
+                return null;
+            }
+            byte[] bytes = line.toByteArray();
+            int len = bytes.length;
+            return len > 0 && bytes[len - 1] == '\r' ? Arrays.copyOf(bytes, len - 1) : bytes;
+        }
+
+        @Override
+        public void close() throws IOException {
+            raf.close();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package kr.or.iei.commercial.model.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.or.iei.commercial.model.dao.CommercialDao;
+import kr.or.iei.commercial.model.dto.Commercial;
+import kr.or.iei.common.exception.CommonException;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 상가 목록 내보내기 서비스 (CSV / XLSX)
+ * - DB Cursor에서 한 건씩 읽어 바로 응답 스트림에 기록 → 건수와 관계없이 힙 사용량 일정
+ * - XLSX는 SXSSF(행 윈도우만 메모리에 두고 나머지는 임시파일로 내보냄) 사용
+ * - 동시에 실행 가능한 내보내기 수 제한 (초과 시 429)
+ */
+@Service
+@Slf4j
+public class CommercialExportService {
+
+    private static final String[] HEADERS = {
+        "상가업소ID", "상호명", "시도", "시군구", "행정동", "도로명주소", "지번주소", "대분류", "중분류", "소분류"
+    };
+
+    private static final int XLSX_ROW_WINDOW = 100; // SXSSF 메모리 유지 행 수
+
+    @Autowired
+    private CommercialDao dao;
+
+    @Autowired
+    private CommercialNameIndexService nameIndexService;
+
+    @Value("${commercial.export.maxConcurrent:2}")
+    private int maxConcurrent;
+
+    private Semaphore exportPermits;
+
+    @PostConstruct
+    public void init() {
+        exportPermits = new Semaphore(maxConcurrent);
+    }
+
+    /*
+     * 조건에 맞는 상가 목록을 format(csv, xlsx) 형식으로 응답에 기록
+     * - Cursor는 트랜잭션(SqlSession)이 열려있는 동안만 읽을 수 있으므로 메소드 전체를 트랜잭션으로 묶음
+     */
+    @Transactional(readOnly = true)
+    public void export(Map<String, Object> param, String format, HttpServletResponse response) throws IOException {
+        boolean xlsx = "xlsx".equalsIgnoreCase(format);
+        if (!xlsx && !"csv".equalsIgnoreCase(format)) {
+            CommonException ex = new CommonException("지원하지 않는 내보내기 형식입니다. - " + format);
+            ex.setErrorCode(HttpStatus.BAD_REQUEST);
+            throw ex;
+        }
+
+        if (!exportPermits.tryAcquire()) {
+            CommonException ex = new CommonException("동시 내보내기 요청 수 초과");
+            ex.setErrorCode(HttpStatus.TOO_MANY_REQUESTS);
+            ex.setUserMsg("내보내기 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+            throw ex;
+        }
+
+        CommercialService.expandMultiCodes(param);
+        nameIndexService.resolveKeyword(param);
+        long start = System.currentTimeMillis();
+        try (Cursor<Commercial> cursor = dao.selectForExport(param)) {
+            String fileName = "상가목록_" + LocalDate.now() + (xlsx ? ".xlsx" : ".csv");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString());
+
+            int rows;
+            if (xlsx) {
+                response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+                rows = writeXlsx(cursor, response.getOutputStream());
+            } else {
+                response.setContentType("text/csv; charset=UTF-8");
+                rows = writeCsv(cursor, response.getOutputStream());
+            }
+            log.info("상가 목록 내보내기 완료 - 형식: {}, 건수: {}, 소요시간: {}ms", format, rows, System.currentTimeMillis() - start);
+        } finally {
+            exportPermits.release();
+        }
+    }
+
+    // CSV 기록 (엑셀에서 한글이 깨지지 않도록 UTF-8 BOM 추가)
+    private int writeCsv(Cursor<Commercial> cursor, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write('\uFEFF');
+        writeCsvLine(writer, HEADERS);
+
+        int rows = 0;
+        for (Commercial c : cursor) {
+            writeCsvLine(writer, toColumns(c));
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private void writeCsvLine(Writer writer, String[] columns) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = columns[i] == null ? "" : columns[i];
+            // 쉼표, 따옴표, 줄바꿈이 포함된 값은 따옴표로 감싸고 내부 따옴표는 두 번 기록
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // XLSX 기록 (SXSSF : 윈도우 밖의 행은 임시파일로 flush)
+    private int writeXlsx(Cursor<Commercial> cursor, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            int maxRowIndex = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+            Sheet sheet = createXlsxSheet(workbook);
+
+            int rows = 0;
+            int rowIndex = 0;
+            for (Commercial c : cursor) {
+                // 시트 최대 행 수(1,048,576)를 넘으면 다음 시트에 이어서 기록
+                if (rowIndex == maxRowIndex) {
+                    sheet = createXlsxSheet(workbook);
+                    rowIndex = 0;
+                }
+                writeXlsxRow(sheet.createRow(++rowIndex), toColumns(c));
+                rows++;
+            }
+            workbook.write(out);
+            out.flush();
+            return rows;
+        } finally {
+            workbook.close(); // 임시파일 정리
+        }
+    }
+
+    private Sheet createXlsxSheet(SXSSFWorkbook workbook) {
+        int no = workbook.getNumberOfSheets();
+        Sheet sheet = workbook.createSheet(no == 0 ? "상가목록" : "상가목록" + (no + 1));
+        writeXlsxRow(sheet.createRow(0), HEADERS);
+        return sheet;
+    }
+
+    private void writeXlsxRow(Row row, String[] columns) {
+        for (int i = 0; i < columns.length; i++) {
+            row.createCell(i).setCellValue(columns[i] == null ? "" : columns[i]);
+        }
+    }
+
+    private String[] toColumns(Commercial c) {
+        return new String[] {
+            c.getStoreId(), c.getStoreName(), c.getProvinceName(), c.getDistrictName(), c.getTownName(),
+            c.getRoadAddr(), c.getLandAddr(), c.getCategoryLarge(), c.getCategoryMedium(), c.getCategorySmall()
+        };
+    }
+}
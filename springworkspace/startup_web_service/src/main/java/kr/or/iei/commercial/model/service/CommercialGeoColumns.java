@@ -0,0 +1,58 @@
+package kr.or.iei.commercial.model.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import kr.or.iei.commercial.model.dao.CommercialDao;
+import kr.or.iei.common.exception.CommonException;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 상가 좌표(LON, LAT) 컬럼 확인
+ * - 컬럼과 영역 조회용 (LAT, LON) 색인은 배포 전 마이그레이션(db/migration/V3__commercial_geo.sql)으로 추가, 애플리케이션은 DDL을 실행하지 않음
+ * - 기동 완료 후 1회 : 좌표 컬럼이 있는지 확인 (색인이 없으면 경고만 기록)
+ * - 기존 상가의 좌표는 비어 있다가 다음 CSV 적재 때 채워짐
+ * - 컬럼이 없거나 확인 실패 시 DB 지도 영역 조회와 적재는 사용할 수 없음 (requireReady → 503)
+ */
+@Component
+@Slf4j
+public class CommercialGeoColumns {
+
+    @Autowired
+    private CommercialDao dao;
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        try {
+            if (dao.selectGeoColumnCount() < 2) {
+                log.error("M_COMMERCIAL_INFO.LON, LAT 컬럼이 없습니다. db/migration/V3__commercial_geo.sql을 먼저 실행하세요.");
+                return;
+            }
+            if (dao.selectGeoIndexCount() == 0) {
+                log.warn("M_COMMERCIAL_INFO (LAT, LON) 색인이 없어 지도 영역 조회가 느릴 수 있습니다. (db/migration/V3__commercial_geo.sql)");
+            }
+            ready = true;
+        } catch (Exception e) {
+            log.error("상가 좌표 컬럼 확인 실패 : {}", e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 좌표 컬럼이 준비되지 않았으면 SERVICE_UNAVAILABLE
+    public void requireReady() {
+        if (!ready) {
+            CommonException ex = new CommonException("상가 좌표 컬럼(LON, LAT)이 없습니다. (db/migration/V3__commercial_geo.sql 미적용)");
+            ex.setErrorCode(HttpStatus.SERVICE_UNAVAILABLE);
+            ex.setUserMsg("지도 데이터를 준비 중입니다. 잠시 후 다시 시도해주세요.");
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package kr.or.iei.commercial.model.service;
+
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import kr.or.iei.commercial.model.dao.CommercialDao;
+import kr.or.iei.commercial.model.dto.CommercialLoadReport;
+import kr.or.iei.commercial.model.loader.CommercialCsvReader;
+import kr.or.iei.common.exception.CommonException;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 상가(상권)정보 공공데이터 CSV 일괄 적재
+ * - 1단계 : 파일을 구간으로 나눠 여러 스레드가 동시에 파싱하고, 스레드별 BATCH 세션으로 스테이징 테이블에 등록
+ * - 2단계 : 한 트랜잭션에서 스테이징 → 본 테이블 MERGE (M_NO 기준 신규/변경분만 반영) 후 사라진 상가 삭제
+ *   공공데이터는 시도별 파일로 배포되므로 삭제는 이번 파일에 있는 시도(SIDO_NM) 범위로만 한정 (fullLoad=true면 전체)
+ * - 적재 완료 후 업종 분류 트리, 상호명 색인, 메모리 스냅샷, 집계 큐브를 다시 구성
+ * - 한 번에 하나의 적재만 실행 (백그라운드 스레드), 진행 상황은 status()로 조회
+ */
+@Service
+@Slf4j
+public class CommercialLoadService {
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private CommercialService commercialService;
+
+    @Autowired
+    private CommercialSnapshotService snapshotService;
+
+    @Autowired
+    private CommercialStatsService statsService;
+
+    @Autowired
+    private CommercialNameIndexService nameIndexService;
+
+    @Autowired
+    private CommercialGeoColumns geoColumns;
+
+    // 적재 파일을 둘 서버 디렉터리 (이 디렉터리 밖의 파일은 적재 불가)
+    @Value("${commercial.load.dir:${user.dir}/data/commercial}")
+    private String loadDir;
+
+    // 파싱/스테이징 동시 스레드 수 (스레드마다 DB 커넥션 1개 사용)
+    @Value("${commercial.load.threads:4}")
+    private int threads;
+
+    // 스테이징 등록 시 JDBC 배치 크기
+    @Value("${commercial.load.batchSize:1000}")
+    private int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong parsed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "commercial-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile CommercialLoadReport report = new CommercialLoadReport(null, "READY", 0, 0, 0, 0, 0, 0, 0, 0, null);
+
+    /*
+     * 적재 시작
+     * - fileName : loadDir 안의 CSV 파일명, charset : 파일 인코딩 (공공데이터 배포 파일은 UTF-8 또는 CP949)
+     * - fullLoad : 전국 전체 파일 적재 여부 (true면 파일에 없는 상가를 시도와 관계없이 모두 삭제)
+     * - 이미 적재 중이면 CONFLICT, 좌표 컬럼 보정 전이면 SERVICE_UNAVAILABLE
+     */
+    public CommercialLoadReport start(String fileName, String charset, boolean fullLoad) {
+        geoColumns.requireReady();
+        Path dir = Paths.get(loadDir).toAbsolutePath().normalize();
+        Path file = dir.resolve(fileName).normalize();
+        if (!file.startsWith(dir) || !Files.isRegularFile(file)) {
+            CommonException ex = new CommonException("적재 파일을 찾을 수 없습니다. - " + file);
+            ex.setErrorCode(HttpStatus.BAD_REQUEST);
+            ex.setUserMsg("적재할 파일을 찾을 수 없습니다.");
+            throw ex;
+        }
+        if (!Charset.isSupported(charset)) {
+            CommonException ex = new CommonException("지원하지 않는 인코딩입니다. - " + charset);
+            ex.setErrorCode(HttpStatus.BAD_REQUEST);
+            ex.setUserMsg("지원하지 않는 파일 인코딩입니다.");
+            throw ex;
+        }
+        if (!running.compareAndSet(false, true)) {
+            CommonException ex = new CommonException("상가 데이터 적재가 이미 진행 중입니다.");
+            ex.setErrorCode(HttpStatus.CONFLICT);
+            ex.setUserMsg("이미 적재가 진행 중입니다. 완료 후 다시 시도해주세요.");
+            throw ex;
+        }
+
+        parsed.set(0);
+        skipped.set(0);
+        report = new CommercialLoadReport(file.getFileName().toString(), "RUNNING", 0, 0, 0, 0, 0, System.currentTimeMillis(), 0, 0, null);
+        loader.submit(() -> {
+            try {
+                load(file, Charset.forName(charset), fullLoad);
+            } finally {
+                running.set(false);
+            }
+        });
+        return status();
+    }
+
+    // 현재 진행 상황 (적재 중이면 파싱 건수/처리량을 실시간으로 계산)
+    public CommercialLoadReport status() {
+        CommercialLoadReport r = report;
+        if (!"RUNNING".equals(r.getStatus())) {
+            return r;
+        }
+        long elapsed = System.currentTimeMillis() - r.getStartedAt();
+        long rows = parsed.get();
+        return new CommercialLoadReport(r.getFileName(), r.getStatus(), rows, skipped.get(), 0, 0, 0,
+                r.getStartedAt(), elapsed, elapsed > 0 ? rows * 1000 / elapsed : 0, null);
+    }
+
+    private void load(Path file, Charset charset, boolean fullLoad) {
+        CommercialLoadReport r = report;
+        try {
+            CommercialCsvReader reader = new CommercialCsvReader(file, charset);
+            prepareStaging();
+
+            // 1단계 : 구간별 병렬 파싱 + 스테이징 배치 등록
+            List<long[]> chunks = reader.split(threads * 4);
+            ExecutorService workers = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (long[] chunk : chunks) {
+                    futures.add(workers.submit(() -> {
+                        stageChunk(reader, chunk[0], chunk[1]);
+                        return null;
+                    }));
+                }
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            } finally {
+                workers.shutdownNow();
+            }
+
+            long stageElapsed = System.currentTimeMillis() - r.getStartedAt();
+            long rows = parsed.get();
+            log.info("상가 데이터 스테이징 완료 - {}건 (건너뜀 {}건), {}ms, 초당 {}건",
+                    rows, skipped.get(), stageElapsed, stageElapsed > 0 ? rows * 1000 / stageElapsed : 0);
+            if (rows == 0) {
+                throw new IllegalStateException("적재할 행이 없습니다. (파일 형식/인코딩 확인)");
+            }
+            report = new CommercialLoadReport(r.getFileName(), "MERGING", rows, skipped.get(), 0, 0, 0,
+                    r.getStartedAt(), stageElapsed, stageElapsed > 0 ? rows * 1000 / stageElapsed : 0, null);
+
+            // 2단계 : 본 테이블 반영 (한 트랜잭션), 반영 전부터 상호명 색인은 재적재 완료까지 사용하지 않음
+            nameIndexService.markDataChanged();
+            int inserted;
+            int merged;
+            int deleted;
+            try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.SIMPLE, false)) {
+                CommercialDao dao = session.getMapper(CommercialDao.class);
+                inserted = dao.selectNewStagingCount();
+                merged = dao.mergeFromStaging();
+                deleted = dao.deleteMissingFromStaging(fullLoad);
+                session.commit();
+            }
+
+            long elapsed = System.currentTimeMillis() - r.getStartedAt();
+            report = new CommercialLoadReport(r.getFileName(), "DONE", rows, skipped.get(), inserted, merged - inserted, deleted,
+                    r.getStartedAt(), elapsed, stageElapsed > 0 ? rows * 1000 / stageElapsed : 0, null);
+            log.info("상가 데이터 적재 완료 - 신규 {}건, 변경 {}건, 삭제 {}건, 총 소요시간 {}ms",
+                    inserted, merged - inserted, deleted, elapsed);
+
+            commercialService.refreshCategoryTree();
+            commercialService.clearFilterCache();
+            nameIndexService.reload();
+            snapshotService.reload();
+            statsService.reload();
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("상가 데이터 적재 실패 : {}", cause.getMessage());
+            report = new CommercialLoadReport(r.getFileName(), "FAILED", parsed.get(), skipped.get(), 0, 0, 0,
+                    r.getStartedAt(), System.currentTimeMillis() - r.getStartedAt(), 0, cause.getMessage());
+        }
+    }
+
+    // 스테이징 테이블 준비 (있으면 삭제 후 본 테이블 구조로 다시 생성 → 본 테이블 컬럼 변경이 자동 반영)
+    private void prepareStaging() {
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            CommercialDao dao = session.getMapper(CommercialDao.class);
+            if (dao.selectStagingTableCount() > 0) {
+                dao.dropStagingTable();
+            }
+            dao.createStagingTable();
+        }
+    }
+
+    // 한 구간 파싱 → batchSize 단위로 스테이징 등록 (스레드마다 별도 BATCH 세션/커넥션)
+    private void stageChunk(CommercialCsvReader reader, long start, long end) throws Exception {
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            CommercialDao dao = session.getMapper(CommercialDao.class);
+            int[] pending = {0};
+            reader.readChunk(start, end, (row, offset) -> {
+                dao.insertStaging(row, offset);
+                if (++pending[0] == batchSize) {
+                    session.flushStatements();
+                    pending[0] = 0;
+                }
+                long count = parsed.incrementAndGet();
+                if (count % 100000 == 0) {
+                    long elapsed = System.currentTimeMillis() - report.getStartedAt();
+                    log.info("상가 데이터 스테이징 진행 - {}건, 초당 {}건", count, elapsed > 0 ? count * 1000 / elapsed : 0);
+                }
+            }, skipped::incrementAndGet);
+            session.flushStatements();
+            session.commit();
+        }
+    }
+}
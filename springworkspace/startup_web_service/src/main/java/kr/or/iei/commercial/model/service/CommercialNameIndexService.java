@@ -0,0 +1,158 @@
+package kr.or.iei.commercial.model.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import kr.or.iei.commercial.model.dao.CommercialDao;
+import kr.or.iei.commercial.model.index.StoreNameIndex;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 상호명 n-gram 색인 (DB 조회 경로용)
+ * - 메모리 스냅샷과 별개로 M_NO, M_NM만 읽어 색인을 만들고, 키워드 검색 시 후보 상가ID 목록으로 변환
+ * - 후보가 maxIds 이하이면 M_NO IN (...) 조건을 추가해 LIKE 전체 검색 대신 PK로 접근 (LIKE는 그대로 두어 결과 동일)
+ * - 후보가 없으면 조회 자체가 빈 결과, 후보가 너무 많거나 색인이 없으면 기존 LIKE 검색
+ * - 적재 완료 / 관리자 갱신 / 주기적 재적재 시 참조만 교체
+ * - 데이터 버전 : 적재(CommercialLoadService)와 관리자 갱신이 DB 반영 전에 markDataChanged로 올리고,
+ *   색인은 만들기 시작한 시점의 버전을 기억 → 버전이 다르면(이후 데이터가 바뀌었으면) 색인을 쓰지 않고 LIKE만 사용
+ * - 적재 외 경로(직접 SQL 등)로 상호명을 바꾼 경우 관리자 갱신(/admin/refresh)을 호출해야 색인 결과가 맞음
+ */
+@Service
+@Slf4j
+public class CommercialNameIndexService {
+
+    // Oracle IN 목록 최대 원소 수
+    private static final int IN_LIST_SIZE = 1000;
+
+    @Autowired
+    private CommercialDao dao;
+
+    @Value("${commercial.nameIndex.enabled:true}")
+    private boolean enabled;
+
+    // 이 건수를 넘는 후보는 IN 조건으로 바꾸지 않음 (흔한 글자 → LIKE 전체 검색이 더 빠름)
+    @Value("${commercial.nameIndex.maxIds:5000}")
+    private int maxIds;
+
+    private volatile Loaded loaded;
+
+    private final AtomicBoolean loading = new AtomicBoolean(false);
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final LongAdder resolved = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    // 색인 행 번호 → 상가ID, version : 색인을 만들기 시작한 시점의 데이터 버전
+    private record Loaded(String[] ids, StoreNameIndex index, long version) {
+    }
+
+    // 기동 직후 1회 + 이후 reloadInterval(ms) 간격으로 재적재
+    @Scheduled(initialDelayString = "${commercial.nameIndex.initialDelay:0}",
+               fixedDelayString = "${commercial.nameIndex.reloadInterval:3600000}")
+    public void scheduledReload() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /*
+     * 색인 재적재
+     * - 이미 적재 중이면 중복 실행하지 않고 false 반환
+     * - 적재 중 데이터 버전이 바뀌면(다른 적재/갱신이 끼어들면) 최대 3회까지 다시 적재
+     * - 적재 실패 시 기존 색인 유지
+     */
+    public boolean reload() {
+        if (!enabled || !loading.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            for (int attempt = 0; attempt < 3; attempt++) {
+                long start = System.currentTimeMillis();
+                long version = dataVersion.get();
+                List<String> ids = new ArrayList<>();
+                List<String> names = new ArrayList<>();
+                dao.selectStoreNames(context -> {
+                    ids.add(context.getResultObject().getStoreId());
+                    names.add(context.getResultObject().getStoreName());
+                });
+                loaded = new Loaded(ids.toArray(new String[0]), StoreNameIndex.build(names.toArray(new String[0]), ids.size()), version);
+                log.info("상호명 색인 적재 완료 - {}건, 소요시간 {}ms", ids.size(), System.currentTimeMillis() - start);
+                if (version == dataVersion.get()) {
+                    return true;
+                }
+            }
+            log.warn("상호명 색인 적재 중 데이터가 계속 바뀌어 LIKE 검색으로 처리합니다.");
+            return false;
+        } catch (Exception e) {
+            log.error("상호명 색인 적재 실패 (기존 색인 유지) : {}", e.getMessage());
+            return false;
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    // 상가 데이터 변경 알림 (DB 반영 전에 호출) : 이후 재적재가 끝날 때까지 색인 사용 중지
+    public void markDataChanged() {
+        dataVersion.incrementAndGet();
+    }
+
+    private boolean isFresh(Loaded current) {
+        return current != null && current.version() == dataVersion.get();
+    }
+
+    /*
+     * 키워드 → 후보 상가ID 조건 (keywordIds : 1000개씩 나눈 목록, 빈 목록이면 결과 없음)
+     * - 색인이 현재 데이터 버전으로 만든 것이 아니거나 색인으로 좁힐 수 없으면 keywordIds를 넣지 않음 → 매퍼는 LIKE만 사용
+     */
+    public void resolveKeyword(Map<String, Object> param) {
+        param.remove("keywordIds");
+        Loaded current = enabled ? loaded : null;
+        String keyword = (String) param.get("keyword");
+        if (current == null || keyword == null || keyword.isEmpty()) {
+            return;
+        }
+        if (!isFresh(current)) {
+            fallbacks.increment();
+            return;
+        }
+        BitSet rows = current.index().candidates(keyword);
+        if (rows == null || rows.cardinality() > maxIds) {
+            fallbacks.increment();
+            return;
+        }
+
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> chunk = null;
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            if (chunk == null || chunk.size() == IN_LIST_SIZE) {
+                chunk = new ArrayList<>(IN_LIST_SIZE);
+                chunks.add(chunk);
+            }
+            chunk.add(current.ids()[row]);
+        }
+        param.put("keywordIds", chunks);
+        resolved.increment();
+    }
+
+    // 통계 {enabled, fresh, size, resolved, fallbacks}
+    public Map<String, Object> stats() {
+        Loaded current = loaded;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("fresh", isFresh(current));
+        stats.put("size", current != null ? current.ids().length : 0);
+        stats.put("resolved", resolved.sum());
+        stats.put("fallbacks", fallbacks.sum());
+        return stats;
+    }
+}
@@ -1,47 +1,417 @@
 package kr.or.iei.commercial.model.service;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import kr.or.iei.commercial.model.dao.CommercialDao;
+import kr.or.iei.commercial.model.dto.CategoryTree;
 import kr.or.iei.commercial.model.dto.Commercial;
+import kr.or.iei.commercial.model.dto.CommercialCursor;
+import kr.or.iei.commercial.model.index.CommercialSnapshot;
+import kr.or.iei.commercial.model.index.GeoGridIndex;
+import kr.or.iei.common.exception.CommonException;
+import kr.or.iei.common.service.CountService;
+import kr.or.iei.common.util.SingleFlightCache;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
+@Slf4j
 public class CommercialService {
 
     @Autowired
     private CommercialDao dao;
 
-    // 조건 검색 리스트
+    @Autowired
+    private CommercialSnapshotService snapshotService;
+
+    @Autowired
+    private CommercialStatsService statsService;
+
+    @Autowired
+    private CommercialNameIndexService nameIndexService;
+
+    @Autowired
+    private CommercialGeoColumns geoColumns;
+
+    @Autowired
+    private CountService countService;
+
+    private final SingleFlightCache<String, ArrayList<Commercial>> filterCache;
+
+    public CommercialService(@Value("${commercial.filter.cacheTtl:5000}") long filterCacheTtl,
+                             @Value("${commercial.filter.cacheSize:1000}") int filterCacheSize) {
+        this.filterCache = new SingleFlightCache<>(filterCacheTtl, filterCacheSize);
+    }
+
+    /*
+     * 조건 검색 목록 + 총 개수 (page/size 페이징)
+     * - 스냅샷 사용 가능 시 메모리에서 바로 처리
+     * - DB 조회 시 키워드는 상호명 색인으로 후보 상가ID를 먼저 좁힘 (CommercialNameIndexService)
+     * - DB 조회 시 목록은 같은 조건의 동시 요청끼리 하나의 조회를 공유 (filterCache, 짧은 TTL 캐시 포함)
+     * - 총 개수는 페이지와 무관한 조건 키로 CountService에 캐시 → 페이지 이동 시 COUNT(*) 재실행 안 함
+     * - estimated=true 이고 키워드가 없으면 COUNT(*) 대신 추정값 사용 (countEstimated=true)
+     *   조건 없음 : 옵티마이저 통계(NUM_ROWS), 업종 조건만 : 집계 큐브 (마지막 적재 시점 기준)
+     */
+    public Map<String, Object> getCommercialPage(Map<String, Object> param, boolean estimated) {
+        expandMultiCodes(param);
+        Map<String, Object> page = new HashMap<>();
+        CommercialSnapshot snapshot = snapshotService.current();
+        if (snapshot != null) {
+            // 조건 비트맵은 1번만 계산해 목록과 개수에 같이 사용
+            BitSet rows = snapshotService.match(snapshot, param);
+            page.put("list", snapshot.page(rows, (int) param.get("startRow"), (int) param.get("endRow")));
+            page.put("totalCount", rows.cardinality());
+            page.put("countEstimated", false);
+            return page;
+        }
+
+        nameIndexService.resolveKeyword(param);
+        String conditionKey = conditionKey(param);
+        page.put("list", filterCache.get(conditionKey + '\u0000' + param.get("startRow") + '\u0000' + param.get("endRow"),
+                                         () -> dao.selectByCondition(param)));
+
+        String keyword = (String) param.get("keyword");
+        Long estimate = estimated && (keyword == null || keyword.isEmpty()) ? estimateCount(param) : null;
+        if (estimate != null) {
+            page.put("totalCount", estimate);
+            page.put("countEstimated", true);
+        } else {
+            page.put("totalCount", countService.count("commercial", conditionKey, () -> dao.selectTotalCount(param)));
+            page.put("countEstimated", false);
+        }
+        return page;
+    }
+
+    // 추정 총 개수 (추정할 수 없으면 null)
+    private Long estimateCount(Map<String, Object> param) {
+        Set<String> large = codeSet(param, "largeCode");
+        Set<String> medium = codeSet(param, "mediumCode");
+        Set<String> small = codeSet(param, "smallCode");
+        if (large.isEmpty() && medium.isEmpty() && small.isEmpty()) {
+            int rows = countService.count("commercial", "\u0001estimatedRows", () -> {
+                Long numRows = dao.selectEstimatedRowCount();
+                return numRows != null ? numRows.intValue() : -1; // 통계 미수집
+            });
+            return rows >= 0 ? (long) rows : null;
+        }
+        return statsService.countByCategories(large, medium, small);
+    }
+
+    // 단일 코드(largeCode) + 다중 코드(largeCodes)를 정렬된 집합으로
+    @SuppressWarnings("unchecked")
+    private Set<String> codeSet(Map<String, Object> param, String name) {
+        TreeSet<String> codes = new TreeSet<>();
+        if (param.get(name) instanceof String code && !code.isEmpty()) {
+            codes.add(code);
+        }
+        if (param.get(name + "s") instanceof List<?> list) {
+            codes.addAll((List<String>) list);
+        }
+        return codes;
+    }
+
+    // 검색 조건 정규화 키 (페이지 제외) : 다중 코드는 정렬/중복 제거, 빈 값은 null과 동일하게 취급
+    private String conditionKey(Map<String, Object> param) {
+        StringBuilder key = new StringBuilder();
+        for (String name : new String[] {"largeCode", "mediumCode", "smallCode"}) {
+            key.append(String.join(",", codeSet(param, name))).append('\u0000');
+        }
+        Object keyword = param.get("keyword");
+        key.append(keyword == null ? "" : keyword);
+        return key.toString();
+    }
+
+    // 조건 검색 목록/개수 캐시 비움 (데이터 갱신 시)
+    public void clearFilterCache() {
+        filterCache.clear();
+        countService.invalidate("commercial");
+    }
+
+    // 조건 검색 캐시 통계
+    public Map<String, Long> getFilterCacheStats() {
+        return filterCache.stats();
+    }
+
+    // 조건 검색 리스트 (스냅샷 사용 가능 시 메모리에서 처리)
     public ArrayList<Commercial> getCommercialByFilter(Map<String, Object> param) {
+        expandMultiCodes(param);
+        CommercialSnapshot snapshot = snapshotService.current();
+        if (snapshot != null) {
+            BitSet rows = snapshotService.match(snapshot, param);
+            return snapshot.page(rows, (int) param.get("startRow"), (int) param.get("endRow"));
+        }
+        nameIndexService.resolveKeyword(param);
         return dao.selectByCondition(param);
     }
 
-    // 총 개수 반환
+    /*
+     * 다중 코드 선택 처리
+     * - largeCode 등에 쉼표로 구분된 여러 코드가 오면 목록 파라미터(largeCodes 등)로 바꿔 OR 조건으로 검색
+     */
+    static void expandMultiCodes(Map<String, Object> param) {
+        for (String key : new String[] {"largeCode", "mediumCode", "smallCode"}) {
+            Object value = param.get(key);
+            if (value instanceof String code && code.indexOf(',') >= 0) {
+                List<String> codes = new ArrayList<>();
+                for (String c : code.split(",")) {
+                    if (!c.isBlank()) {
+                        codes.add(c.trim());
+                    }
+                }
+                param.put(key, null);
+                param.put(key + "s", codes);
+            }
+        }
+    }
+
+    /*
+     * 조건 검색 리스트 (키셋 페이징)
+     * - after : 직전 페이지 마지막 상가 커서 (null이면 첫 페이지)
+     * - size : 1 ~ 1000
+     * - size + 1건을 조회해 초과분이 있으면 다음 페이지 커서(nextCursor)를 만들어 반환
+     */
+    public Map<String, Object> getCommercialByCursor(Map<String, Object> param, CommercialCursor after, int size) {
+        size = Math.max(1, Math.min(size, 1000));
+        expandMultiCodes(param);
+        nameIndexService.resolveKeyword(param);
+        param.put("afterName", after != null ? after.getStoreName() : null);
+        param.put("afterNo", after != null ? after.getStoreId() : null);
+        param.put("fetchSize", size + 1);
+
+        ArrayList<Commercial> list = dao.selectByCursor(param);
+
+        boolean hasNext = list.size() > size;
+        if (hasNext) {
+            list.remove(list.size() - 1);
+        }
+        String nextCursor = hasNext ? CommercialCursor.of(list.get(list.size() - 1)).encode() : null;
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("list", list);
+        result.put("size", size);
+        result.put("hasNext", hasNext);
+        result.put("nextCursor", nextCursor);
+        return result;
+    }
+
+    // 지도 확대 레벨(카카오맵 level, 1이 가장 가까움)이 이 값 이상이면 항상 클러스터로 응답
+    @Value("${commercial.map.clusterLevel:6}")
+    private int clusterLevel;
+
+    // 한 화면에 개별 상가로 내려줄 최대 건수 (초과 시 클러스터로 응답)
+    @Value("${commercial.map.maxStores:500}")
+    private int maxStores;
+
+    /*
+     * 지도 영역 조회
+     * - 확대 레벨이 낮고(가까움) 영역 내 상가가 maxStores 이하이면 개별 상가 목록 : {type: "store", stores}
+     * - 그 외에는 격자 단위로 묶은 클러스터 목록 : {type: "cluster", clusters: [{lat, lng, count}]}
+     * - 클러스터 격자 크기는 영역을 가로/세로 약 8칸으로 나누는 크기 → 밀집 지역이어도 응답 크기가 일정 수준 이하로 유지
+     * - 스냅샷 사용 시 좌표 격자 색인으로, 아니면 DB에서 LAT/LON 범위 조건으로 처리 (좌표 컬럼 보정 전이면 503)
+     */
+    public Map<String, Object> getCommercialInBounds(Map<String, Object> param, double swLat, double swLng, double neLat, double neLng, int level) {
+        if (swLat > neLat || swLng > neLng) {
+            CommonException ex = new CommonException("잘못된 지도 영역입니다. - " + swLat + "," + swLng + " ~ " + neLat + "," + neLng);
+            ex.setErrorCode(HttpStatus.BAD_REQUEST);
+            ex.setUserMsg("잘못된 지도 영역 요청입니다.");
+            throw ex;
+        }
+        expandMultiCodes(param);
+
+        double clusterCell = GeoGridIndex.CELL;
+        double span = Math.max(neLat - swLat, neLng - swLng) / 8;
+        while (clusterCell < span) {
+            clusterCell *= 2;
+        }
+        boolean clusterOnly = level >= clusterLevel;
+
+        Map<String, Object> result = new HashMap<>();
+        CommercialSnapshot snapshot = snapshotService.current();
+        if (snapshot != null) {
+            GeoGridIndex geo = snapshot.getGeoIndex();
+            BitSet filter = hasFilter(param) ? snapshotService.match(snapshot, param) : null; // 조건이 없으면 미리 계산된 격자 합계 사용
+
+            if (!clusterOnly) {
+                int[] rows = geo.rowsIn(swLat, swLng, neLat, neLng, filter, maxStores);
+                if (rows.length <= maxStores) {
+                    List<Commercial> stores = new ArrayList<>(rows.length);
+                    for (int row : rows) {
+                        stores.add(snapshot.toCommercial(row));
+                    }
+                    result.put("type", "store");
+                    result.put("stores", stores);
+                    return result;
+                }
+            }
+            result.put("type", "cluster");
+            result.put("clusters", geo.clusters(swLat, swLng, neLat, neLng, filter, clusterCell));
+            return result;
+        }
+
+        geoColumns.requireReady();
+        nameIndexService.resolveKeyword(param);
+        param.put("swLat", swLat);
+        param.put("swLng", swLng);
+        param.put("neLat", neLat);
+        param.put("neLng", neLng);
+        if (!clusterOnly) {
+            param.put("fetchSize", maxStores + 1);
+            ArrayList<Commercial> stores = dao.selectByBounds(param);
+            if (stores.size() <= maxStores) {
+                result.put("type", "store");
+                result.put("stores", stores);
+                return result;
+            }
+        }
+        param.put("cell", clusterCell);
+        result.put("type", "cluster");
+        result.put("clusters", dao.selectClustersByBounds(param));
+        return result;
+    }
+
+    // 업종/키워드 조건이 하나라도 있는지
+    private boolean hasFilter(Map<String, Object> param) {
+        for (String key : new String[] {"largeCode", "mediumCode", "smallCode", "keyword"}) {
+            Object value = param.get(key);
+            if (value instanceof String str && !str.isEmpty()) {
+                return true;
+            }
+            if (param.get(key + "s") instanceof List<?> list && !list.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 총 개수 반환 (스냅샷 사용 가능 시 비트맵 건수)
     public int getTotalCount(Map<String, Object> param) {
+        expandMultiCodes(param);
+        CommercialSnapshot snapshot = snapshotService.current();
+        if (snapshot != null) {
+            return snapshotService.match(snapshot, param).cardinality();
+        }
+        nameIndexService.resolveKeyword(param);
         return dao.selectTotalCount(param);
     }
 
+    /*
+     * 업종 분류 트리 (대 → 중 → 소)
+     * - 기동 시 1회 구성 후 메모리에서 응답, 관리자 갱신 시 새 트리로 통째 교체 (volatile 참조 교체 = 원자적)
+     * - 드롭다운 변경마다 전체 테이블 DISTINCT 조회가 발생하지 않도록 함
+     */
+    private volatile CategoryTree categoryTree;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadCategoryTree() {
+        try {
+            refreshCategoryTree();
+        } catch (Exception e) {
+            // 기동 시 DB 오류가 있어도 애플리케이션은 올라오도록 하고, 첫 요청 시 다시 구성
+            log.error("업종 분류 트리 초기 구성 실패 : {}", e.getMessage());
+        }
+    }
+
+    // 업종 분류 트리 재구성 후 교체
+    public synchronized CategoryTree refreshCategoryTree() {
+        long start = System.currentTimeMillis();
+        CategoryTree tree = CategoryTree.of(dao.selectCategoryRows());
+        categoryTree = tree;
+        log.info("업종 분류 트리 구성 완료 - 대분류 {}개, 버전 {}, 소요시간 {}ms",
+                tree.getLargeList().size(), tree.getVersion(), System.currentTimeMillis() - start);
+        return tree;
+    }
+
+    public CategoryTree getCategoryTree() {
+        CategoryTree tree = categoryTree;
+        return tree != null ? tree : refreshCategoryTree();
+    }
+
     // 대분류 목록
-    public ArrayList<Map<String, String>> getLargeCategories(String largeCode) {
-        return dao.selectLargeCategories(largeCode);
+    public List<Map<String, String>> getLargeCategories(String largeCode) {
+        return getCategoryTree().getLargeList();
     }
 
     // 중분류 목록
-    public ArrayList<Map<String, String>> getMiddleCategories(String largeCode) {
-        return dao.selectMiddleCategories(largeCode);
+    public List<Map<String, String>> getMiddleCategories(String largeCode) {
+        return getCategoryTree().getMiddleList(largeCode);
     }
 
     // 소분류 목록
-    public ArrayList<Map<String, String>> getSmallCategories(Map<String, String> param) {
-        return dao.selectSmallCategories(param);
+    public List<Map<String, String>> getSmallCategories(Map<String, String> param) {
+        return getCategoryTree().getSmallList(param.get("largeCode"), param.get("mediumCode"));
     }
 
     // 상가 상세정보 조회
     public Commercial getCommercialDetail(String storeId) {
         return dao.selectCommercialDetail(storeId);
     }
+
+    /*
+     * 상가 상세정보 + 관련 상가
+     * - related : 같은 중분류 상가 중 가까운 지역 순 최대 limit개 (스냅샷 사용 가능 시 메모리에서 계산)
+     * - smallCounts, relatedTotal : 같은 중분류의 소분류별/전체 상가 수 (집계 큐브, 기준 상가 포함, 큐브 적재 전이면 생략)
+     * - 상가가 없으면 detail = null, 빈 목록
+     */
+    public Map<String, Object> getCommercialDetailWithRelated(String storeId, int limit) {
+        limit = Math.max(1, Math.min(limit, 1000));
+        Commercial detail;
+        List<Commercial> related;
+
+        CommercialSnapshot snapshot = snapshotService.current();
+        int row = snapshot != null ? snapshot.rowOf(storeId) : -1;
+        if (row >= 0) {
+            detail = snapshot.toCommercial(row);
+            int[] rows = snapshot.related(row, limit);
+            related = new ArrayList<>(rows.length);
+            for (int r : rows) {
+                related.add(snapshot.toCommercial(r));
+            }
+        } else {
+            detail = dao.selectCommercialDetail(storeId);
+            related = new ArrayList<>();
+            if (detail != null && detail.getMediumCode() != null) {
+                Map<String, Object> param = new HashMap<>();
+                param.put("storeId", storeId);
+                param.put("mediumCode", detail.getMediumCode());
+                param.put("smallCode", detail.getSmallCode());
+                param.put("provinceName", detail.getProvinceName());
+                param.put("districtName", detail.getDistrictName());
+                param.put("townName", detail.getTownName());
+                param.put("limit", limit);
+                related = dao.selectRelated(param);
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("detail", detail);
+        result.put("related", related);
+        if (detail != null && detail.getMediumCode() != null) {
+            // 부가 정보 : 큐브가 이미 적재된 경우에만 포함 (적재 전/실패 시 생략, 상세/관련 상가 응답에는 영향 없음)
+            try {
+                Map<String, Object> stats = statsService.getStatsIfLoaded(null, null, null, detail.getLargeCode(), detail.getMediumCode(), null, "category", 0);
+                if (stats != null) {
+                    result.put("smallCounts", stats.get("items"));
+                    result.put("relatedTotal", stats.get("total"));
+                }
+            } catch (Exception e) {
+                log.warn("관련 상가 업종 집계 생략 ({}) : {}", storeId, e.getMessage());
+            }
+        } else {
+            result.put("smallCounts", List.of());
+            result.put("relatedTotal", 0);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,101 @@
+package kr.or.iei.commercial.model.service;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import kr.or.iei.commercial.model.dao.CommercialDao;
+import kr.or.iei.commercial.model.index.CommercialSnapshot;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 상가 정보 메모리 스냅샷 관리
+ * - commercial.snapshot.enabled=true 일 때만 사용 (기본 false → 기존처럼 DAO 조회)
+ * - 백그라운드(스케줄러 스레드)에서 주기적으로 재적재 후 참조만 교체하므로 조회 요청은 멈추지 않음
+ * - 적재 전이거나 적재에 실패한 경우 current()가 null → 호출 측에서 DAO로 처리
+ */
+@Service
+@Slf4j
+public class CommercialSnapshotService {
+
+    @Autowired
+    private CommercialDao dao;
+
+    @Value("${commercial.snapshot.enabled:false}")
+    private boolean enabled;
+
+    private volatile CommercialSnapshot snapshot;
+
+    private final AtomicBoolean loading = new AtomicBoolean(false);
+
+    // 기동 직후 1회 + 이후 reloadInterval(ms) 간격으로 재적재
+    @Scheduled(initialDelayString = "${commercial.snapshot.initialDelay:0}",
+               fixedDelayString = "${commercial.snapshot.reloadInterval:3600000}")
+    public void scheduledReload() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /*
+     * 스냅샷 재적재
+     * - 이미 적재 중이면 중복 실행하지 않고 false 반환
+     * - 적재 실패 시 기존 스냅샷 유지
+     */
+    public boolean reload() {
+        if (!enabled || !loading.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            CommercialSnapshot.Builder builder = new CommercialSnapshot.Builder();
+            dao.selectAllForSnapshot(context -> builder.add(context.getResultObject()));
+            CommercialSnapshot loaded = builder.build();
+            snapshot = loaded;
+            log.info("상가 스냅샷 적재 완료 - {}건, 소요시간 {}ms", loaded.size(), System.currentTimeMillis() - start);
+            return true;
+        } catch (Exception e) {
+            log.error("상가 스냅샷 적재 실패 (기존 스냅샷 유지) : {}", e.getMessage());
+            return false;
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    // 사용 가능한 스냅샷 (비활성화 또는 미적재 시 null)
+    public CommercialSnapshot current() {
+        return enabled ? snapshot : null;
+    }
+
+    /*
+     * 검색 조건에 맞는 스냅샷 행 비트맵
+     * - 업종 코드 비트맵으로 먼저 거른 뒤, 키워드는 상호명 n-gram 색인 후보와 교집합
+     * - 키워드의 %, _ 는 SQL LIKE와 동일하게 와일드카드로 처리
+     */
+    public BitSet match(CommercialSnapshot snapshot, Map<String, Object> param) {
+        BitSet rows = snapshot.filter(codes(param, "largeCode"), codes(param, "mediumCode"), codes(param, "smallCode"));
+
+        String keyword = (String) param.get("keyword");
+        if (keyword != null && !keyword.isEmpty()) {
+            snapshot.retainNameLike(rows, keyword);
+        }
+        return rows;
+    }
+
+    // 단일 코드(largeCode) 또는 다중 코드(largeCodes) 파라미터를 목록으로
+    @SuppressWarnings("unchecked")
+    private List<String> codes(Map<String, Object> param, String key) {
+        List<String> list = (List<String>) param.get(key + "s");
+        if (list != null && !list.isEmpty()) {
+            return list;
+        }
+        String code = (String) param.get(key);
+        return code == null || code.isEmpty() ? null : List.of(code);
+    }
+}
@@ -0,0 +1,111 @@
+package kr.or.iei.commercial.model.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import kr.or.iei.commercial.model.dao.CommercialDao;
+import kr.or.iei.commercial.model.index.CommercialStatsCube;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 상권 분석 집계 (지역 × 업종 상가 수)
+ * - DB에서는 적재 시 GROUP BY 집계 1회만 조회하고, 이후 통계 요청은 메모리 큐브에서 응답
+ * - 재적재는 스케줄러 스레드에서 새 큐브를 만든 뒤 참조만 교체 → 적재 중에도 기존 큐브로 계속 응답
+ */
+@Service
+@Slf4j
+public class CommercialStatsService {
+
+    @Autowired
+    private CommercialDao dao;
+
+    private volatile CommercialStatsCube cube;
+
+    private final AtomicBoolean loading = new AtomicBoolean(false);
+
+    // 기동 직후 1회 + 이후 reloadInterval(ms) 간격으로 재적재 (상가 스냅샷과 같은 주기)
+    @Scheduled(initialDelayString = "${commercial.stats.initialDelay:0}",
+               fixedDelayString = "${commercial.snapshot.reloadInterval:3600000}")
+    public void scheduledReload() {
+        reload();
+    }
+
+    /*
+     * 집계 큐브 재적재
+     * - 이미 적재 중이면 중복 실행하지 않고 false 반환
+     * - 적재 실패 시 기존 큐브 유지
+     */
+    public boolean reload() {
+        if (!loading.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            CommercialStatsCube loaded = CommercialStatsCube.of(dao.selectStatsRows());
+            cube = loaded;
+            log.info("상권 집계 큐브 적재 완료 - 지역 {}개 × 업종 {}개, 상가 {}건, 소요시간 {}ms",
+                    loaded.regionCount(), loaded.categoryCount(), loaded.getTotal(), System.currentTimeMillis() - start);
+            return true;
+        } catch (Exception e) {
+            log.error("상권 집계 큐브 적재 실패 (기존 큐브 유지) : {}", e.getMessage());
+            return false;
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    // 적재 전이면 호출 스레드에서 1회 적재
+    private CommercialStatsCube current() {
+        CommercialStatsCube c = cube;
+        if (c == null) {
+            synchronized (this) {
+                c = cube;
+                if (c == null) {
+                    c = CommercialStatsCube.of(dao.selectStatsRows());
+                    cube = c;
+                }
+            }
+        }
+        return c;
+    }
+
+    // 업종 코드 조건에 맞는 전체 상가 수 (마지막 적재 시점 기준)
+    public long countByCategories(Set<String> largeCodes, Set<String> mediumCodes, Set<String> smallCodes) {
+        return current().countCategories(largeCodes, mediumCodes, smallCodes);
+    }
+
+    // 이미 적재된 큐브로만 조회 (적재 전이면 null, 호출 스레드에서 적재하지 않음)
+    public Map<String, Object> getStatsIfLoaded(String sido, String sigun, String hang,
+                                                String largeCode, String mediumCode, String smallCode,
+                                                String groupBy, int top) {
+        CommercialStatsCube c = cube;
+        return c != null ? query(c, sido, sigun, hang, largeCode, mediumCode, smallCode, groupBy, top) : null;
+    }
+
+    /*
+     * 지역/업종 조건별 상가 수
+     * - 지역(시도 → 시군구 → 행정동), 업종(대 → 중 → 소분류)은 상위 단계부터 지정
+     * - groupBy=region : 지정한 지역의 하위 지역별 (롤업/드릴다운)
+     * - groupBy=category : 지정한 지역 안의 업종별 (top으로 상위 N개 업종)
+     */
+    public Map<String, Object> getStats(String sido, String sigun, String hang,
+                                        String largeCode, String mediumCode, String smallCode,
+                                        String groupBy, int top) {
+        return query(current(), sido, sigun, hang, largeCode, mediumCode, smallCode, groupBy, top);
+    }
+
+    private static Map<String, Object> query(CommercialStatsCube c, String sido, String sigun, String hang,
+                                             String largeCode, String mediumCode, String smallCode,
+                                             String groupBy, int top) {
+        Map<String, Object> result = c.query(new String[] {sido, sigun, hang},
+                                             new String[] {largeCode, mediumCode, smallCode},
+                                             groupBy, top);
+        result.put("builtAt", c.getBuiltAt());
+        return result;
+    }
+}
@@ -1,15 +1,21 @@
 package kr.or.iei.common;
 
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
 
 import kr.or.iei.common.filter.EncodingFilter;
+import kr.or.iei.common.util.HotFileResourceResolver;
 
 import jakarta.servlet.Filter;
 
@@ -35,11 +41,23 @@ public class WebConfig implements WebMvcConfigurer { //이 클래스는 Spring M
 	@Value("${file.uploadPath}")
 	private String uploadPath; //C:/Start_Support_Img/market
 	
+	@Value("${market.fileCache.maxAgeDays:365}")
+	private long maxAgeDays; //업로드 이미지 브라우저 캐시 기간
+	
+	@Autowired
+	private HotFileResourceResolver hotFileResolver; //자주 요청되는 작은 파일 메모리 캐시
+	
 	//자원 요청에 대한 접근 권한 부여
+	//업로드 파일은 이름이 업로드마다 달라 내용이 바뀌지 않음 → 오래 캐시(immutable)하고 다시 확인하지 않도록
 	@Override
 	public void addResourceHandlers(ResourceHandlerRegistry registry) {
 		registry.addResourceHandler("/market/postFile/**") //요청 URL
-				.addResourceLocations("file:///"+uploadPath+"/postFile/"); //자원이 위치한 경로
+				.addResourceLocations("file:///"+uploadPath+"/postFile/") //자원이 위치한 경로
+				.setCacheControl(CacheControl.maxAge(maxAgeDays, TimeUnit.DAYS).cachePublic().immutable())
+				.setEtagGenerator(HotFileResourceResolver::etag) //강한 ETag (저장소 파일은 내용 해시)
+				.resourceChain(false) //경로별 결과를 무제한으로 쌓는 기본 캐시 대신 크기 제한이 있는 메모리 캐시 사용
+				.addResolver(hotFileResolver)
+				.addResolver(new EncodedResourceResolver()); //미리 압축된 파일(.br/.gz)이 있으면 그 파일로 응답
 	}
 	
 	//CORS 설정 - SecurityConfig에서 관리하므로 비활성화
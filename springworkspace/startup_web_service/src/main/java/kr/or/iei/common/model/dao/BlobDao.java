@@ -0,0 +1,10 @@
+package kr.or.iei.common.model.dao;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface BlobDao {
+    // 저장 파일을 참조하는 첨부파일 행 수 (게시글 + 마켓)
+    int selectRefCount(@Param("filePath") String filePath);
+}
@@ -0,0 +1,265 @@
+package kr.or.iei.common.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import jakarta.annotation.PostConstruct;
+import kr.or.iei.common.model.dao.BlobDao;
+import kr.or.iei.common.util.FileUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 내용 주소 기반 첨부파일 저장소 (게시글 + 마켓 공용)
+ * - 저장 경로 = 내용의 SHA-256 : file.uploadPath/postFile/ab/cd/<sha256><확장자> (앞 2글자씩 2단계로 디렉토리 분산)
+ * - 해시는 임시 파일로 복사하면서 계산 (FileUtil.copy 스트리밍, 파일 전체를 메모리에 올리지 않음), 같은 내용이 이미 있으면 임시 파일만 지움 → 같은 바이트는 1번만 저장
+ * - 확장자는 경로에 포함 (/market/postFile/** 정적 자원 응답의 Content-Type 유지), 같은 내용이라도 확장자가 다르면 따로 저장
+ * - 참조 수 = 이 경로를 가진 t_post_file + t_market_post_file 행 수 (별도 테이블 없이 매번 COUNT)
+ * - 삭제 요청(release)은 커밋 후 참조 수를 확인해 0일 때만 파일 삭제 (원본 옆의 파생 파일 <해시>_* 도 함께)
+ * - 방금 저장/재사용된 파일(수정 시각이 file.blob.releaseGrace 이내)은 아직 커밋 전인 업로드가 참조할 수 있으므로 삭제를 미뤘다가 주기적으로 다시 확인
+ * - 이전 방식으로 저장된 파일(경로에 '/'가 없는 파일명)은 이 저장소 대상이 아님 : isBlob으로 구분해 기존 방식대로 처리
+ */
+@Service
+@Slf4j
+public class BlobStore {
+
+    private static final Pattern BLOB_PATH = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}(\\.[a-z0-9]{1,10})?");
+    private static final Pattern EXT = Pattern.compile("\\.[a-z0-9]{1,10}");
+    private static final int LOCK_STRIPES = 64;
+
+    @Autowired
+    private BlobDao blobDao;
+
+    @Autowired
+    private FileUtil fileUtil;
+
+    @Value("${file.uploadPath}")
+    private String uploadPath;
+
+    @Value("${file.blob.releaseGrace:300000}")
+    private long releaseGraceMillis;
+
+    private Path root;
+    private Path tmpDir;
+
+    // 같은 경로의 저장/삭제가 겹치지 않도록 경로 해시별 잠금
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    // 유예 시간 때문에 삭제를 미룬 경로
+    private final Set<String> pendingRelease = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder deleted = new LongAdder();
+
+    @PostConstruct
+    public void init() throws IOException {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        root = Paths.get(uploadPath, "postFile").toAbsolutePath().normalize();
+        tmpDir = root.resolve(".tmp");
+        Files.createDirectories(tmpDir);
+    }
+
+    // 게시글 첨부파일 (형식 제한은 차단 확장자만)
+    public String store(MultipartFile file) throws IOException {
+        return store(file, false);
+    }
+
+    // imageOnly : 이미지 시그니처가 아니면 거절 (마켓 이미지)
+    public String store(MultipartFile file, boolean imageOnly) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return store(in, file.getSize(), file.getOriginalFilename(), imageOnly);
+        }
+    }
+
+    /*
+     * 저장 후 저장소 경로(ab/cd/<sha256><확장자>) 반환
+     * - 복사/제한 검사는 FileUtil.copy (크기 초과 413, 허용되지 않는 형식 415)
+     * - 트랜잭션 안에서 호출하면 롤백 시 release까지 같이 처리 (참조가 생기지 않은 파일 정리)
+     */
+    public String store(InputStream in, long size, String originalName, boolean imageOnly) throws IOException {
+        MessageDigest md = sha256();
+        Path tmp = tmpDir.resolve(UUID.randomUUID() + ".part");
+        try {
+            fileUtil.copy(new DigestInputStream(in, md), size, originalName, tmp, imageOnly);
+            String hash = hex(md.digest());
+            String path = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ext(originalName);
+            Path target = root.resolve(path);
+
+            synchronized (lock(path)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(tmp, target);
+                    stored.increment();
+                } catch (FileAlreadyExistsException e) {
+                    // 같은 내용이 이미 있음 : 새로 쓰지 않고 유예 시간만 다시 시작
+                    Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+                    deduplicated.increment();
+                }
+            }
+
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_ROLLED_BACK) {
+                            pendingRelease.add(path);
+                        }
+                    }
+                });
+            }
+            return path;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // 참조 1개가 지워졌음을 알림 (트랜잭션 안이면 커밋 후 확인), 저장소 경로가 아니면 무시
+    public void release(String path) {
+        if (!isBlob(path)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tryRelease(path);
+                }
+            });
+        } else {
+            tryRelease(path);
+        }
+    }
+
+    // 저장소 경로 여부 (이전 방식 파일명은 false)
+    public static boolean isBlob(String path) {
+        return path != null && BLOB_PATH.matcher(path).matches();
+    }
+
+    // 저장소 경로 → 실제 파일 위치
+    public Path resolve(String path) {
+        if (!isBlob(path)) {
+            throw new IllegalArgumentException("저장소 경로가 아닙니다: " + path);
+        }
+        return root.resolve(path);
+    }
+
+    // 삭제를 미룬 파일 다시 확인
+    @Scheduled(fixedDelayString = "${file.blob.releaseGrace:300000}")
+    public void releasePending() {
+        for (String path : new ArrayList<>(pendingRelease)) {
+            tryRelease(path);
+        }
+    }
+
+    private void tryRelease(String path) {
+        synchronized (lock(path)) {
+            try {
+                Path file = root.resolve(path);
+                if (!Files.exists(file)) {
+                    pendingRelease.remove(path);
+                    return;
+                }
+                if (blobDao.selectRefCount(path) > 0) {
+                    pendingRelease.remove(path);
+                    return;
+                }
+                if (Files.getLastModifiedTime(file).toMillis() > System.currentTimeMillis() - releaseGraceMillis) {
+                    pendingRelease.add(path);
+                    return;
+                }
+                Files.deleteIfExists(file);
+                deleteDerived(file);
+                pendingRelease.remove(path);
+                deleted.increment();
+            } catch (Exception e) {
+                // DB/파일 오류 시 다음 주기에 다시 시도
+                pendingRelease.add(path);
+                log.warn("첨부파일 삭제 확인 실패: {} ({})", path, e.getMessage());
+            }
+        }
+    }
+
+    // 원본에서 만든 파생 파일(<해시>_<종류>.jpg, 예: 마켓 이미지 축소본) 삭제
+    private static void deleteDerived(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot < 0 ? name : name.substring(0, dot);
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(file.getParent(), base + "_*")) {
+            for (Path p : ds) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private Object lock(String path) {
+        return locks[(path.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    // 원본 파일명의 확장자 (소문자, 영문/숫자 10자 이내가 아니면 빈 문자열)
+    private static String ext(String name) {
+        if (name == null) {
+            return "";
+        }
+        int dot = name.lastIndexOf('.');
+        if (dot < 0) {
+            return "";
+        }
+        String ext = name.substring(dot).toLowerCase(Locale.ROOT);
+        return EXT.matcher(ext).matches() ? ext : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+
+    // 저장소 통계 {stored, deduplicated, deleted, pendingRelease, copy(업로드 처리량)}
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("copy", fileUtil.stats());
+        stats.put("stored", stored.sum());
+        stats.put("deduplicated", deduplicated.sum());
+        stats.put("deleted", deleted.sum());
+        stats.put("pendingRelease", pendingRelease.size());
+        return stats;
+    }
+}
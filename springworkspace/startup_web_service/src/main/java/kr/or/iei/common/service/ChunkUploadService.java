@@ -0,0 +1,362 @@
+package kr.or.iei.common.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.or.iei.common.exception.CommonException;
+import kr.or.iei.common.util.FileUtil;
+import kr.or.iei.member.model.dto.UploadSession;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 나눠 올리기 (큰 첨부파일용, 이어 올리기 가능)
+ * - 시작(create) → 조각 전송(writeChunk, 순서 무관/동시 전송 가능) → 완료(complete) → 게시글 등록/수정 시 uploadId로 첨부(take)
+ * - 조각은 file.uploadPath/chunkUpload/<uploadId>.part 한 파일의 제자리(조각 번호 × 조각 크기)에 바로 씀 (FileChannel 위치 지정 쓰기)
+ * - 받은 조각은 세션에 기록, 연결이 끊긴 조각은 기록되지 않으므로 상태 조회 후 나머지만 다시 보내면 됨
+ *   (같은 조각을 다시 보내면 덮어씀, 다시 보내다 끊기면 그 조각은 받지 않은 것으로 바뀜)
+ * - 완료 시 조립된 파일을 BlobStore에 저장 (크기/형식 제한은 일반 업로드와 같음, 시작 시 먼저 검사)
+ * - 세션은 메모리에만 유지 : 마지막 요청 후 file.chunk.expiry가 지나면 정리(file.chunk.sweepInterval 주기),
+ *   첨부되지 않은 완료 파일은 BlobStore에 release → 참조가 없으면 삭제, 서버 재시작 시 남은 조각 파일도 정리
+ */
+@Service
+@Slf4j
+public class ChunkUploadService {
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private FileUtil fileUtil;
+
+    @Value("${file.uploadPath}")
+    private String uploadPath;
+
+    @Value("${file.chunk.size:1048576}")
+    private int chunkSize;
+
+    @Value("${file.chunk.expiry:86400000}")
+    private long expiryMillis;
+
+    @Value("${file.chunk.maxSessions:20}")
+    private int maxSessionsPerUser;
+
+    private Path dir;
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+
+    private final LongAdder chunks = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder attached = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    @PostConstruct
+    public void init() throws IOException {
+        dir = Paths.get(uploadPath, "chunkUpload").toAbsolutePath().normalize();
+        Files.createDirectories(dir);
+        // 세션은 메모리에만 있으므로 이전 실행에서 남은 조각 파일은 이어 올릴 수 없음
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, "*.part")) {
+            for (Path p : ds) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Session session : sessions.values()) {
+            closeQuietly(session);
+        }
+    }
+
+    // 나눠 올리기 시작 : 이름/크기 검사 후 세션 생성 (조각 크기/개수는 서버가 정함)
+    public UploadSession create(String userId, String fileName, long fileSize) throws IOException {
+        if (fileName == null || fileName.isBlank() || fileSize <= 0) {
+            throw error(HttpStatus.BAD_REQUEST, "파일 이름과 크기를 확인해 주세요.");
+        }
+        fileUtil.checkUpload(fileName, fileSize);
+        long owned = sessions.values().stream().filter(s -> s.owner.equals(userId)).count();
+        if (owned >= maxSessionsPerUser) {
+            throw error(HttpStatus.TOO_MANY_REQUESTS, "진행 중인 업로드가 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        String uploadId = UUID.randomUUID().toString().replace("-", "");
+        Path part = dir.resolve(uploadId + ".part");
+        FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        Session session = new Session(uploadId, userId, fileName, fileSize, chunkSize, part, channel);
+        sessions.put(uploadId, session);
+        return session.toDto(false);
+    }
+
+    // 진행 상태 (받은 조각 번호 포함)
+    public UploadSession status(String uploadId, String userId) {
+        Session session = owned(uploadId, userId);
+        session.touch();
+        return session.toDto(false);
+    }
+
+    /*
+     * 조각 1개를 제자리에 씀
+     * - 길이가 맞지 않거나(마지막 조각 외에는 chunkSize) 중간에 끊기면 400, 받은 조각으로 기록하지 않음
+     * - contentLength : 요청의 Content-Length (모르면 -1)
+     */
+    public UploadSession writeChunk(String uploadId, String userId, int index, long contentLength, InputStream in) throws IOException {
+        Session session = owned(uploadId, userId);
+        if (index < 0 || index >= session.totalChunks) {
+            throw error(HttpStatus.BAD_REQUEST, "잘못된 조각 번호입니다.");
+        }
+        long position = (long) index * session.chunkSize;
+        long expected = Math.min(session.chunkSize, session.fileSize - position);
+        if (contentLength >= 0 && contentLength != expected) {
+            throw error(HttpStatus.BAD_REQUEST, "조각 크기가 올바르지 않습니다. (" + expected + " byte)");
+        }
+
+        // 읽기 잠금 : 여러 조각 동시 쓰기 허용, 완료/정리(쓰기 잠금)와는 겹치지 않음
+        session.lock.readLock().lock();
+        try {
+            if (session.closed) {
+                throw error(session.filePath != null ? HttpStatus.CONFLICT : HttpStatus.NOT_FOUND,
+                        session.filePath != null ? "이미 완료된 업로드입니다." : "업로드 세션이 없습니다.");
+            }
+            // 다시 보내는 조각은 쓰는 동안 받지 않은 것으로 (중간에 끊기면 기존 내용도 일부 덮어써졌으므로)
+            session.markReceived(index, false);
+            byte[] buf = new byte[65536];
+            long written = 0;
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                if (written + n > expected) {
+                    throw error(HttpStatus.BAD_REQUEST, "조각 크기가 올바르지 않습니다. (" + expected + " byte)");
+                }
+                ByteBuffer bb = ByteBuffer.wrap(buf, 0, n);
+                while (bb.hasRemaining()) {
+                    session.channel.write(bb, position + written + (n - bb.remaining()));
+                }
+                written += n;
+                session.touch();
+            }
+            if (written != expected) {
+                throw error(HttpStatus.BAD_REQUEST, "조각을 끝까지 받지 못했습니다. 다시 보내 주세요.");
+            }
+            session.markReceived(index, true);
+            chunks.increment();
+            bytes.add(written);
+        } finally {
+            session.lock.readLock().unlock();
+        }
+        return session.toDto(false);
+    }
+
+    /*
+     * 완료 : 모든 조각을 받았으면 저장소에 저장 (이미 완료된 세션이면 그대로 반환)
+     * - 빠진 조각이 있으면 409, 저장 중 제한 초과/오류 시 세션 정리
+     */
+    public UploadSession complete(String uploadId, String userId) throws IOException {
+        Session session = owned(uploadId, userId);
+        session.lock.writeLock().lock();
+        try {
+            if (session.filePath != null) {
+                return session.toDto(false);
+            }
+            if (session.closed) {
+                throw error(HttpStatus.NOT_FOUND, "업로드 세션이 없습니다.");
+            }
+            if (session.receivedCount() != session.totalChunks) {
+                throw error(HttpStatus.CONFLICT, "아직 받지 못한 조각이 있습니다.");
+            }
+            session.closed = true;
+            try {
+                session.channel.close();
+                try (InputStream in = Files.newInputStream(session.part)) {
+                    session.filePath = blobStore.store(in, session.fileSize, session.fileName, false);
+                }
+            } catch (IOException | RuntimeException e) {
+                sessions.remove(uploadId, session);
+                throw e;
+            } finally {
+                Files.deleteIfExists(session.part);
+            }
+            session.touch();
+            completed.increment();
+            return session.toDto(false);
+        } finally {
+            session.lock.writeLock().unlock();
+        }
+    }
+
+    // 취소 : 조각 파일 삭제 (완료된 파일은 첨부되지 않았으면 release)
+    public void abort(String uploadId, String userId) {
+        discard(owned(uploadId, userId));
+    }
+
+    /*
+     * 게시글 첨부용 : 완료된 업로드 정보(저장소 경로 포함) 반환
+     * - 트랜잭션 안이면 커밋 후 세션 제거 (롤백되면 다시 첨부 가능), 완료 전이면 409
+     */
+    public UploadSession take(String uploadId, String userId) {
+        Session session = owned(uploadId, userId);
+        if (session.filePath == null) {
+            throw error(HttpStatus.CONFLICT, "업로드가 아직 완료되지 않았습니다.");
+        }
+        session.touch();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    if (sessions.remove(uploadId, session)) {
+                        attached.increment();
+                    }
+                }
+            });
+        } else if (sessions.remove(uploadId, session)) {
+            attached.increment();
+        }
+        return session.toDto(true);
+    }
+
+    // 마지막 요청 후 유효 시간이 지난 세션 정리
+    @Scheduled(initialDelayString = "${file.chunk.sweepInterval:600000}", fixedDelayString = "${file.chunk.sweepInterval:600000}")
+    public void sweepExpired() {
+        long limit = System.currentTimeMillis() - expiryMillis;
+        for (Session session : new ArrayList<>(sessions.values())) {
+            if (session.lastAccess < limit) {
+                discard(session);
+                expired.increment();
+            }
+        }
+    }
+
+    private void discard(Session session) {
+        session.lock.writeLock().lock();
+        try {
+            if (!sessions.remove(session.uploadId, session)) {
+                return;
+            }
+            closeQuietly(session);
+            if (session.filePath != null) {
+                blobStore.release(session.filePath); // 다른 글이 같은 내용을 참조하고 있으면 삭제되지 않음
+            }
+        } finally {
+            session.lock.writeLock().unlock();
+        }
+    }
+
+    private void closeQuietly(Session session) {
+        session.closed = true;
+        try {
+            session.channel.close();
+            Files.deleteIfExists(session.part);
+        } catch (IOException e) {
+            log.warn("조각 파일 정리 실패: {} ({})", session.part, e.getMessage());
+        }
+    }
+
+    // 세션 조회 (없으면 404, 다른 사용자의 세션이면 403)
+    private Session owned(String uploadId, String userId) {
+        Session session = uploadId == null ? null : sessions.get(uploadId);
+        if (session == null) {
+            throw error(HttpStatus.NOT_FOUND, "업로드 세션이 없거나 만료되었습니다.");
+        }
+        if (!session.owner.equals(userId)) {
+            throw error(HttpStatus.FORBIDDEN, "다른 사용자의 업로드입니다.");
+        }
+        return session;
+    }
+
+    private static CommonException error(HttpStatus status, String msg) {
+        CommonException ex = new CommonException(msg);
+        ex.setErrorCode(status);
+        ex.setUserMsg(msg);
+        return ex;
+    }
+
+    // 통계 {sessions, chunks, bytes, completed, attached, expired}
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("sessions", sessions.size());
+        stats.put("chunks", chunks.sum());
+        stats.put("bytes", bytes.sum());
+        stats.put("completed", completed.sum());
+        stats.put("attached", attached.sum());
+        stats.put("expired", expired.sum());
+        return stats;
+    }
+
+    private static final class Session {
+
+        final String uploadId;
+        final String owner;
+        final String fileName;
+        final long fileSize;
+        final int chunkSize;
+        final int totalChunks;
+        final Path part;
+        final FileChannel channel;
+        final BitSet received;
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        volatile long lastAccess = System.currentTimeMillis();
+        volatile boolean closed;
+        volatile String filePath; // 완료 후 저장소 경로
+
+        Session(String uploadId, String owner, String fileName, long fileSize, int chunkSize, Path part, FileChannel channel) {
+            this.uploadId = uploadId;
+            this.owner = owner;
+            this.fileName = fileName;
+            this.fileSize = fileSize;
+            this.chunkSize = chunkSize;
+            this.totalChunks = (int) ((fileSize + chunkSize - 1) / chunkSize);
+            this.part = part;
+            this.channel = channel;
+            this.received = new BitSet(totalChunks);
+        }
+
+        void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+
+        synchronized void markReceived(int index, boolean value) {
+            received.set(index, value);
+        }
+
+        synchronized int receivedCount() {
+            return received.cardinality();
+        }
+
+        synchronized List<Integer> receivedList() {
+            List<Integer> list = new ArrayList<>(received.cardinality());
+            for (int i = received.nextSetBit(0); i >= 0; i = received.nextSetBit(i + 1)) {
+                list.add(i);
+            }
+            return list;
+        }
+
+        UploadSession toDto(boolean withPath) {
+            return new UploadSession(uploadId, fileName, fileSize, chunkSize, totalChunks, receivedList(),
+                    filePath != null, FileUtil.contentType(fileName), withPath ? filePath : null);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package kr.or.iei.common.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import kr.or.iei.common.util.SingleFlightCache;
+
+/*
+ * 목록 총 개수(COUNT) 캐시
+ * - 페이지 이동마다 같은 조건의 COUNT(*)를 다시 실행하지 않도록 조건 키별로 결과를 ttl 동안 보관
+ * - namespace(예: "post", "commercial") 단위로 관리하며, 해당 데이터에 쓰기가 발생하면 invalidate(namespace)로 즉시 무효화
+ * - 같은 키의 동시 요청은 COUNT 한 번만 실행 (SingleFlightCache)
+ */
+@Service
+public class CountService {
+
+    @Value("${count.cache.ttl:60000}")
+    private long ttlMillis;
+
+    @Value("${count.cache.size:5000}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<String, SingleFlightCache<String, Integer>> caches = new ConcurrentHashMap<>();
+
+    public int count(String namespace, String key, Supplier<Integer> loader) {
+        return caches.computeIfAbsent(namespace, ns -> new SingleFlightCache<>(ttlMillis, maxEntries)).get(key, loader);
+    }
+
+    /*
+     * namespace의 캐시된 개수 모두 무효화 (등록/삭제/상태 변경 시 호출)
+     * - 트랜잭션 안에서 호출하면 커밋 후에 무효화 : 커밋 전 다른 요청이 이전 개수를 다시 캐시하는 것을 방지
+     */
+    public void invalidate(String namespace) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear(namespace);
+                }
+            });
+        } else {
+            clear(namespace);
+        }
+    }
+
+    private void clear(String namespace) {
+        SingleFlightCache<String, Integer> cache = caches.get(namespace);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    // namespace별 캐시 통계
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        caches.forEach((ns, cache) -> stats.put(ns, cache.stats()));
+        return stats;
+    }
+}
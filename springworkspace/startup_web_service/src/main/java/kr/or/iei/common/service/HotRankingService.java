@@ -0,0 +1,114 @@
+package kr.or.iei.common.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import kr.or.iei.common.util.DecayingTopK;
+
+/*
+ * 인기글(hot) 순위
+ * - 게시판(post:<postType>, market)마다 시간 감쇠 점수 상위 K 순위를 메모리에 유지
+ * - 조회/작성/신고 이벤트가 들어올 때마다 해당 글 하나만 갱신 (주기적 전체 정렬 없음)
+ * - 작성/수정/신고/삭제는 트랜잭션 안이면 커밋 후 반영 (롤백된 글이 순위에 들어가거나 남은 글이 빠지지 않도록)
+ * - 점수 가중치 : 조회 hot.weight.view, 작성 hot.weight.write, 신고 hot.weight.report(음수), 반감기 hot.halfLife(ms)
+ * - 목록에 보여줄 요약 정보는 이벤트 시점의 값을 함께 보관 → 인기글 조회 시 DB를 거치지 않음
+ * - 서버 재시작 시 순위는 비어 있는 상태에서 다시 쌓임
+ */
+@Service
+public class HotRankingService {
+
+    public static final String MARKET = "market";
+
+    @Value("${hot.halfLife:21600000}")
+    private long halfLifeMillis;
+
+    // 게시판별 추적 항목 수 (조회 가능한 최대 개수)
+    @Value("${hot.capacity:200}")
+    private int capacity;
+
+    @Value("${hot.weight.view:1}")
+    private double viewWeight;
+
+    @Value("${hot.weight.write:3}")
+    private double writeWeight;
+
+    @Value("${hot.weight.report:-5}")
+    private double reportWeight;
+
+    private final Map<String, DecayingTopK<Map<String, Object>>> boards = new ConcurrentHashMap<>();
+
+    public static String postBoard(String postType) {
+        return "post:" + postType;
+    }
+
+    private DecayingTopK<Map<String, Object>> board(String board) {
+        return boards.computeIfAbsent(board, b -> new DecayingTopK<>(halfLifeMillis, capacity));
+    }
+
+    public void view(String board, int id, Map<String, Object> summary) {
+        board(board).add(id, viewWeight, summary);
+    }
+
+    public void write(String board, int id, Map<String, Object> summary) {
+        afterCommit(() -> board(board).add(id, writeWeight, summary));
+    }
+
+    // 수정 : 순위에 있는 글의 요약 정보만 갱신
+    public void update(String board, int id, Map<String, Object> summary) {
+        afterCommit(() -> board(board).adjust(id, 0, summary));
+    }
+
+    // 신고 : 종류(post/market)만 알면 되도록 같은 종류의 게시판 모두에서 감점 (글 번호는 종류 안에서 유일)
+    public void report(String kind, int id) {
+        afterCommit(() -> boards.forEach((board, ranking) -> {
+            if (board.equals(kind) || board.startsWith(kind + ":")) {
+                ranking.adjust(id, reportWeight, null);
+            }
+        }));
+    }
+
+    // 삭제/비공개 전환
+    public void remove(String kind, int id) {
+        afterCommit(() -> boards.forEach((board, ranking) -> {
+            if (board.equals(kind) || board.startsWith(kind + ":")) {
+                ranking.remove(id);
+            }
+        }));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // 인기글 상위 limit개 (요약 정보 + hotScore)
+    public List<Map<String, Object>> top(String board, int limit) {
+        DecayingTopK<Map<String, Object>> ranking = boards.get(board);
+        List<Map<String, Object>> result = new ArrayList<>();
+        if (ranking == null) {
+            return result;
+        }
+        for (Map.Entry<Map<String, Object>, Double> e : ranking.top(Math.max(0, Math.min(limit, capacity)))) {
+            Map<String, Object> item = new HashMap<>(e.getKey());
+            item.put("hotScore", Math.round(e.getValue() * 100) / 100.0);
+            result.add(item);
+        }
+        return result;
+    }
+}
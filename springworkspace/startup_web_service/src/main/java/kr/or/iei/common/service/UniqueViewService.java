@@ -0,0 +1,193 @@
+package kr.or.iei.common.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import kr.or.iei.common.util.HyperLogLog;
+import kr.or.iei.common.util.JwtUtils;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 게시글/마켓글 고유 조회자 수 (HyperLogLog)
+ * - (종류, 번호)마다 HyperLogLog 스케치 1개 : 조회자가 적은 글은 sparse(수십 byte), 많아도 글당 2^precision byte 상한 (기본 12 → 4KB, 오차 약 1.6%)
+ * - 조회자 키 : 로그인 회원은 회원 아이디, 비회원은 접속 IP + User-Agent (해시만 반영되고 원문은 저장하지 않음)
+ * - 종류별로 파일에 저장 (uniqueviews.dir/<종류>.hll), 변경된 종류만 주기적으로(uniqueviews.saveInterval) 및 종료 시 저장
+ * - 처음 사용하는 종류는 저장 파일에서 읽어 옴
+ */
+@Service
+@Slf4j
+public class UniqueViewService {
+
+    private static final int MAGIC = 0x484C4C32;        // "HLL2" : 스케치별 sparse/dense 형식
+    private static final int MAGIC_DENSE = 0x484C4C31;  // "HLL1" : 이전 형식 (모두 dense), 읽기만 지원
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Value("${uniqueviews.dir:${user.dir}/data/uniqueviews}")
+    private String dir;
+
+    @Value("${uniqueviews.precision:12}")
+    private int precision;
+
+    private final Map<String, ConcurrentHashMap<Integer, HyperLogLog>> sketches = new ConcurrentHashMap<>();
+    private final Map<String, AtomicBoolean> dirty = new ConcurrentHashMap<>();
+
+    // 조회자 키 (토큰이 없거나 유효하지 않으면 비회원으로 취급)
+    public String viewerKey(String token, HttpServletRequest request) {
+        if (token != null && !token.isEmpty() && jwtUtils.validateToken(token)) {
+            String memberId = jwtUtils.getMemberIdFromToken(token);
+            if (memberId != null) {
+                return "m:" + memberId;
+            }
+        }
+        String agent = request.getHeader("User-Agent");
+        return "c:" + request.getRemoteAddr() + "|" + (agent == null ? "" : agent);
+    }
+
+    // 조회 기록
+    public void record(String type, int id, String viewerKey) {
+        HyperLogLog hll = of(type).computeIfAbsent(id, k -> new HyperLogLog(precision));
+        boolean changed;
+        synchronized (hll) {
+            changed = hll.add(viewerKey);
+        }
+        if (changed) {
+            dirty.get(type).set(true);
+        }
+    }
+
+    // 추정 고유 조회자 수
+    public long uniqueViews(String type, int id) {
+        HyperLogLog hll = of(type).get(id);
+        if (hll == null) {
+            return 0;
+        }
+        synchronized (hll) {
+            return hll.cardinality();
+        }
+    }
+
+    // 글 삭제 시 스케치 제거
+    public void remove(String type, int id) {
+        if (of(type).remove(id) != null) {
+            dirty.get(type).set(true);
+        }
+    }
+
+    private ConcurrentHashMap<Integer, HyperLogLog> of(String type) {
+        return sketches.computeIfAbsent(type, t -> {
+            dirty.put(t, new AtomicBoolean(false));
+            return load(t);
+        });
+    }
+
+    @Scheduled(initialDelayString = "${uniqueviews.saveInterval:60000}",
+               fixedDelayString = "${uniqueviews.saveInterval:60000}")
+    public void scheduledSave() {
+        save();
+    }
+
+    @PreDestroy
+    public void saveOnShutdown() {
+        save();
+    }
+
+    // 변경된 종류만 저장 (실패 시 다음 주기에 다시 시도)
+    public synchronized void save() {
+        sketches.forEach((type, map) -> {
+            AtomicBoolean flag = dirty.get(type);
+            if (!flag.getAndSet(false)) {
+                return;
+            }
+            try {
+                write(type, map);
+            } catch (IOException e) {
+                flag.set(true);
+                log.error("고유 조회자 스케치 저장 실패 ({}) : {}", type, e.getMessage());
+            }
+        });
+    }
+
+    private Path file(String type) {
+        return Paths.get(dir).toAbsolutePath().normalize().resolve(type + ".hll");
+    }
+
+    // 형식 : MAGIC, precision, 개수, (번호, 스케치) 반복 → 임시 파일에 쓴 뒤 교체
+    private void write(String type, ConcurrentHashMap<Integer, HyperLogLog> map) throws IOException {
+        // 스케치 복사본을 먼저 떠 둔 뒤 기록 (기록 중 조회는 막지 않음)
+        List<Integer> ids = new ArrayList<>();
+        List<HyperLogLog> copies = new ArrayList<>();
+        map.forEach((id, hll) -> {
+            synchronized (hll) {
+                copies.add(hll.copy());
+            }
+            ids.add(id);
+        });
+
+        Path target = file(type);
+        Files.createDirectories(target.getParent());
+        Path tmp = target.resolveSibling(type + ".hll.tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(precision);
+            out.writeInt(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                out.writeInt(ids.get(i));
+                copies.get(i).writeTo(out);
+            }
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 저장 파일 읽기 (없거나 형식/precision이 다르면 빈 상태로 시작)
+    private ConcurrentHashMap<Integer, HyperLogLog> load(String type) {
+        ConcurrentHashMap<Integer, HyperLogLog> map = new ConcurrentHashMap<>();
+        Path path = file(type);
+        if (!Files.isRegularFile(path)) {
+            return map;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int magic = in.readInt();
+            if ((magic != MAGIC && magic != MAGIC_DENSE) || in.readInt() != precision) {
+                log.warn("고유 조회자 스케치 파일 형식이 맞지 않아 새로 시작합니다. ({})", path);
+                return map;
+            }
+            int count = in.readInt();
+            byte[] registers = new byte[1 << precision];
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                if (magic == MAGIC) {
+                    map.put(id, HyperLogLog.readFrom(precision, in));
+                } else {
+                    in.readFully(registers);
+                    map.put(id, HyperLogLog.fromBytes(precision, registers));
+                }
+            }
+            log.info("고유 조회자 스케치 적재 완료 - {} {}건", type, map.size());
+        } catch (IOException e) {
+            log.error("고유 조회자 스케치 적재 실패 ({}, 새로 시작) : {}", type, e.getMessage());
+            map.clear();
+        }
+        return map;
+    }
+}
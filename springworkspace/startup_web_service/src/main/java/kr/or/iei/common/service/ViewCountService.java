@@ -0,0 +1,101 @@
+package kr.or.iei.common.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 조회수 지연 반영(write-behind)
+ * - 상세 조회 시 DB UPDATE 대신 메모리 누산기(LongAdder)에 (종류, 번호)별로 더해 두고,
+ *   주기적으로(viewcount.flushInterval) 및 종료 시 종류별 flusher로 한 번에 반영
+ * - 종료 시 반영은 ContextClosedEvent에서 실행 (빈 소멸 전이므로 DataSource/트랜잭션이 아직 살아 있음)
+ * - 화면에 보이는 조회수는 DB 값 + 아직 반영되지 않은 증가분(pending)으로 보정
+ * - 반영할 증가분은 flusher 호출 전에 누산기에서 빼 둠 (DB 커밋 후 차감하면 그 사이 조회가 DB 값 + 증가분으로 두 번 셈)
+ * - 반영 실패 시 뺀 증가분을 다시 더해 다음 주기에 재시도
+ */
+@Service
+@Slf4j
+public class ViewCountService {
+
+    private final Map<String, ConcurrentHashMap<Integer, LongAdder>> pending = new ConcurrentHashMap<>();
+    private final Map<String, Consumer<List<long[]>>> flushers = new ConcurrentHashMap<>();
+
+    // 종류 등록 (각 서비스 초기화 시 호출), flusher : {번호, 증가분} 목록을 DB에 반영
+    public void register(String type, Consumer<List<long[]>> flusher) {
+        flushers.put(type, flusher);
+        pending.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+    }
+
+    // 조회수 1 증가 (같은 번호에 대한 정리(flush 후 제거)와 겹치지 않도록 compute 안에서 증가)
+    public void increment(String type, int id) {
+        add(pending.get(type), id, 1);
+    }
+
+    // 아직 DB에 반영되지 않은 증가분
+    public int pendingOf(String type, int id) {
+        ConcurrentHashMap<Integer, LongAdder> counters = pending.get(type);
+        LongAdder adder = counters != null ? counters.get(id) : null;
+        return adder != null ? adder.intValue() : 0;
+    }
+
+    @Scheduled(initialDelayString = "${viewcount.flushInterval:10000}",
+               fixedDelayString = "${viewcount.flushInterval:10000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // 모든 종류의 증가분 반영
+    public synchronized void flush() {
+        pending.forEach((type, counters) -> {
+            // 반영할 만큼 먼저 차감 (sumThenReset은 읽은 뒤 초기화 전에 들어온 증가를 잃을 수 있어 차감으로 처리)
+            List<long[]> deltas = new ArrayList<>();
+            counters.forEach((id, adder) -> {
+                long delta = adder.sum();
+                if (delta > 0) {
+                    adder.add(-delta);
+                    deltas.add(new long[] {id, delta});
+                }
+            });
+            if (deltas.isEmpty()) {
+                return;
+            }
+            for (long[] d : deltas) {
+                counters.computeIfPresent((int) d[0], (k, adder) -> adder.sum() == 0 ? null : adder);
+            }
+
+            try {
+                flushers.get(type).accept(deltas);
+            } catch (Exception e) {
+                log.error("조회수 반영 실패 ({} {}건, 다음 주기에 재시도) : {}", type, deltas.size(), e.getMessage());
+                for (long[] d : deltas) {
+                    add(counters, (int) d[0], d[1]);
+                }
+            }
+        });
+    }
+
+    private static void add(ConcurrentHashMap<Integer, LongAdder> counters, int id, long delta) {
+        counters.compute(id, (k, adder) -> {
+            if (adder == null) {
+                adder = new LongAdder();
+            }
+            adder.add(delta);
+            return adder;
+        });
+    }
+}
@@ -0,0 +1,148 @@
+package kr.or.iei.common.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+
+/*
+ * 시간 감쇠 점수 기반 상위 K 순위 (용량 제한)
+ * - 점수는 halfLifeMillis마다 절반으로 줄어드는 지수 감쇠
+ * - 감쇠를 매번 다시 계산하지 않도록 가중치를 기준 시각(base) 기준으로 키워서 더함 : 저장값 = 가중치 × 2^((이벤트 시각 - base) / halfLife)
+ *   → 모든 항목이 같은 비율로 줄어들기 때문에 저장값 순서 = 현재 점수 순서, 이벤트마다 한 항목만 O(log n) 갱신
+ * - 저장값이 너무 커지기 전에(반감기 64회) 전체를 현재 시각 기준으로 재조정
+ * - 최대 capacity개만 추적 : 가득 차면 새 항목이 최저 점수 항목을 밀어내고 그 점수를 이어받음 (Space-Saving)
+ *   → 새 항목 점수는 최대 (밀려난 점수)만큼 과대 추정되지만, capacity를 K보다 넉넉히 두면 상위 K는 유지됨
+ * - 모든 메서드는 인스턴스 단위로 동기화
+ */
+public class DecayingTopK<T> {
+
+    private static final double REBASE_HALF_LIVES = 64;
+
+    private final long halfLifeMillis;
+    private final int capacity;
+    private final LongSupplier clock;
+
+    private final Map<Integer, Entry<T>> entries = new HashMap<>();
+    private final TreeSet<Entry<T>> order = new TreeSet<>(
+            Comparator.comparingDouble((Entry<T> e) -> e.value).thenComparingInt(e -> e.id));
+    private long base;
+
+    public DecayingTopK(long halfLifeMillis, int capacity) {
+        this(halfLifeMillis, capacity, System::currentTimeMillis);
+    }
+
+    // clock : 현재 시각(ms) (테스트에서 시각 고정용)
+    DecayingTopK(long halfLifeMillis, int capacity, LongSupplier clock) {
+        this.halfLifeMillis = halfLifeMillis;
+        this.capacity = capacity;
+        this.clock = clock;
+        this.base = clock.getAsLong();
+    }
+
+    private static final class Entry<T> {
+        final int id;
+        double value;
+        T item;
+
+        Entry(int id, double value, T item) {
+            this.id = id;
+            this.value = value;
+            this.item = item;
+        }
+    }
+
+    /*
+     * 이벤트 반영
+     * - weight : 점수 가중치 (음수면 감점, 점수가 0 이하가 되면 제거)
+     * - item : 목록에 보여줄 요약 정보 (null이면 기존 값 유지)
+     */
+    public synchronized void add(int id, double weight, T item) {
+        long now = clock.getAsLong();
+        rebaseIfNeeded(now);
+        double scaled = weight * Math.pow(2, (double) (now - base) / halfLifeMillis);
+
+        Entry<T> entry = entries.get(id);
+        if (entry != null) {
+            order.remove(entry);
+            entry.value += scaled;
+            if (item != null) {
+                entry.item = item;
+            }
+            if (entry.value <= 0) {
+                entries.remove(id);
+            } else {
+                order.add(entry);
+            }
+            return;
+        }
+        if (scaled <= 0 || item == null) {
+            return;
+        }
+        if (entries.size() >= capacity) {
+            // 최저 항목 자리를 넘겨받고 그 점수를 이어받음 (Space-Saving) → 꾸준히 이벤트가 오는 글은 반드시 순위에 진입
+            Entry<T> lowest = order.pollFirst();
+            entries.remove(lowest.id);
+            scaled += lowest.value;
+        }
+        entry = new Entry<>(id, scaled, item);
+        entries.put(id, entry);
+        order.add(entry);
+    }
+
+    // 추적 중인 항목에만 반영 (신고/수정처럼 새로 순위에 올릴 이유가 없는 이벤트)
+    public synchronized boolean adjust(int id, double weight, T item) {
+        if (!entries.containsKey(id)) {
+            return false;
+        }
+        add(id, weight, item);
+        return true;
+    }
+
+    public synchronized void remove(int id) {
+        Entry<T> entry = entries.remove(id);
+        if (entry != null) {
+            order.remove(entry);
+        }
+    }
+
+    // 현재 점수 상위 limit개 {item, score}
+    public synchronized List<Map.Entry<T, Double>> top(int limit) {
+        double decay = Math.pow(2, -(double) (clock.getAsLong() - base) / halfLifeMillis);
+        List<Map.Entry<T, Double>> result = new ArrayList<>(Math.min(limit, entries.size()));
+        for (Entry<T> e : order.descendingSet()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(Map.entry(e.item, e.value * decay));
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // 기준 시각을 현재로 옮기고 저장값 재조정 (순서는 변하지 않지만 값이 바뀌므로 정렬 구조 재구성)
+    private void rebaseIfNeeded(long now) {
+        double halfLives = (double) (now - base) / halfLifeMillis;
+        if (halfLives < REBASE_HALF_LIVES) {
+            return;
+        }
+        double factor = Math.pow(2, -halfLives);
+        List<Entry<T>> all = new ArrayList<>(order);
+        order.clear();
+        for (Entry<T> e : all) {
+            e.value *= factor;
+            if (e.value > 0) {
+                order.add(e);
+            } else {
+                entries.remove(e.id);
+            }
+        }
+        base = now;
+    }
+}
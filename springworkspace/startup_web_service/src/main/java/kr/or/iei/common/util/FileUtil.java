@@ -1,66 +1,232 @@
 package kr.or.iei.common.util;
 
-import java.io.BufferedOutputStream;
-import java.io.File;
-import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Random;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.annotation.PostConstruct;
+import kr.or.iei.common.exception.CommonException;
+
+/*
+ * 업로드 파일 저장
+ * - 업로드 스트림을 8KB 버퍼로 바로 대상 파일에 복사 (파일 전체를 byte[]로 올리지 않음)
+ * - 복사하면서 크기 제한(file.upload.maxSize), 차단 확장자(file.upload.blockedExt), 이미지 전용 업로드는 파일 앞부분(시그니처) 검사
+ * - 제한을 넘으면 그 자리에서 복사를 멈추고 쓰던 파일을 지운 뒤 CommonException (413 / 415)
+ * - 복사 건수/바이트/소요 시간을 모아 초당 처리량 통계 제공
+ */
 @Component
 public class FileUtil {
-	
-	//application.properties에 작성된 파일 경로(C:/Start_Support_Img/market)
-	@Value("${file.uploadPath}")
-	private String uploadPath;
-	
-	public String uploadFile(MultipartFile file, String savePath) throws IOException {
-		//중복되지 않도록 서버에 저장될 파일명을 생성 => 파일 업로드 
-		
-		int ranNum = new Random().nextInt(10000)+1; //1~10000까지의 랜덤 숫자
-		String str="_"+String.format("%05d", ranNum); // "_랜덤숫자5자리";
-		String name=file.getOriginalFilename();	//사용자가 업로드한 실제 파일명 => test.jpg
-		String ext = null; //확장자 저장 변수
-		
-		int dot = name.lastIndexOf(".");//파일명 뒤에서부터 마침표(.)의 위치. 없으면 -1를 리턴
-		
-		if(dot != -1) {
-			ext = name.substring(dot); //.jpg
-		}else {
-			ext="";
-		}
-		
-		SimpleDateFormat sdf=new SimpleDateFormat("yyyyMMddHHmmssSSS"); //년 월 일 시 분 초 밀리초 순
-		String serverFileName= sdf.format(new Date(System.currentTimeMillis()))+str+ext;
-								//test.jpg => "20250624151620485"+"_00485"+".jpg";
-		String serverDirectory =serverFileName.substring(0,8); //"20250624"
-		
-		// savePath=> /editor/
-		savePath =uploadPath+savePath+serverDirectory+File.separator;
-		// "C:/Temp/react" + "/editor/" + "20250624" + "/"
-		
-		//파일 업로드 처리
-		BufferedOutputStream bos=null;
-		
+
+	//파일 1개 최대 크기 (기본 20MB)
+	@Value("${file.upload.maxSize:20971520}")
+	private long maxSize;
+
+	//업로드 금지 확장자 (실행 파일, 서버 스크립트, 브라우저에서 스크립트가 실행될 수 있는 형식)
+	@Value("${file.upload.blockedExt:exe,msi,bat,cmd,com,sh,ps1,jar,war,jsp,jspx,php,asp,aspx,html,htm,svg,js}")
+	private String[] blockedExt;
+
+	private Set<String> blocked;
+
+	private final LongAdder files = new LongAdder();
+	private final LongAdder bytes = new LongAdder();
+	private final LongAdder nanos = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private volatile double lastBytesPerSec;
+
+	@PostConstruct
+	public void init() {
+		blocked = new HashSet<>();
+		for(String ext : blockedExt) {
+			if(!ext.isBlank()) {
+				blocked.add(ext.trim().toLowerCase(Locale.ROOT));
+			}
+		}
+	}
+
+	/*
+	 * 스트림을 target에 복사 (target이 이미 있으면 FileAlreadyExistsException)
+	 * - size : 미리 알고 있는 크기 (모르면 -1), 제한을 넘으면 읽기 전에 거절
+	 * - imageOnly : JPEG/PNG/GIF/WEBP/BMP 시그니처가 아니면 거절
+	 * - 거절/실패 시 쓰던 파일은 삭제, 복사한 byte 수 반환
+	 */
+	public long copy(InputStream in, long size, String originalName, Path target, boolean imageOnly) throws IOException {
+		checkName(originalName);
+		if(size > maxSize) {
+			rejected.increment();
+			throw tooLarge();
+		}
+
+		long start = System.nanoTime();
+		GuardedInputStream guarded = new GuardedInputStream(in, imageOnly);
+		long copied;
 		try {
-			File directory=new File(savePath);
-			if(!directory.exists()) {
-				directory.mkdirs();
+			copied = Files.copy(guarded, target);
+			guarded.finish();
+		} catch(IOException | RuntimeException e) {
+			Files.deleteIfExists(target);
+			if(e instanceof CommonException) {
+				rejected.increment();
+			}
+			throw e;
+		}
+
+		long elapsed = Math.max(1, System.nanoTime() - start);
+		files.increment();
+		bytes.add(copied);
+		nanos.add(elapsed);
+		lastBytesPerSec = copied * 1_000_000_000.0 / elapsed;
+		return copied;
+	}
+
+	//복사 전에 이름/크기만으로 먼저 검사 (나눠 올리기 시작 시), 제한을 넘으면 copy와 같은 CommonException
+	public void checkUpload(String originalName, long size) {
+		checkName(originalName);
+		if(size > maxSize) {
+			rejected.increment();
+			throw tooLarge();
+		}
+	}
+
+	//파일명으로 정한 MIME 타입 (알 수 없으면 application/octet-stream) - 업로드 시 1번 정해서 저장
+	public static String contentType(String fileName) {
+		return MediaTypeFactory.getMediaType(fileName == null ? "" : fileName)
+				.orElse(MediaType.APPLICATION_OCTET_STREAM)
+				.toString();
+	}
+
+	//차단 확장자 검사
+	private void checkName(String originalName) {
+		if(originalName == null) {
+			return;
+		}
+		int dot = originalName.lastIndexOf('.');
+		if(dot != -1 && blocked.contains(originalName.substring(dot + 1).toLowerCase(Locale.ROOT))) {
+			rejected.increment();
+			throw unsupported();
+		}
+	}
+
+	private CommonException tooLarge() {
+		CommonException ex = new CommonException("업로드 파일 크기 초과 (최대 " + maxSize + " byte)");
+		ex.setErrorCode(HttpStatus.PAYLOAD_TOO_LARGE);
+		ex.setUserMsg("파일 크기는 " + (maxSize / (1024 * 1024)) + "MB 이하만 업로드할 수 있습니다.");
+		return ex;
+	}
+
+	private static CommonException unsupported() {
+		CommonException ex = new CommonException("허용되지 않는 파일 형식");
+		ex.setErrorCode(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+		ex.setUserMsg("업로드할 수 없는 파일 형식입니다.");
+		return ex;
+	}
+
+	//이미지 시그니처 (파일 앞부분 12byte 기준)
+	static boolean isImage(byte[] head, int len) {
+		if(len >= 3 && (head[0] & 0xff) == 0xFF && (head[1] & 0xff) == 0xD8 && (head[2] & 0xff) == 0xFF) {
+			return true; //JPEG
+		}
+		if(len >= 8 && (head[0] & 0xff) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G'
+				&& head[4] == 0x0D && head[5] == 0x0A && head[6] == 0x1A && head[7] == 0x0A) {
+			return true; //PNG
+		}
+		if(len >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8'
+				&& (head[4] == '7' || head[4] == '9') && head[5] == 'a') {
+			return true; //GIF
+		}
+		if(len >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+				&& head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+			return true; //WEBP
+		}
+		return len >= 2 && head[0] == 'B' && head[1] == 'M'; //BMP
+	}
+
+	//읽은 byte 수와 앞부분을 확인하면서 넘겨주는 스트림
+	private final class GuardedInputStream extends FilterInputStream {
+
+		private final boolean imageOnly;
+		private final byte[] head = new byte[12];
+		private int headLen;
+		private boolean checked;
+		private long count;
+
+		GuardedInputStream(InputStream in, boolean imageOnly) {
+			super(in);
+			this.imageOnly = imageOnly;
+			this.checked = !imageOnly;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if(b >= 0) {
+				accept(new byte[] {(byte) b}, 0, 1);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if(n > 0) {
+				accept(b, off, n);
+			}
+			return n;
+		}
+
+		private void accept(byte[] b, int off, int n) {
+			count += n;
+			if(count > maxSize) {
+				throw tooLarge();
+			}
+			if(!checked) {
+				int take = Math.min(n, head.length - headLen);
+				System.arraycopy(b, off, head, headLen, take);
+				headLen += take;
+				if(headLen == head.length) {
+					check();
+				}
+			}
+		}
+
+		//끝까지 읽은 뒤 호출 : 12byte보다 짧은 파일도 시그니처 검사
+		void finish() {
+			if(!checked) {
+				check();
+			}
+		}
+
+		private void check() {
+			checked = true;
+			if(imageOnly && !isImage(head, headLen)) {
+				throw unsupported();
 			}
-			
-			byte [] bytes=file.getBytes();
-			bos = new BufferedOutputStream(new FileOutputStream(new File(savePath+serverFileName)));
-			bos.write(bytes);
-		}finally {
-			bos.close();
-		}
-		
-		//"20250624151620485_00485.jpg";
-		return serverFileName;
+		}
+	}
+
+	//업로드 통계 {files, bytes, rejected, bytesPerSec(누적 평균), lastBytesPerSec(마지막 파일)}
+	public Map<String, Object> stats() {
+		long b = bytes.sum();
+		long n = nanos.sum();
+		Map<String, Object> stats = new HashMap<>();
+		stats.put("files", files.sum());
+		stats.put("bytes", b);
+		stats.put("rejected", rejected.sum());
+		stats.put("bytesPerSec", n == 0 ? 0 : Math.round(b * 1_000_000_000.0 / n));
+		stats.put("lastBytesPerSec", Math.round(lastBytesPerSec));
+		return stats;
 	}
 }
@@ -0,0 +1,251 @@
+package kr.or.iei.common.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/*
+ * 업로드 이미지 정적 응답(/market/postFile/**)용 메모리 캐시
+ * - 최근 요청된 작은 파일(market.fileCache.maxFileSize 이하)의 내용을 메모리에 보관, 전체 크기는 market.fileCache.maxBytes까지
+ * - 전체 크기를 넘으면 가장 오래 요청되지 않은 파일부터 제거 (파일 크기 기준)
+ * - 미리 압축된 파일(<이름>.br / .gz)은 뒤의 EncodedResourceResolver가 고르므로, 요청 경로 + 허용 압축 방식별로 따로 보관
+ * - 적중 시에도 파일 상태를 1번 확인 (삭제/교체된 파일은 캐시에서 제거 후 다시 읽음)
+ * - ETag : 저장소 파일은 내용 해시, 그 외에는 파일명-크기-수정 시각 (압축 응답은 방식 추가)
+ */
+@Component
+public class HotFileResourceResolver implements ResourceResolver {
+
+    // 저장소 파일명 : <sha256><확장자>
+    private static final Pattern BLOB_NAME = Pattern.compile("([0-9a-f]{64})(\\.[a-z0-9]{1,10})?");
+
+    @Value("${market.fileCache.maxBytes:67108864}")
+    private long maxBytes;
+
+    @Value("${market.fileCache.maxFileSize:524288}")
+    private long maxFileSize;
+
+    // 접근 순서 유지 → 맨 앞이 가장 오래 요청되지 않은 파일
+    private final LinkedHashMap<String, CachedFile> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath,
+                                    List<? extends Resource> locations, ResourceResolverChain chain) {
+        if (request == null) {
+            return chain.resolveResource(null, requestPath, locations);
+        }
+        String key = requestPath + "|" + codings(request);
+
+        CachedFile cached = get(key);
+        if (cached != null) {
+            if (cached.isFresh()) {
+                hits.increment();
+                return cached;
+            }
+            remove(key, cached);
+        }
+        misses.increment();
+
+        Resource resolved = chain.resolveResource(request, requestPath, locations);
+        if (resolved != null) {
+            CachedFile loaded = load(resolved);
+            if (loaded != null) {
+                put(key, loaded);
+                return loaded;
+            }
+        }
+        return resolved;
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourcePath, locations);
+    }
+
+    /*
+     * ETag 값 (따옴표 제외, 강한 ETag)
+     * - 저장소 파일 : 내용 해시, 그 외 : 파일명-크기-수정 시각, 압축 응답이면 뒤에 "-gzip" 등 추가
+     * - 캐시된 파일은 저장해 둔 값 사용 (요청마다 다시 계산하지 않음)
+     */
+    public static String etag(Resource resource) {
+        if (resource instanceof CachedFile cached) {
+            return cached.etag();
+        }
+        try {
+            String name = resource.getFilename();
+            Matcher m = BLOB_NAME.matcher(name == null ? "" : name);
+            String tag = m.matches() ? m.group(1)
+                    : Integer.toHexString(name == null ? 0 : name.hashCode()) + "-"
+                      + Long.toHexString(resource.contentLength()) + "-" + Long.toHexString(resource.lastModified());
+            if (resource instanceof HttpResource httpResource) {
+                String coding = httpResource.getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+                if (coding != null) {
+                    tag += "-" + coding;
+                }
+            }
+            return tag;
+        } catch (IOException e) {
+            return null; // ETag 없이 Last-Modified로만 확인
+        }
+    }
+
+    // 요청의 Accept-Encoding 중 미리 압축된 파일로 응답할 수 있는 방식 (EncodedResourceResolver 기본값 br, gzip)
+    private static String codings(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (header == null) {
+            return "";
+        }
+        header = header.toLowerCase(Locale.ROOT);
+        return (header.contains("br") ? "b" : "") + (header.contains("gzip") ? "g" : "");
+    }
+
+    // 캐시할 수 있는 크기면 내용을 읽어 반환, 아니면 null (원래 자원으로 응답)
+    private CachedFile load(Resource resolved) {
+        try {
+            if (!resolved.isFile()) {
+                return null;
+            }
+            Path source = resolved.getFile().toPath();
+            BasicFileAttributes attrs = Files.readAttributes(source, BasicFileAttributes.class);
+            if (!attrs.isRegularFile() || attrs.size() > maxFileSize) {
+                return null;
+            }
+            byte[] bytes;
+            try (InputStream in = resolved.getInputStream()) {
+                bytes = in.readAllBytes();
+            }
+            if (bytes.length != attrs.size()) {
+                return null; // 읽는 도중 바뀐 파일
+            }
+            HttpHeaders headers = resolved instanceof HttpResource httpResource
+                    ? HttpHeaders.readOnlyHttpHeaders(httpResource.getResponseHeaders())
+                    : HttpHeaders.EMPTY;
+            return new CachedFile(bytes, resolved.getFilename(), source,
+                    attrs.lastModifiedTime().toMillis(), headers, etag(resolved));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private synchronized CachedFile get(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void put(String key, CachedFile file) {
+        CachedFile old = entries.put(key, file);
+        if (old != null) {
+            totalBytes -= old.contentLength();
+        }
+        totalBytes += file.contentLength();
+        Iterator<CachedFile> it = entries.values().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            totalBytes -= it.next().contentLength();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized void remove(String key, CachedFile file) {
+        if (entries.remove(key, file)) {
+            totalBytes -= file.contentLength();
+        }
+    }
+
+    // 통계 {hits, misses, evictions, entries, bytes, maxBytes}
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        synchronized (this) {
+            stats.put("entries", entries.size());
+            stats.put("bytes", totalBytes);
+        }
+        stats.put("maxBytes", maxBytes);
+        return stats;
+    }
+
+    // 캐시된 파일 내용 (응답 헤더/파일명/수정 시각은 원래 자원 기준)
+    private static final class CachedFile extends ByteArrayResource implements HttpResource {
+
+        private final String filename;
+        private final Path source;
+        private final long lastModified;
+        private final HttpHeaders headers;
+        private final String etag;
+
+        CachedFile(byte[] bytes, String filename, Path source, long lastModified, HttpHeaders headers, String etag) {
+            super(bytes, source.toString());
+            this.filename = filename;
+            this.source = source;
+            this.lastModified = lastModified;
+            this.headers = headers;
+            this.etag = etag;
+        }
+
+        // 원본 파일이 그대로 있는지 (크기/수정 시각 비교)
+        boolean isFresh() {
+            try {
+                BasicFileAttributes attrs = Files.readAttributes(source, BasicFileAttributes.class);
+                return attrs.size() == contentLength() && attrs.lastModifiedTime().toMillis() == lastModified;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        String etag() {
+            return etag;
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+
+        @Override
+        public long lastModified() {
+            return lastModified;
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            return headers;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
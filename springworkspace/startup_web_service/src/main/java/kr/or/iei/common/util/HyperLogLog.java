@@ -0,0 +1,268 @@
+package kr.or.iei.common.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/*
+ * HyperLogLog 고유 개수 추정 스케치
+ * - 2^precision 개 레지스터(각 1byte)에 해시 앞 precision 비트로 칸을 고르고, 나머지 비트의 선행 0 개수 + 1 중 최댓값 보관
+ * - 처음에는 값이 있는 레지스터만 (번호, 값) 정렬 배열로 보관(sparse)하다가 레지스터 수의 1/8을 넘으면 전체 배열(dense)로 전환
+ *   → 조회자가 적은 스케치는 수십 byte, 많아도 2^precision byte 고정 (precision 12 → 4KB, 표준 오차 약 1.6%)
+ * - sparse/dense 모두 같은 레지스터 값을 가지므로 추정치는 동일
+ * - 작은 개수는 빈 레지스터 수 기반 선형 계수(linear counting)로 보정
+ * - 동시 호출은 호출하는 쪽에서 동기화
+ */
+public class HyperLogLog {
+
+    private static final int DENSE = -1; // writeTo 형식의 dense 표시
+
+    private final int precision;
+    private byte[] registers;            // dense, sparse 동안은 null
+    private int[] sparse = new int[4];   // (번호 << 8 | 값), 번호 오름차순
+    private int sparseSize;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("precision은 4 ~ 16 사이여야 합니다. - " + precision);
+        }
+        this.precision = precision;
+    }
+
+    // 문자열 원소 추가, 레지스터가 바뀌면 true
+    public boolean add(String value) {
+        return addHash(hash(value));
+    }
+
+    public boolean addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // 나머지 비트의 선행 0 개수 + 1 (끝에 1을 붙여 모두 0인 경우도 상한 고정)
+        long rest = (hash << precision) | (1L << (precision - 1));
+        return set(index, (byte) (Long.numberOfLeadingZeros(rest) + 1));
+    }
+
+    private boolean set(int index, byte rank) {
+        if (registers != null) {
+            if (rank > registers[index]) {
+                registers[index] = rank;
+                return true;
+            }
+            return false;
+        }
+        int pos = find(index);
+        if (pos >= 0) {
+            if (rank > (byte) sparse[pos]) {
+                sparse[pos] = index << 8 | rank;
+                return true;
+            }
+            return false;
+        }
+        if (sparseSize >= sparseLimit()) {
+            toDense();
+            registers[index] = rank;
+            return true;
+        }
+        pos = -pos - 1;
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.min(sparse.length * 2, sparseLimit()));
+        }
+        System.arraycopy(sparse, pos, sparse, pos + 1, sparseSize - pos);
+        sparse[pos] = index << 8 | rank;
+        sparseSize++;
+        return true;
+    }
+
+    // sparse 배열에서 레지스터 번호 위치 (없으면 -(삽입 위치) - 1)
+    private int find(int index) {
+        int lo = 0;
+        int hi = sparseSize - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int key = sparse[mid] >>> 8;
+            if (key < index) {
+                lo = mid + 1;
+            } else if (key > index) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+    // sparse 최대 항목 수 : 항목당 4byte이므로 dense 크기의 절반
+    private int sparseLimit() {
+        return Math.max(1, (1 << precision) >> 3);
+    }
+
+    private void toDense() {
+        byte[] dense = new byte[1 << precision];
+        for (int i = 0; i < sparseSize; i++) {
+            dense[sparse[i] >>> 8] = (byte) sparse[i];
+        }
+        registers = dense;
+        sparse = null;
+        sparseSize = 0;
+    }
+
+    public boolean isSparse() {
+        return registers == null;
+    }
+
+    // 레지스터 보관에 쓰는 대략의 byte 수
+    public int sizeInBytes() {
+        return registers != null ? registers.length : sparse.length * Integer.BYTES;
+    }
+
+    // 추정 고유 개수
+    public long cardinality() {
+        int m = 1 << precision;
+        double sum = 0;
+        int zeros = 0;
+        if (registers != null) {
+            for (byte r : registers) {
+                sum += 1.0 / (1L << r);
+                if (r == 0) {
+                    zeros++;
+                }
+            }
+        } else {
+            for (int i = 0; i < sparseSize; i++) {
+                sum += 1.0 / (1L << (byte) sparse[i]);
+            }
+            zeros = m - sparseSize;
+            sum += zeros;
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16: return 0.673;
+            case 32: return 0.697;
+            case 64: return 0.709;
+            default: return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    // 같은 precision의 다른 스케치를 합침 (레지스터별 최댓값)
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("precision이 다른 스케치는 합칠 수 없습니다.");
+        }
+        if (other.registers == null) {
+            for (int i = 0; i < other.sparseSize; i++) {
+                set(other.sparse[i] >>> 8, (byte) other.sparse[i]);
+            }
+            return;
+        }
+        if (registers == null) {
+            toDense();
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    // 같은 내용의 복사본 (저장 등 잠금 밖에서 읽을 때)
+    public HyperLogLog copy() {
+        HyperLogLog hll = new HyperLogLog(precision);
+        if (registers != null) {
+            hll.registers = registers.clone();
+            hll.sparse = null;
+        } else {
+            hll.sparse = Arrays.copyOf(sparse, Math.max(sparseSize, 1));
+            hll.sparseSize = sparseSize;
+        }
+        return hll;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    // 전체 레지스터 복사본 (sparse도 dense 배열로 펼침)
+    public byte[] toBytes() {
+        if (registers != null) {
+            return registers.clone();
+        }
+        byte[] dense = new byte[1 << precision];
+        for (int i = 0; i < sparseSize; i++) {
+            dense[sparse[i] >>> 8] = (byte) sparse[i];
+        }
+        return dense;
+    }
+
+    public static HyperLogLog fromBytes(int precision, byte[] bytes) {
+        HyperLogLog hll = new HyperLogLog(precision);
+        if (bytes.length != 1 << precision) {
+            throw new IllegalArgumentException("레지스터 크기가 precision과 맞지 않습니다.");
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != 0) {
+                hll.set(i, bytes[i]);
+            }
+        }
+        return hll;
+    }
+
+    // 저장 형식 : sparse는 항목 수 + (번호 << 8 | 값) 반복, dense는 -1 + 전체 레지스터
+    public void writeTo(DataOutput out) throws IOException {
+        if (registers != null) {
+            out.writeInt(DENSE);
+            out.write(registers);
+            return;
+        }
+        out.writeInt(sparseSize);
+        for (int i = 0; i < sparseSize; i++) {
+            out.writeInt(sparse[i]);
+        }
+    }
+
+    public static HyperLogLog readFrom(int precision, DataInput in) throws IOException {
+        HyperLogLog hll = new HyperLogLog(precision);
+        int size = in.readInt();
+        if (size == DENSE) {
+            hll.toDense();
+            in.readFully(hll.registers);
+            return hll;
+        }
+        int m = 1 << precision;
+        if (size < 0 || size > hll.sparseLimit()) {
+            throw new IOException("sparse 항목 수가 올바르지 않습니다. - " + size);
+        }
+        for (int i = 0; i < size; i++) {
+            int entry = in.readInt();
+            int index = entry >>> 8;
+            byte rank = (byte) entry;
+            if (index >= m || rank <= 0) {
+                throw new IOException("sparse 항목이 올바르지 않습니다. - " + entry);
+            }
+            hll.set(index, rank);
+        }
+        return hll;
+    }
+
+    // 64비트 해시 (UTF-8 바이트 FNV-1a + murmur3 finalizer로 비트 분산)
+    public static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
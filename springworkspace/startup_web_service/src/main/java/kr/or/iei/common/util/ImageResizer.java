@@ -0,0 +1,216 @@
+package kr.or.iei.common.util;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/*
+ * 이미지 축소본 생성
+ * - 원본을 maxSize × maxSize 안에 들어가도록 비율 유지 축소 (원본보다 크게 늘리지 않음) 후 JPEG(quality)로 저장
+ * - 큰 원본은 디코딩 단계에서 건너뛰며 읽어(subsampling) 메모리 사용을 줄이고, 절반씩 여러 번 줄여 계단 현상 방지
+ * - JPEG EXIF 방향값은 픽셀에 반영한 뒤 메타데이터 없이 저장 (EXIF/GPS 등 촬영 정보 제거)
+ * - 투명 배경은 흰색으로 채움
+ */
+public final class ImageResizer {
+
+    private ImageResizer() {
+    }
+
+    /*
+     * source → target (JPEG), 쓰는 중인 파일은 보이지 않도록 임시 파일에 쓴 뒤 이동
+     * - 읽을 수 없는 형식(ImageIO 미지원)이면 false
+     */
+    public static boolean resize(Path source, Path target, int maxSize, float quality) throws IOException {
+        int orientation = exifOrientation(source);
+        BufferedImage image = read(source, maxSize);
+        if (image == null) {
+            return false;
+        }
+        image = orient(image, orientation);
+        image = scale(image, maxSize);
+
+        Path tmp = target.resolveSibling(target.getFileName() + ".part");
+        try {
+            writeJpeg(image, tmp, quality);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return true;
+    }
+
+    // 목표 크기의 2배 이상이 되는 범위에서 건너뛰며 읽기
+    private static BufferedImage read(Path source, int maxSize) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, longest / (maxSize * 2));
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 긴 변이 maxSize가 될 때까지 절반씩 축소, 마지막 단계에서 정확한 크기로 (RGB, 투명 부분은 흰색)
+    private static BufferedImage scale(BufferedImage image, int maxSize) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        double ratio = Math.min(1.0, (double) maxSize / Math.max(w, h));
+        int targetW = Math.max(1, (int) Math.round(w * ratio));
+        int targetH = Math.max(1, (int) Math.round(h * ratio));
+
+        BufferedImage current = image;
+        do {
+            int nextW = Math.max(targetW, current.getWidth() / 2);
+            int nextH = Math.max(targetH, current.getHeight() / 2);
+            if (current.getWidth() / 2 < targetW || current.getHeight() / 2 < targetH) {
+                nextW = targetW;
+                nextH = targetH;
+            }
+            BufferedImage next = new BufferedImage(nextW, nextH, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, nextW, nextH);
+                g.drawImage(current, 0, 0, nextW, nextH, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (current.getWidth() != targetW || current.getHeight() != targetH);
+        return current;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param); // 메타데이터 없이 저장
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    // EXIF 방향값(1~8) 반영
+    private static BufferedImage orient(BufferedImage image, int orientation) {
+        if (orientation <= 1 || orientation > 8) {
+            return image;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        boolean swap = orientation >= 5;
+        // 원본 좌표 (x, y) → 결과 좌표 : x' = m00·x + m01·y + m02, y' = m10·x + m11·y + m12
+        AffineTransform t;
+        switch (orientation) {
+            case 2: t = new AffineTransform(-1, 0, 0, 1, w, 0); break;  // 좌우 반전
+            case 3: t = new AffineTransform(-1, 0, 0, -1, w, h); break; // 180도
+            case 4: t = new AffineTransform(1, 0, 0, -1, 0, h); break;  // 상하 반전
+            case 5: t = new AffineTransform(0, 1, 1, 0, 0, 0); break;   // 대각선 뒤집기
+            case 6: t = new AffineTransform(0, 1, -1, 0, h, 0); break;  // 시계 방향 90도
+            case 7: t = new AffineTransform(0, -1, -1, 0, h, w); break; // 반대 대각선 뒤집기
+            default: t = new AffineTransform(0, -1, 1, 0, 0, w); break; // 8 : 반시계 방향 90도
+        }
+        BufferedImage rotated = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = rotated.createGraphics();
+        try {
+            g.drawImage(image, t, null);
+        } finally {
+            g.dispose();
+        }
+        return rotated;
+    }
+
+    /*
+     * JPEG EXIF 방향값 (없거나 JPEG가 아니면 1)
+     * - APP1 "Exif" 세그먼트의 TIFF IFD0에서 0x0112 태그만 찾음 (앞 64KB 안에서)
+     */
+    static int exifOrientation(Path source) {
+        byte[] b = new byte[65536];
+        int len;
+        try (InputStream in = Files.newInputStream(source)) {
+            len = in.readNBytes(b, 0, b.length);
+        } catch (IOException e) {
+            return 1;
+        }
+        if (len < 4 || (b[0] & 0xff) != 0xFF || (b[1] & 0xff) != 0xD8) {
+            return 1;
+        }
+        int pos = 2;
+        while (pos + 4 <= len && (b[pos] & 0xff) == 0xFF) {
+            int marker = b[pos + 1] & 0xff;
+            int size = ((b[pos + 2] & 0xff) << 8) | (b[pos + 3] & 0xff);
+            if (marker == 0xDA || size < 2) {
+                break; // 이미지 데이터 시작
+            }
+            int seg = pos + 4;
+            if (marker == 0xE1 && seg + 14 <= len && b[seg] == 'E' && b[seg + 1] == 'x' && b[seg + 2] == 'i' && b[seg + 3] == 'f') {
+                int tiff = seg + 6;
+                boolean little = b[tiff] == 'I';
+                int ifd = tiff + readInt(b, tiff + 4, little);
+                if (ifd + 2 > len || ifd < tiff) {
+                    return 1;
+                }
+                int count = readShort(b, ifd, little);
+                for (int i = 0; i < count; i++) {
+                    int entry = ifd + 2 + i * 12;
+                    if (entry + 12 > len) {
+                        break;
+                    }
+                    if (readShort(b, entry, little) == 0x0112) {
+                        return readShort(b, entry + 8, little);
+                    }
+                }
+                return 1;
+            }
+            pos += 2 + size;
+        }
+        return 1;
+    }
+
+    private static int readShort(byte[] b, int at, boolean little) {
+        return little ? (b[at] & 0xff) | ((b[at + 1] & 0xff) << 8)
+                      : ((b[at] & 0xff) << 8) | (b[at + 1] & 0xff);
+    }
+
+    private static int readInt(byte[] b, int at, boolean little) {
+        return little ? (b[at] & 0xff) | ((b[at + 1] & 0xff) << 8) | ((b[at + 2] & 0xff) << 16) | ((b[at + 3] & 0xff) << 24)
+                      : ((b[at] & 0xff) << 24) | ((b[at + 1] & 0xff) << 16) | ((b[at + 2] & 0xff) << 8) | (b[at + 3] & 0xff);
+    }
+}
@@ -0,0 +1,117 @@
+package kr.or.iei.common.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+ * 동시 요청 합치기(single-flight) + 짧은 TTL 결과 캐시
+ * - 같은 키로 동시에 들어온 요청은 먼저 온 요청 하나만 loader를 실행하고, 나머지는 그 결과를 함께 받음
+ * - 완료된 결과는 ttlMillis 동안 캐시, 이후 첫 요청이 다시 조회
+ * - loader가 예외(Error 포함)를 던지면 캐시하지 않고 기다리던 요청 모두에 같은 예외 전달
+ * - 항목 수가 maxEntries를 넘으면 만료 항목 정리, 그래도 넘으면 전체 비움
+ */
+public class SingleFlightCache<K, V> {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();       // 캐시된 결과 사용
+    private final LongAdder misses = new LongAdder();     // loader 실행
+    private final LongAdder coalesced = new LongAdder();  // 실행 중인 loader 결과를 기다려 사용
+
+    public SingleFlightCache(long ttlMillis, int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    private static final class Entry<V> {
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        volatile long expiresAt = Long.MAX_VALUE; // 완료 전에는 만료되지 않음
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        while (true) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (!entry.future.isDone()) {
+                    coalesced.increment();
+                    return join(entry);
+                }
+                if (entry.expiresAt > System.currentTimeMillis()) {
+                    hits.increment();
+                    return join(entry);
+                }
+                entries.remove(key, entry); // 만료
+                continue;
+            }
+
+            Entry<V> created = new Entry<>();
+            if (entries.putIfAbsent(key, created) != null) {
+                continue; // 다른 요청이 먼저 등록 → 그 결과 사용
+            }
+            misses.increment();
+            try {
+                if (entries.size() > maxEntries) {
+                    evict();
+                }
+                V value = loader.get();
+                created.expiresAt = System.currentTimeMillis() + ttlMillis;
+                created.future.complete(value);
+                return value;
+            } catch (Throwable e) {
+                // Error(OOM 등)도 전달해야 join()에서 기다리던 요청이 풀림
+                entries.remove(key, created);
+                created.future.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    private V join(Entry<V> entry) {
+        try {
+            return entry.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof Error err) {
+                throw err;
+            }
+            throw e;
+        }
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.entrySet().removeIf(e -> e.getValue().future.isDone() && e.getValue().expiresAt <= now);
+        if (entries.size() > maxEntries) {
+            entries.entrySet().removeIf(e -> e.getValue().future.isDone());
+        }
+    }
+
+    // 키 하나 제거 (실행 중인 loader의 결과는 이미 기다리던 요청에만 전달되고 캐시에는 남지 않음)
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    // 캐시 전체 비움 (데이터 갱신 시)
+    public void clear() {
+        entries.clear();
+    }
+
+    // 사용 통계 {hits, misses, coalesced, size}
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("size", (long) entries.size());
+        return stats;
+    }
+}
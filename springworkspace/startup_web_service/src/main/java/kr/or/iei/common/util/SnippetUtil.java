@@ -0,0 +1,51 @@
+package kr.or.iei.common.util;
+
+import java.util.regex.Pattern;
+
+/*
+ * 본문 미리보기(snippet) 생성
+ * - 에디터 본문(HTML/마크다운)에서 태그, 이미지/링크 문법, 서식 기호를 걷어낸 평문 앞부분
+ * - 목록 화면용이므로 정확한 렌더링 결과가 아니라 읽을 수 있는 요약이면 충분
+ */
+public final class SnippetUtil {
+
+    public static final int DEFAULT_LENGTH = 150;
+
+    private static final Pattern SCRIPT = Pattern.compile("(?is)<(script|style)[^>]*>.*?</\\1>");
+    private static final Pattern BLOCK_TAG = Pattern.compile("(?i)</?(p|div|br|li|ul|ol|h[1-6]|tr|td|th|blockquote|pre|hr)\\b[^>]*>");
+    private static final Pattern TAG = Pattern.compile("(?s)<[^>]*>");
+    private static final Pattern MD_IMAGE = Pattern.compile("!\\[[^\\]]*\\]\\([^)]*\\)");
+    private static final Pattern MD_LINK = Pattern.compile("\\[([^\\]]*)\\]\\([^)]*\\)");
+    private static final Pattern MD_MARK = Pattern.compile("(?m)^\\s{0,3}(#{1,6}|>|[-*+]|\\d+\\.)\\s+|\\*\\*|__|~~|`+|(?<![\\w*])\\*(?!\\s)|(?<!\\s)\\*(?![\\w*])");
+    private static final Pattern SPACE = Pattern.compile("\\s+");
+
+    private SnippetUtil() {
+    }
+
+    public static String of(String content) {
+        return of(content, DEFAULT_LENGTH);
+    }
+
+    // 평문 앞 maxLength자 (잘린 경우 끝에 "…"), 내용이 없으면 null
+    public static String of(String content, int maxLength) {
+        if (content == null || content.isEmpty()) {
+            return null;
+        }
+        String text = SCRIPT.matcher(content).replaceAll(" ");
+        text = BLOCK_TAG.matcher(text).replaceAll(" "); // 줄이 바뀌는 태그는 공백, 글자 단위 태그는 그냥 제거
+        text = TAG.matcher(text).replaceAll("");
+        text = MD_IMAGE.matcher(text).replaceAll(" ");
+        text = MD_LINK.matcher(text).replaceAll("$1");
+        text = MD_MARK.matcher(text).replaceAll("");
+        text = text.replace("&nbsp;", " ").replace("&lt;", "<").replace("&gt;", ">")
+                   .replace("&quot;", "\"").replace("&#39;", "'").replace("&amp;", "&");
+        text = SPACE.matcher(text).replaceAll(" ").trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        if (text.codePointCount(0, text.length()) <= maxLength) {
+            return text;
+        }
+        return text.substring(0, text.offsetByCodePoints(0, maxLength)).trim() + "…";
+    }
+}
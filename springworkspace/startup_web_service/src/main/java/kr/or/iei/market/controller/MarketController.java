@@ -2,6 +2,10 @@ package kr.or.iei.market.controller;
 
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -18,15 +22,25 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import kr.or.iei.common.annotation.NoTokenCheck;
 import kr.or.iei.common.dto.ResponseDTO;
+import kr.or.iei.common.service.BlobStore;
+import kr.or.iei.common.service.UniqueViewService;
+import kr.or.iei.common.util.FileDownloadUtil;
 import kr.or.iei.common.util.FileUtil;
+import kr.or.iei.common.util.HotFileResourceResolver;
+import kr.or.iei.common.util.JwtUtils;
+import kr.or.iei.common.exception.CommonException;
 import kr.or.iei.market.model.dto.MarketFile;
+import kr.or.iei.market.model.service.MarketImageService;
 import kr.or.iei.market.model.service.MarketService;
 import kr.or.iei.member.model.dto.Market;
 
@@ -39,7 +53,19 @@ public class MarketController {
 	private MarketService service;
 	
 	@Autowired
-	private FileUtil fileUtil;
+	private UniqueViewService uniqueViewService;
+	
+	@Autowired
+	private BlobStore blobStore; //첨부파일 저장소 (같은 내용은 1번만 저장)
+	
+	@Autowired
+	private MarketImageService imageService; //이미지 축소본 생성
+	
+	@Autowired
+	private HotFileResourceResolver hotFileResolver; //업로드 이미지 메모리 캐시 (/market/postFile/**)
+	
+	@Autowired
+	private JwtUtils jwtUtils;
 	
 	@Value("${file.uploadPath}")
 	private String uploadPath; //C:/Start_Support_Img/market
@@ -63,6 +89,54 @@ public class MarketController {
 		return new ResponseEntity<ResponseDTO>(res, res.getHttpStatus());
 	}
 	
+	//인기 마켓글 조회
+	@GetMapping("/hot")
+	@NoTokenCheck
+	public ResponseEntity<ResponseDTO> selectHotMarketList(@RequestParam(defaultValue = "12") int limit){
+		ResponseDTO res= new ResponseDTO(HttpStatus.INTERNAL_SERVER_ERROR,"인기 마켓글 조회 중 오류가 발생하였습니다",null,"error");
+		try {
+			List<Map<String, Object>> hotList=service.selectHotMarketList(limit);
+			res = new ResponseDTO(HttpStatus.OK,"", hotList, "");
+		}catch(Exception e) {
+			e.printStackTrace();
+		}
+		
+		return new ResponseEntity<ResponseDTO>(res, res.getHttpStatus());
+	}
+	
+	//이미지 응답 통계 (관리자) : 업로드 이미지 메모리 캐시 적중률, 축소본 생성 현황
+	@GetMapping("/admin/metrics")
+	public ResponseEntity<Map<String, Object>> selectImageMetrics(@RequestHeader("Authorization") String token) {
+		if(jwtUtils.getMemberLevelFromToken(token) != 1) {
+			return ResponseEntity.status(403).build();
+		}
+		Map<String, Object> metrics = new HashMap<>();
+		metrics.put("fileCache", hotFileResolver.stats());
+		metrics.put("image", imageService.stats());
+		return ResponseEntity.ok(metrics);
+	}
+	
+	//마켓 이미지 축소본 (variant : thumb - 목록 카드, detail - 상세 화면), 없으면 생성 후 응답
+	@GetMapping("/image/{variant}")
+	@NoTokenCheck
+	public void selectMarketImage(@PathVariable String variant, @RequestParam String file,
+								  HttpServletRequest request, HttpServletResponse response) throws IOException {
+		if(!MarketImageService.THUMB.equals(variant) && !MarketImageService.DETAIL.equals(variant)) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		Path image = imageService.resolve(file, variant);
+		if(image == null) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		BasicFileAttributes attrs = Files.readAttributes(image, BasicFileAttributes.class);
+		long lastModified = attrs.lastModifiedTime().toMillis();
+		String etag = "W/\"" + Long.toHexString(attrs.size()) + "-" + Long.toHexString(lastModified) + "\"";
+		String contentType = image.getFileName().toString().endsWith("_" + variant + ".jpg") ? "image/jpeg" : FileUtil.contentType(file);
+		FileDownloadUtil.send(request, response, image, attrs.size(), lastModified, etag, contentType, null, "public, max-age=86400");
+	}
+	
 	//마켓글 작성
 	@PostMapping
 	public ResponseEntity<ResponseDTO> insertMarket(@ModelAttribute MultipartFile[] marketFile,
@@ -80,7 +154,7 @@ public class MarketController {
 				for(int i=0; i<marketFile.length;i++) {
 					MultipartFile mFile=marketFile[i];//첨부파일 1개
 					
-					String filePath=fileUtil.uploadFile(mFile, "/postFile/"); //파일 업로드
+					String filePath=blobStore.store(mFile, true); //파일 업로드 (저장소 경로 ab/cd/<해시>.확장자)
 					MarketFile file = new MarketFile();
 					file.setFileName(mFile.getOriginalFilename()); //사용자가 업로드한 실제 파일명
 					file.setFilePath(filePath);					   //서버 저장 파일명
@@ -99,9 +173,14 @@ public class MarketController {
 			int result = service.insertMarket(market, fileList);
 			
 			if(result>0) {
+				for(MarketFile file : fileList) {
+					imageService.generateAsync(file.getFilePath()); //축소본 미리 생성
+				}
 				res= new ResponseDTO(HttpStatus.OK,"게시글이 등록되었습니다",true,"success");
 			}
 			
+		}catch(CommonException e) {
+			throw e; //업로드 제한(크기/형식) 오류는 그대로 응답
 		}catch(Exception e) {
 			e.printStackTrace();
 		}
@@ -111,10 +190,12 @@ public class MarketController {
 	//마켓글 1개 상세조회
 	@GetMapping("/{marketNo}")
 	@NoTokenCheck
-	public ResponseEntity<ResponseDTO> selectOneMarket(@PathVariable int marketNo){
+	public ResponseEntity<ResponseDTO> selectOneMarket(@PathVariable int marketNo, @RequestParam(defaultValue = "true") boolean view,
+													   @RequestHeader(value = "Authorization", required = false) String token,
+													   HttpServletRequest request){
 		ResponseDTO res= new ResponseDTO(HttpStatus.INTERNAL_SERVER_ERROR,"게시글 상세정보 조회 중 오류가 발생하였습니다",null,"error");
 		try {
-			Map<String, Object> marketData =service.selectOneMarket(marketNo);
+			Map<String, Object> marketData =service.selectOneMarket(marketNo, view, view ? uniqueViewService.viewerKey(token, request) : null);
 			
 			
 			System.out.println("marketData = " + marketData);
@@ -138,13 +219,8 @@ public class MarketController {
 			if(market!=null) {
 				List<MarketFile> delFileList = market.getFileList();
 				if(delFileList != null) {
-					String savePath= uploadPath +"/postFile/";
 					for(MarketFile m : delFileList) {
-						File file = new File(savePath + m.getFilePath().substring(0,8) + File.separator + m.getFilePath());
-		
-						if(file.exists()) {
-							file.delete();
-						}
+						deleteStoredFile(m.getFilePath());
 					}
 				}
 				res= new ResponseDTO(HttpStatus.OK,"게시글이 삭제되었습니다",true,"success");
@@ -189,7 +265,7 @@ public class MarketController {
 				file.setFileType(fileType[i]);					//new old 이미지 여부
 				
                 if(fileType[i].equals("new")) {//새롭게 추가하는 이미지 일때 
-                	String filePath=fileUtil.uploadFile(marketFile[newFileIndex], "/postFile/"); //파일 업로드
+                	String filePath=blobStore.store(marketFile[newFileIndex], true); //파일 업로드
                 	file.setFilePath(filePath);	//서버 저장 파일명
                 	file.setFileName(marketFile[newFileIndex].getOriginalFilename()); //사용자가 업로드한 실제 파일명
                 	newFileIndex++;
@@ -209,18 +285,18 @@ public class MarketController {
 			
 			//삭제할 파일이 있는 경우 저장된 사진 지워줌
 			if(delFileList != null) {
-				String savePath= uploadPath + "/postFile/";
-				
 				for(int i=0; i<delFileList.size();i++) {
-					MarketFile delFile = delFileList.get(i);
-					
-					File file= new File(savePath +delFile.getFilePath().substring(0,8)+File.separator+delFile.getFilePath());
-					if(file.exists()) {
-						file.delete();
-					}
+					deleteStoredFile(delFileList.get(i).getFilePath());
+				}
+			}
+			for(MarketFile file : allFileList) {
+				if("new".equals(file.getFileType())) {
+					imageService.generateAsync(file.getFilePath()); //새로 추가한 이미지 축소본 미리 생성
 				}
 			}
 			res=new ResponseDTO(HttpStatus.OK,"게시글이 정상적으로 수정 되었습니다",true, "success");
+		}catch(CommonException e) {
+			throw e; //업로드 제한(크기/형식) 오류는 그대로 응답
 		}catch(Exception e) {
 			e.printStackTrace();
 		}
@@ -228,4 +304,17 @@ public class MarketController {
 		return new ResponseEntity<ResponseDTO>(res, res.getHttpStatus());
 	}
 	
-}	
+	//첨부파일 실제 파일 삭제 : 저장소 파일은 다른 글이 참조하지 않을 때만, 이전 방식 파일(날짜 폴더/파일명)은 바로 삭제
+	private void deleteStoredFile(String filePath) {
+		if(BlobStore.isBlob(filePath)) {
+			blobStore.release(filePath);
+			return;
+		}
+		File file = new File(uploadPath + "/postFile/" + filePath.substring(0,8) + File.separator + filePath);
+		if(file.exists()) {
+			file.delete();
+		}
+		imageService.deleteVariants(filePath);
+	}
+	
+}
@@ -1,6 +1,7 @@
 package kr.or.iei.market.model.dao;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
 
@@ -35,6 +36,8 @@ public interface MarketDao {
 
 	void updateMarketFile(MarketFile file);
 
+	int updateReadCounts(List<long[]> deltas);
+
 	
 
 }
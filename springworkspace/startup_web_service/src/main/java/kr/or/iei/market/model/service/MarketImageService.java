@@ -0,0 +1,271 @@
+package kr.or.iei.market.model.service;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.or.iei.common.service.BlobStore;
+import kr.or.iei.common.util.ImageResizer;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 마켓 이미지 축소본(thumb : 목록 카드, detail : 상세 화면)
+ * - 축소본은 원본 옆에 "<원본 이름(확장자 제외)>_<종류>.jpg"로 저장 (JPEG, EXIF 제거)
+ * - 등록/수정 직후 작업 스레드(market.image.workers개, 대기열 market.image.queue개)에서 미리 생성, 대기열이 차면 버림 → 첫 요청 때 생성
+ * - 요청 시 축소본이 없으면 그 자리에서 생성 (같은 파일은 1번만 생성, 동시 요청은 결과를 기다림)
+ * - 실제 축소 작업은 전체에서 동시에 market.image.concurrency개까지 (미리 생성 + 요청 시 생성 합산)
+ *   요청 시 생성이 market.image.waitMillis 안에 차례를 얻지 못하면 원본을 그대로 응답 (몰려도 CPU를 다 쓰지 않도록)
+ * - 읽을 수 없는 형식(WEBP 등)이나 생성 실패 시 원본 사용
+ */
+@Service
+@Slf4j
+public class MarketImageService {
+
+    public static final String THUMB = "thumb";
+    public static final String DETAIL = "detail";
+
+    // 이전 방식 파일명 : 날짜(yyyyMMdd...)로 시작, 경로 구분자 없음
+    private static final Pattern LEGACY_NAME = Pattern.compile("\\d{8}[^/\\\\]*");
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Value("${file.uploadPath}")
+    private String uploadPath;
+
+    @Value("${market.image.thumbSize:480}")
+    private int thumbSize;
+
+    @Value("${market.image.detailSize:1280}")
+    private int detailSize;
+
+    @Value("${market.image.quality:0.82}")
+    private float quality;
+
+    @Value("${market.image.workers:2}")
+    private int workers;
+
+    @Value("${market.image.queue:200}")
+    private int queueSize;
+
+    @Value("${market.image.concurrency:2}")
+    private int concurrency;
+
+    @Value("${market.image.waitMillis:2000}")
+    private long waitMillis;
+
+    private ThreadPoolExecutor executor;
+    private Semaphore permits;
+    private final ConcurrentHashMap<Path, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+    // 생성할 수 없었던 축소본 (읽을 수 없는 형식 등) : 요청마다 다시 디코딩하지 않도록 기억 (최대 10000개)
+    private final Set<Path> unavailable = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();   // 대기열이 차서 미리 생성하지 못한 파일
+    private final LongAdder fallback = new LongAdder();  // 차례를 얻지 못해 원본으로 응답
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(concurrency);
+        AtomicInteger seq = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueSize), r -> {
+            Thread t = new Thread(r, "market-image-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, (r, e) -> dropped.increment());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // 목록/상세에서 쓸 축소본 URL (서버 주소 제외)
+    public static String variantUrl(String filePath, String variant) {
+        if (filePath == null) {
+            return null;
+        }
+        return "/market/image/" + variant + "?file=" + URLEncoder.encode(filePath, StandardCharsets.UTF_8);
+    }
+
+    // 등록/수정 직후 : 두 종류 모두 미리 생성 (비동기)
+    public void generateAsync(String filePath) {
+        if (original(filePath) == null) {
+            return;
+        }
+        executor.execute(() -> {
+            for (String variant : new String[] {THUMB, DETAIL}) {
+                try {
+                    ensure(filePath, variant, -1);
+                } catch (Exception e) {
+                    log.warn("축소본 생성 실패: {} {} ({})", filePath, variant, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /*
+     * 응답할 파일 : 축소본 (없으면 생성), 생성할 수 없거나 차례를 얻지 못하면 원본
+     * - 원본도 없거나 잘못된 경로면 null
+     */
+    public Path resolve(String filePath, String variant) {
+        Path original = original(filePath);
+        if (original == null || !Files.isRegularFile(original)) {
+            return null;
+        }
+        try {
+            if (ensure(filePath, variant, waitMillis)) {
+                return variantPath(original, variant);
+            }
+        } catch (Exception e) {
+            log.warn("축소본 생성 실패: {} {} ({})", filePath, variant, e.getMessage());
+        }
+        return original;
+    }
+
+    // 원본 삭제 시 축소본도 삭제 (이전 방식 파일용, 저장소 파일은 BlobStore가 함께 삭제)
+    public void deleteVariants(String filePath) {
+        Path original = original(filePath);
+        if (original == null) {
+            return;
+        }
+        String base = baseName(original);
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(original.getParent(), base + "_*.jpg")) {
+            for (Path p : ds) {
+                Files.deleteIfExists(p);
+            }
+        } catch (IOException e) {
+            log.warn("축소본 삭제 실패: {} ({})", filePath, e.getMessage());
+        }
+    }
+
+    /*
+     * 축소본이 있으면 true, 없으면 생성 (같은 파일은 동시에 1번만)
+     * - waitMillis < 0 : 차례가 올 때까지 대기 (작업 스레드), 그 외 : 시간 안에 차례를 얻지 못하면 false
+     */
+    private boolean ensure(String filePath, String variant, long waitMillis) throws Exception {
+        Path original = original(filePath);
+        Path target = variantPath(original, variant);
+        if (Files.isRegularFile(target)) {
+            return true;
+        }
+        if (unavailable.contains(target)) {
+            return false;
+        }
+
+        CompletableFuture<Boolean> created = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = inFlight.putIfAbsent(target, created);
+        if (running != null) {
+            if (waitMillis < 0) {
+                return running.get();
+            }
+            try {
+                return running.get(waitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                fallback.increment();
+                return false;
+            }
+        }
+        try {
+            boolean acquired;
+            if (waitMillis < 0) {
+                permits.acquire();
+                acquired = true;
+            } else {
+                acquired = permits.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+            }
+            if (!acquired) {
+                fallback.increment();
+                created.complete(false);
+                return false;
+            }
+            try {
+                boolean ok = Files.isRegularFile(target)
+                        || ImageResizer.resize(original, target, THUMB.equals(variant) ? thumbSize : detailSize, quality);
+                if (ok) {
+                    generated.increment();
+                } else {
+                    failed.increment();
+                    markUnavailable(target);
+                }
+                created.complete(ok);
+                return ok;
+            } finally {
+                permits.release();
+            }
+        } catch (Exception e) {
+            failed.increment();
+            if (!(e instanceof InterruptedException)) {
+                markUnavailable(target);
+            }
+            created.complete(false);
+            throw e;
+        } finally {
+            inFlight.remove(target, created);
+        }
+    }
+
+    private void markUnavailable(Path target) {
+        if (unavailable.size() >= 10000) {
+            unavailable.clear();
+        }
+        unavailable.add(target);
+    }
+
+    // 저장 경로 → 원본 위치 (저장소 파일 / 이전 방식 날짜 폴더), 잘못된 경로면 null
+    private Path original(String filePath) {
+        if (BlobStore.isBlob(filePath)) {
+            return blobStore.resolve(filePath);
+        }
+        if (filePath != null && LEGACY_NAME.matcher(filePath).matches() && !filePath.contains("..")) {
+            return Paths.get(uploadPath, "postFile", filePath.substring(0, 8), filePath);
+        }
+        return null;
+    }
+
+    private static Path variantPath(Path original, String variant) {
+        return original.resolveSibling(baseName(original) + "_" + variant + ".jpg");
+    }
+
+    private static String baseName(Path original) {
+        String name = original.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+
+    // 통계 {generated, failed, dropped, fallback, queued, running}
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("generated", generated.sum());
+        stats.put("failed", failed.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("fallback", fallback.sum());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("running", concurrency - permits.availablePermits());
+        return stats;
+    }
+}
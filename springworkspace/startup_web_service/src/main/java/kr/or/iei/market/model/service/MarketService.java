@@ -2,12 +2,19 @@ package kr.or.iei.market.model.service;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
 import kr.or.iei.common.dto.PageInfo;
+import kr.or.iei.common.service.HotRankingService;
+import kr.or.iei.common.service.UniqueViewService;
+import kr.or.iei.common.service.ViewCountService;
 import kr.or.iei.common.util.PageUtil;
 import kr.or.iei.market.model.dao.MarketDao;
 import kr.or.iei.market.model.dto.MarketFile;
@@ -22,6 +29,27 @@ public class MarketService {
 	@Autowired
 	private PageUtil pageUtil;
 
+	@Autowired
+	private ViewCountService viewCountService;
+
+	@Autowired
+	private UniqueViewService uniqueViewService;
+
+	@Autowired
+	private HotRankingService hotRankingService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	//조회수 지연 반영 등록 : 500건씩 나눠 한 트랜잭션으로 반영
+	@PostConstruct
+	public void registerViewCounter() {
+		viewCountService.register("market", deltas -> transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 0; i < deltas.size(); i += 500) {
+				dao.updateReadCounts(deltas.subList(i, Math.min(i + 500, deltas.size())));
+			}
+		}));
+	}
 
 	public HashMap<String, Object> selectMarketList(int reqPage) {
 		int viewCnt =12;		// 한 페이지당 게시글 수 
@@ -32,6 +60,10 @@ public class MarketService {
 		
 		//게시글 목록
 		ArrayList<Market> marketList=dao.selectMarketList(pageInfo);
+		for(Market m : marketList) {
+			m.setReadCount(m.getReadCount() + viewCountService.pendingOf("market", m.getMarketNo()));
+			m.setThumbUrl(MarketImageService.variantUrl(m.getFilePath(), MarketImageService.THUMB)); //목록 카드는 축소본 사용
+		}
 		
 		HashMap<String, Object> marketMap=new HashMap<String, Object>();
 		marketMap.put("marketList", marketList);
@@ -57,14 +89,29 @@ public class MarketService {
 
 				result=dao.insertMarketFile(file);
 			}
+			hotRankingService.write(HotRankingService.MARKET, marketNo, hotSummary(market, fileList)); //인기글 작성 이벤트
 		}
 		
 		return result;
 	}
 
-	public Map<String, Object> selectOneMarket(int marketNo) {
+	//isView : 상세보기일 때만 조회수 증가 (수정 화면 조회는 제외), viewerKey : 고유 조회자 집계용 조회자 키
+	public Map<String, Object> selectOneMarket(int marketNo, boolean isView, String viewerKey) {
 		Market market=dao.selectOneMarket(marketNo); //게시글 1개 조회
+		if(market != null) {
+			if(isView) {
+				viewCountService.increment("market", marketNo); //DB에는 주기적으로 일괄 반영
+				if(viewerKey != null) {
+					uniqueViewService.record("market", marketNo, viewerKey);
+				}
+			}
+			market.setReadCount(market.getReadCount() + viewCountService.pendingOf("market", marketNo)); //아직 반영되지 않은 조회수 포함
+			market.setUniqueViews(uniqueViewService.uniqueViews("market", marketNo));
+		}
 		ArrayList<MarketFile> files = dao.selectFileByMarketNo(marketNo);
+		if(market != null && isView) {
+			hotRankingService.view(HotRankingService.MARKET, marketNo, hotSummary(market, files)); //인기글 조회 이벤트
+		}
 		
 		Map<String, Object> marketData = new HashMap<String, Object>();
 		marketData.put("market", market);
@@ -79,6 +126,8 @@ public class MarketService {
 			//file은 cascade 설정되어있어 따로 삭제필요x
 			int result= dao.deleteMarket(marketNo);
 			if(result>0) { //DB에서 삭제 성공시 
+				uniqueViewService.remove("market", marketNo);
+				hotRankingService.remove(HotRankingService.MARKET, marketNo);
 				return market;
 			}else {
 				return null;
@@ -115,10 +164,46 @@ public class MarketService {
 				    }
 				}
 			}
+
+			//인기글 순위에 있으면 요약 정보 갱신
+			Market updated = dao.selectOneMarket(market.getMarketNo());
+			if(updated != null) {
+				hotRankingService.update(HotRankingService.MARKET, updated.getMarketNo(), hotSummary(updated, dao.selectFileByMarketNo(updated.getMarketNo())));
+			}
 		}
 		return delFileList;
 	}
-	
-	
-	
+
+	//인기 마켓글 목록 (메모리 순위에서 바로 조회)
+	public List<Map<String, Object>> selectHotMarketList(int limit) {
+		return hotRankingService.top(HotRankingService.MARKET, limit);
+	}
+
+	//인기글 목록에 보여줄 요약 정보 (목록 화면과 같은 항목, 썸네일은 메인 이미지 → 첫 이미지 순)
+	private Map<String, Object> hotSummary(Market market, List<MarketFile> files) {
+		String filePath = market.getFilePath();
+		if(filePath == null && files != null) {
+			for(MarketFile file : files) {
+				if("Y".equals(file.getIsMainFile())) {
+					filePath = file.getFilePath();
+					break;
+				}
+			}
+			if(filePath == null && !files.isEmpty()) {
+				filePath = files.get(0).getFilePath();
+			}
+		}
+		Map<String, Object> summary = new HashMap<String, Object>();
+		summary.put("marketNo", market.getMarketNo());
+		summary.put("userId", market.getUserId());
+		summary.put("marketType", market.getMarketType());
+		summary.put("marketTitle", market.getMarketTitle());
+		summary.put("marketDate", market.getMarketDate());
+		summary.put("marketStatus", market.getMarketStatus());
+		summary.put("price", market.getPrice());
+		summary.put("readCount", market.getReadCount());
+		summary.put("filePath", filePath);
+		summary.put("thumbUrl", MarketImageService.variantUrl(filePath, MarketImageService.THUMB));
+		return summary;
+	}
 }
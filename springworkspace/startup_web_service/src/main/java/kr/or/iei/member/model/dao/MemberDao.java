@@ -52,6 +52,10 @@ public interface MemberDao {
 	// 마켓글 삭제
 	int deleteMarket(int marketNo);
 	
+	// 게시글/마켓글 첨부파일 경로
+	List<String> selectPostFilePaths(int postNo);
+	List<String> selectMarketFilePaths(int marketNo);
+	
 	// 게시글 단건 조회
 	Post selectOnePost(int postNo);
 	
@@ -19,11 +19,13 @@ public class Market {
 	private String marketContent;
 	private String marketDate;
 	private int readCount;
+	private long uniqueViews; // 고유 조회자 수 (추정치, 상세 조회 시에만 채움)
 	private int reportCount;
 	private Integer price;  // Integer로 선언 (null 허용)
 	private String marketStatus;
 	
 	private String filePath; // 썸네일 표기를 위한 join 해오기 위함
+	private String thumbUrl; // 목록 카드용 축소본 URL (서버 주소 제외)
 	private List<MarketFile> fileList; // 게시글에 대한 파일 정보
 	private int [] delMarketFileNo; //삭제 파일 번호 배열 저장 변수
 	
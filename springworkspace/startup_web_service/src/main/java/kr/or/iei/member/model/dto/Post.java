@@ -16,11 +16,14 @@ public class Post {
 	private String postType;
 	private String postTitle;
 	private String postContent;
+	private String postSnippet; // 목록용 본문 미리보기 (등록/수정 시 생성)
 	private Date postDate;
 	private int readCount;
+	private long uniqueViews; // 고유 조회자 수 (추정치, 상세 조회 시에만 채움)
 	private String postStatus;
 	private int reportCount;
 	private String userName;  // 조인해서 가져올 작성자 이름
 	private int userNo;       // 작성자 번호 (권한 체크용)
 	private List<PostFile> attachedFiles;  // 첨부파일 리스트
+	private int fileCount;    // 첨부파일 수 (목록 조회 시)
 } 
\ No newline at end of file
@@ -12,4 +12,6 @@ public class PostFile {
     private int postNo;
     private String fileName;
     private String filePath;
+    private String contentType; // 업로드 시 파일명으로 정한 MIME 타입
+    private long fileSize;      // byte
 } 
\ No newline at end of file
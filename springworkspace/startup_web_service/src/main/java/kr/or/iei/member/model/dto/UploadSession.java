@@ -0,0 +1,22 @@
+package kr.or.iei.member.model.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class UploadSession {
+    private String uploadId;
+    private String fileName;
+    private long fileSize;               // byte
+    private int chunkSize;               // 조각 1개 크기 (마지막 조각만 더 작을 수 있음)
+    private int totalChunks;
+    private List<Integer> receivedChunks; // 받은 조각 번호 (이어 올릴 때 나머지만 전송)
+    private boolean complete;            // 조립 완료 → 게시글 등록/수정 시 uploadId로 첨부
+    private String contentType;
+    private String filePath;             // 저장소 경로 (첨부 시 서버 내부에서만 사용, 응답에는 포함하지 않음)
+}
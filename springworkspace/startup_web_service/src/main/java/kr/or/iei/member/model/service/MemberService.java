@@ -10,6 +10,12 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import kr.or.iei.common.service.BlobStore;
+import kr.or.iei.common.service.CountService;
+import kr.or.iei.common.service.HotRankingService;
+import kr.or.iei.post.model.search.PostSearchService;
+import kr.or.iei.post.model.service.PostDetailCache;
+import kr.or.iei.post.model.service.PostListCache;
 import kr.or.iei.common.service.EmailService;
 import kr.or.iei.common.util.JwtUtils;
 import kr.or.iei.member.model.dao.MemberDao;
@@ -34,6 +40,24 @@ public class MemberService {
 	@Autowired
 	private EmailService emailService;
 
+	@Autowired
+	private CountService countService;
+
+	@Autowired
+	private HotRankingService hotRankingService;
+
+	@Autowired
+	private PostListCache postListCache;
+
+	@Autowired
+	private PostDetailCache postDetailCache;
+
+	@Autowired
+	private PostSearchService postSearchService;
+
+	@Autowired
+	private BlobStore blobStore;
+
 	// 아이디 중복 체크
 	public int chkUserId(String userId) {
 		return dao.chkUserId(userId);
@@ -257,11 +281,21 @@ public class MemberService {
 				
 				// 게시글 타입에 따라 삭제 처리
 				if ("post".equals(report.getPostType())) {
-					// 게시글 삭제
+					// 게시글 삭제 (첨부파일 행은 CASCADE, 저장소 파일은 커밋 후 참조가 없을 때 삭제)
+					List<String> filePaths = dao.selectPostFilePaths(report.getPostId());
 					dao.deletePost(report.getPostId());
+					releaseFiles(filePaths);
+					countService.invalidate("post");
+					hotRankingService.remove("post", report.getPostId());
+					postListCache.invalidateAll(); // 신고 정보에는 게시판 구분이 없으므로 전체 무효화
+					postDetailCache.evict(report.getPostId());
+					postSearchService.remove(report.getPostId());
 				} else if ("market".equals(report.getPostType())) {
-					// 마켓글 삭제
+					// 마켓글 삭제 (이미지 행은 CASCADE, 저장소 파일은 커밋 후 참조가 없을 때 삭제)
+					List<String> filePaths = dao.selectMarketFilePaths(report.getPostId());
 					dao.deleteMarket(report.getPostId());
+					releaseFiles(filePaths);
+					hotRankingService.remove(HotRankingService.MARKET, report.getPostId());
 				}
 				
 				// 게시글이 삭제되었으므로 작성자의 누적 신고 횟수 증가
@@ -289,6 +323,13 @@ public class MemberService {
 		return result;
 	}
 	
+	// 삭제된 글의 저장소 파일 참조 해제 (트랜잭션 안이므로 BlobStore가 커밋 후 처리)
+	private void releaseFiles(List<String> filePaths) {
+		for (String filePath : filePaths) {
+			blobStore.release(filePath);
+		}
+	}
+	
 	// 게시글/마켓글 작성자 ID 조회
 	private String getPostWriterId(String postType, int postId) {
 		if ("post".equals(postType)) {
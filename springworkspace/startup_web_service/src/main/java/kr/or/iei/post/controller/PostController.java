@@ -4,24 +4,31 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import kr.or.iei.common.annotation.NoTokenCheck;
+import kr.or.iei.common.exception.CommonException;
+import kr.or.iei.common.service.BlobStore;
+import kr.or.iei.common.service.ChunkUploadService;
+import kr.or.iei.common.service.UniqueViewService;
 import kr.or.iei.member.model.dto.Post;
 import kr.or.iei.member.model.dto.PostFile;
 import kr.or.iei.member.model.dto.Report;
+import kr.or.iei.member.model.dto.UploadSession;
 import kr.or.iei.post.model.service.PostService;
+import kr.or.iei.common.util.FileDownloadUtil;
+import kr.or.iei.common.util.FileUtil;
 import kr.or.iei.common.util.JwtUtils;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -38,6 +45,12 @@ public class PostController {
     
     @Autowired
     private JwtUtils jwtUtils;
+
+    @Autowired
+    private UniqueViewService uniqueViewService;
+    
+    @Autowired
+    private ChunkUploadService chunkUploadService;
     
     // 테스트 엔드포인트 (서버 연결 확인용)
     @GetMapping("/test")
@@ -60,12 +73,46 @@ public class PostController {
         return ResponseEntity.ok(result);
     }
     
+    // 게시글 검색 (비회원도 가능)
+    @GetMapping("/search/{postType}")
+    @NoTokenCheck
+    @Operation(summary = "게시글 검색", description = "게시판 안에서 제목/본문으로 게시글을 검색합니다 (BM25 순, 일치 부분 강조)")
+    public ResponseEntity<Map<String, Object>> searchPost(
+            @PathVariable String postType,
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "1") int reqPage) {
+        return ResponseEntity.ok(postService.searchPost(postType, query, reqPage));
+    }
+    
+    // 인기글 조회 (비회원도 가능)
+    @GetMapping("/hot/{postType}")
+    @NoTokenCheck
+    @Operation(summary = "인기글 조회", description = "조회/작성/신고 이벤트로 계산한 시간 감쇠 점수 순 인기글을 조회합니다")
+    public ResponseEntity<List<Map<String, Object>>> getHotPostList(
+            @PathVariable String postType,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(postService.selectHotPostList(postType, limit));
+    }
+    
+    // 목록 캐시 통계 (관리자만 가능)
+    @GetMapping("/admin/metrics")
+    @Operation(summary = "목록 캐시 통계", description = "게시글 목록/개수/상세 캐시의 적중률과 첨부파일 업로드 통계를 조회합니다")
+    public ResponseEntity<Map<String, Object>> getListCacheMetrics(
+            @RequestHeader("Authorization") String token) {
+        if(jwtUtils.getMemberLevelFromToken(token) != 1) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(postService.selectCacheStats());
+    }
+    
     // 게시글 상세 조회 (비회원도 가능)
     @GetMapping("/view/{postNo}")
     @NoTokenCheck
     @Operation(summary = "게시글 상세 조회", description = "게시글 상세 정보를 조회합니다")
-    public ResponseEntity<Post> getPost(@PathVariable int postNo) {
-        Post post = postService.selectOnePost(postNo, true);
+    public ResponseEntity<Post> getPost(@PathVariable int postNo,
+            @RequestHeader(value = "Authorization", required = false) String token,
+            HttpServletRequest request) {
+        Post post = postService.selectOnePost(postNo, true, uniqueViewService.viewerKey(token, request));
         if(post != null) {
             return ResponseEntity.ok(post);
         }
@@ -80,6 +127,7 @@ public class PostController {
             @RequestParam("postContent") String postContent,
             @RequestParam("postType") String postType,
             @RequestParam(value = "attachedFiles", required = false) MultipartFile[] attachedFiles,
+            @RequestParam(value = "uploadIds", required = false) String[] uploadIds, // 나눠 올리기로 완료된 파일
             @RequestHeader(value = "Authorization", required = false) String token) {
         
         System.out.println("=== 게시글 등록 요청 ===");
@@ -128,7 +176,7 @@ public class PostController {
         post.setPostContent(postContent);
         post.setPostStatus("public");
         
-        int result = postService.insertPost(post, attachedFiles);
+        int result = postService.insertPost(post, attachedFiles, uploadIds);
         return ResponseEntity.ok(result);
     }
     
@@ -142,6 +190,7 @@ public class PostController {
             @RequestParam("postType") String postType,
             @RequestParam(value = "attachedFiles", required = false) MultipartFile[] attachedFiles,
             @RequestParam(value = "deletedFiles", required = false) String deletedFiles,
+            @RequestParam(value = "uploadIds", required = false) String[] uploadIds, // 나눠 올리기로 완료된 파일
             @RequestHeader("Authorization") String token) {
         
         System.out.println("=== 게시글 수정 요청 ===");
@@ -159,20 +208,20 @@ public class PostController {
             System.out.println("토큰에서 추출된 userId: " + userId);
             
             // 작성자 확인
-            Post originalPost = postService.selectOnePost(postNo, false);
-            if(originalPost == null) {
+            String writerId = postService.selectPostWriter(postNo);
+            if(writerId == null) {
                 System.out.println("원본 게시글이 존재하지 않음");
                 return ResponseEntity.status(404).body(0);
             }
             
-            System.out.println("원본 게시글 작성자: " + originalPost.getUserId());
+            System.out.println("원본 게시글 작성자: " + writerId);
             System.out.println("현재 사용자: " + userId);
             
             // 작성자 본인이거나 관리자인지 확인
             int userLevel = jwtUtils.getMemberLevelFromToken(token);
             System.out.println("사용자 레벨: " + userLevel);
             
-            if(!originalPost.getUserId().equals(userId) && userLevel != 1) {
+            if(!writerId.equals(userId) && userLevel != 1) {
                 System.out.println("수정 권한이 없음");
                 return ResponseEntity.status(403).body(0);
             }
@@ -187,11 +236,13 @@ public class PostController {
             
             System.out.println("서비스 호출 전 - Post 객체: " + post);
             
-            int result = postService.updatePost(post, attachedFiles, deletedFiles);
+            int result = postService.updatePost(post, attachedFiles, deletedFiles, uploadIds);
             System.out.println("게시글 수정 결과: " + result);
             
             return ResponseEntity.ok(result);
             
+        } catch (CommonException e) {
+            throw e; // 업로드 제한(크기/형식) 오류는 그대로 응답
         } catch (Exception e) {
             System.out.println("게시글 수정 중 오류 발생: " + e.getMessage());
             e.printStackTrace();
@@ -216,20 +267,20 @@ public class PostController {
             System.out.println("토큰에서 추출된 userId: " + userId);
             
             // 게시글 존재 여부 및 작성자 확인
-            Post originalPost = postService.selectOnePost(postNo, false);
-            if(originalPost == null) {
+            String writerId = postService.selectPostWriter(postNo);
+            if(writerId == null) {
                 System.out.println("삭제할 게시글이 존재하지 않음");
                 return ResponseEntity.status(404).body(0);
             }
             
-            System.out.println("원본 게시글 작성자: " + originalPost.getUserId());
+            System.out.println("원본 게시글 작성자: " + writerId);
             System.out.println("현재 사용자: " + userId);
             
             // 작성자 본인이거나 관리자인지 확인
             int userLevel = jwtUtils.getMemberLevelFromToken(token);
             System.out.println("사용자 레벨: " + userLevel);
             
-            if(!originalPost.getUserId().equals(userId) && userLevel != 1) {
+            if(!writerId.equals(userId) && userLevel != 1) {
                 System.out.println("삭제 권한이 없음");
                 return ResponseEntity.status(403).body(0);
             }
@@ -246,40 +297,85 @@ public class PostController {
         }
     }
     
-    // 파일 다운로드 (비회원도 가능)
+    // 나눠 올리기 시작 (큰 첨부파일) : 응답의 chunkSize/totalChunks대로 조각을 나눠 전송
+    @PostMapping("/upload")
+    @Operation(summary = "나눠 올리기 시작", description = "첨부파일 업로드 세션을 만듭니다 (조각 크기/개수 반환)")
+    public ResponseEntity<UploadSession> createUpload(
+            @RequestParam("fileName") String fileName,
+            @RequestParam("fileSize") long fileSize,
+            @RequestHeader("Authorization") String token) throws IOException {
+        return ResponseEntity.ok(chunkUploadService.create(jwtUtils.getMemberIdFromToken(token), fileName, fileSize));
+    }
+    
+    // 나눠 올리기 진행 상태 : 이어 올릴 때 receivedChunks에 없는 조각만 다시 전송
+    @GetMapping("/upload/{uploadId}")
+    @Operation(summary = "나눠 올리기 상태", description = "받은 조각 번호와 완료 여부를 조회합니다")
+    public ResponseEntity<UploadSession> selectUpload(
+            @PathVariable String uploadId,
+            @RequestHeader("Authorization") String token) {
+        return ResponseEntity.ok(chunkUploadService.status(uploadId, jwtUtils.getMemberIdFromToken(token)));
+    }
+    
+    // 조각 전송 (본문 = 조각 바이트, 순서 무관/동시 전송 가능, 같은 조각을 다시 보내면 덮어씀)
+    @PutMapping("/upload/{uploadId}/{index}")
+    @Operation(summary = "조각 전송", description = "index번째 조각을 전송합니다 (application/octet-stream)")
+    public ResponseEntity<UploadSession> uploadChunk(
+            @PathVariable String uploadId,
+            @PathVariable int index,
+            @RequestHeader("Authorization") String token,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(chunkUploadService.writeChunk(uploadId, jwtUtils.getMemberIdFromToken(token), index,
+                request.getContentLengthLong(), request.getInputStream()));
+    }
+    
+    // 나눠 올리기 완료 : 모든 조각을 받았으면 첨부파일로 저장, 이후 게시글 등록/수정 시 uploadIds로 첨부
+    @PostMapping("/upload/{uploadId}/complete")
+    @Operation(summary = "나눠 올리기 완료", description = "받은 조각을 하나의 첨부파일로 저장합니다")
+    public ResponseEntity<UploadSession> completeUpload(
+            @PathVariable String uploadId,
+            @RequestHeader("Authorization") String token) throws IOException {
+        return ResponseEntity.ok(chunkUploadService.complete(uploadId, jwtUtils.getMemberIdFromToken(token)));
+    }
+    
+    // 나눠 올리기 취소
+    @DeleteMapping("/upload/{uploadId}")
+    @Operation(summary = "나눠 올리기 취소", description = "업로드 세션과 받은 조각을 삭제합니다")
+    public ResponseEntity<Void> deleteUpload(
+            @PathVariable String uploadId,
+            @RequestHeader("Authorization") String token) {
+        chunkUploadService.abort(uploadId, jwtUtils.getMemberIdFromToken(token));
+        return ResponseEntity.noContent().build();
+    }
+    
+    // 파일 다운로드 (비회원도 가능) : 이어받기(Range), 변경 없으면 304
     @GetMapping("/download/{fileNo}")
     @NoTokenCheck
-    @Operation(summary = "파일 다운로드", description = "게시글 첨부파일을 다운로드합니다")
-    public ResponseEntity<Resource> downloadFile(@PathVariable int fileNo) {
+    @Operation(summary = "파일 다운로드", description = "게시글 첨부파일을 다운로드합니다 (Range/ETag 지원)")
+    public void downloadFile(@PathVariable int fileNo, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        PostFile postFile = postService.selectPostFile(fileNo);
+        if (postFile == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        
+        Path filePath = postService.postFileLocation(postFile.getFilePath());
+        BasicFileAttributes attrs;
         try {
-            PostFile postFile = postService.selectPostFile(fileNo);
-            if (postFile == null) {
-                return ResponseEntity.notFound().build();
-            }
-            
-            String uploadPath = System.getProperty("user.dir") + "/uploads/post/";
-            Path filePath = Paths.get(uploadPath + postFile.getFilePath());
-            Resource resource = new UrlResource(filePath.toUri());
-            
-            if (resource.exists() && resource.isReadable()) {
-                String contentType = Files.probeContentType(filePath);
-                if (contentType == null) {
-                    contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
-                }
-                
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .header(HttpHeaders.CONTENT_DISPOSITION, 
-                               "attachment; filename=\"" + postFile.getFileName() + "\"")
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
-            
-        } catch (IOException e) {
-            e.printStackTrace();
-            return ResponseEntity.internalServerError().build();
+            attrs = Files.readAttributes(filePath, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
+        
+        // 저장소 파일은 경로의 내용 해시가 곧 강한 ETag, 이전 방식 파일은 크기+수정 시각
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        String etag = BlobStore.isBlob(postFile.getFilePath())
+                ? "\"" + filePath.getFileName().toString().replaceFirst("\\..*$", "") + "\""
+                : "W/\"" + Long.toHexString(attrs.size()) + "-" + Long.toHexString(lastModified) + "\"";
+        String contentType = postFile.getContentType() != null ? postFile.getContentType() : FileUtil.contentType(postFile.getFileName());
+        
+        FileDownloadUtil.send(request, response, filePath, attrs.size(), lastModified, etag, contentType,
+                              postFile.getFileName(), "private, no-cache");
     }
     
     // 신고 등록 (로그인 사용자만 가능)
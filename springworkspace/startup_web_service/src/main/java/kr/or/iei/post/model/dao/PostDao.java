@@ -21,8 +21,26 @@ public interface PostDao {
     // 게시글 상세 조회
     Post selectOnePost(@Param("postNo") int postNo);
     
-    // 조회수 증가
-    int updateReadCount(@Param("postNo") int postNo);
+    // 게시글 상세 + 첨부파일 (한 번의 조회)
+    Post selectPostDetail(@Param("postNo") int postNo);
+    
+    // 작성자 아이디
+    String selectPostWriter(@Param("postNo") int postNo);
+    
+    // 검색 색인 재구성용 공개 게시글 (번호순 페이지 단위)
+    List<Post> selectPostsForIndex(@Param("lastNo") int lastNo, @Param("limit") int limit);
+    
+    // 조회수 일괄 반영 ({게시글 번호, 증가분} 목록)
+    int updateReadCounts(List<long[]> deltas);
+    
+    // 미리보기 컬럼 존재 여부
+    int selectSnippetColumnCount();
+    
+    // 미리보기가 없는 게시글 (번호순 페이지 단위)
+    List<Post> selectPostsWithoutSnippet(@Param("lastNo") int lastNo, @Param("limit") int limit);
+    
+    // 미리보기 일괄 반영
+    int updatePostSnippets(List<Post> posts);
     
     // 게시글 등록
     int insertPost(Post post);
@@ -48,6 +66,15 @@ public interface PostDao {
     // 첨부파일 단건 조회
     PostFile selectPostFile(@Param("fileNo") int fileNo);
     
+    // 첨부파일 형식/크기 컬럼 존재 여부
+    int selectFileMetaColumnCount();
+    
+    // 형식/크기가 없는 첨부파일 (번호순 페이지 단위)
+    List<PostFile> selectPostFilesWithoutMeta(@Param("lastNo") int lastNo, @Param("limit") int limit);
+    
+    // 첨부파일 형식/크기 일괄 반영
+    int updatePostFileMetas(List<PostFile> files);
+    
     // 신고 등록
     int insertReport(Report report);
     
@@ -0,0 +1,331 @@
+package kr.or.iei.post.model.search;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * 게시글 전문 검색 역색인 (메모리)
+ * - 토큰 : 한글은 2글자 단위(bigram, 1글자 단어는 그대로), 영문/숫자는 단어 단위 소문자
+ * - 점수 : BM25 (k1 = 1.2, b = 0.75), 제목 토큰은 TITLE_BOOST배로 계산
+ * - 검색어의 모든 토큰을 포함한 글만 결과에 포함 (AND)
+ * - 글 단위 추가/교체/삭제, 읽기/쓰기 잠금으로 동시 접근 처리
+ */
+public class PostSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_BOOST = 3;
+
+    // 강조 표시용으로 보관하는 본문 최대 길이
+    public static final int STORED_TEXT_LENGTH = 5000;
+
+    // 검색 결과에 보여줄 글 정보
+    public static final class Doc {
+        final int postNo;
+        final String postType;
+        final String title;
+        final String text;
+        final String userId;
+        final String userName;
+        final Date postDate;
+        final Map<String, Integer> terms; // 토큰 → 가중 빈도
+        final int length;
+
+        Doc(int postNo, String postType, String title, String text, String userId, String userName, Date postDate,
+            Map<String, Integer> terms) {
+            this.postNo = postNo;
+            this.postType = postType;
+            this.title = title;
+            this.text = text;
+            this.userId = userId;
+            this.userName = userName;
+            this.postDate = postDate;
+            this.terms = terms;
+            int len = 0;
+            for (int tf : terms.values()) {
+                len += tf;
+            }
+            this.length = len;
+        }
+    }
+
+    // 검색 결과 한 건
+    public static final class Hit {
+        public final Doc doc;
+        public final double score;
+
+        Hit(Doc doc, double score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+
+    private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+    private final Map<Integer, Doc> docs = new HashMap<>();
+    private long totalLength;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 글 추가 (이미 있으면 교체), text : 평문 본문
+    public void put(int postNo, String postType, String title, String text, String userId, String userName, Date postDate) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String token : tokenize(title)) {
+            terms.merge(token, TITLE_BOOST, Integer::sum);
+        }
+        for (String token : tokenize(text)) {
+            terms.merge(token, 1, Integer::sum);
+        }
+        String stored = text == null ? "" : text.length() > STORED_TEXT_LENGTH ? text.substring(0, STORED_TEXT_LENGTH) : text;
+        Doc doc = new Doc(postNo, postType, title == null ? "" : title, stored, userId, userName, postDate, terms);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(postNo);
+            docs.put(postNo, doc);
+            totalLength += doc.length;
+            for (Map.Entry<String, Integer> e : terms.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), t -> new HashMap<>()).put(postNo, e.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int postNo) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(postNo);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(int postNo) {
+        Doc old = docs.remove(postNo);
+        if (old == null) {
+            return;
+        }
+        totalLength -= old.length;
+        for (String term : old.terms.keySet()) {
+            Map<Integer, Integer> list = postings.get(term);
+            if (list != null) {
+                list.remove(postNo);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /*
+     * 검색
+     * - postType 게시판 글 중 query의 모든 토큰을 포함한 글을 BM25 점수 내림차순으로 반환
+     */
+    public List<Hit> search(String postType, String query) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        List<Hit> hits = new ArrayList<>();
+        if (queryTerms.isEmpty()) {
+            return hits;
+        }
+
+        lock.readLock().lock();
+        try {
+            int n = docs.size();
+            if (n == 0) {
+                return hits;
+            }
+            double avgLength = (double) totalLength / n;
+
+            // 문서 수가 가장 적은 토큰부터 교집합
+            List<Map<Integer, Integer>> lists = new ArrayList<>();
+            for (String term : queryTerms) {
+                Map<Integer, Integer> list = postings.get(term);
+                if (list == null) {
+                    return hits;
+                }
+                lists.add(list);
+            }
+            lists.sort((x, y) -> Integer.compare(x.size(), y.size()));
+
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < lists.size(); i++) {
+                int df = lists.get(i).size();
+                idf[i] = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+            }
+
+            outer:
+            for (Map.Entry<Integer, Integer> e : lists.get(0).entrySet()) {
+                Doc doc = docs.get(e.getKey());
+                if (!doc.postType.equals(postType)) {
+                    continue;
+                }
+                double norm = K1 * (1 - B + B * doc.length / avgLength);
+                double score = 0;
+                for (int i = 0; i < lists.size(); i++) {
+                    Integer tf = i == 0 ? e.getValue() : lists.get(i).get(e.getKey());
+                    if (tf == null) {
+                        continue outer;
+                    }
+                    score += idf[i] * tf * (K1 + 1) / (tf + norm);
+                }
+                hits.add(new Hit(doc, score));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort((x, y) -> x.score != y.score ? Double.compare(y.score, x.score) : Integer.compare(y.doc.postNo, x.doc.postNo));
+        return hits;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * 토큰 분리
+     * - 글자/숫자가 아닌 문자로 나눈 뒤, 한글 구간은 bigram, 그 외 구간은 소문자 단어 그대로
+     * - 한글과 영문/숫자가 붙어 있으면(예: "3월", "AI창업") 문자 종류가 바뀌는 곳에서 나눔
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        int i = 0;
+        int len = text.length();
+        while (i < len) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                i++;
+                continue;
+            }
+            boolean hangul = isHangul(c);
+            int start = i;
+            while (i < len && Character.isLetterOrDigit(text.charAt(i)) && isHangul(text.charAt(i)) == hangul) {
+                i++;
+            }
+            if (hangul) {
+                if (i - start == 1) {
+                    tokens.add(text.substring(start, i));
+                } else {
+                    for (int j = start; j + 2 <= i; j++) {
+                        tokens.add(text.substring(j, j + 2));
+                    }
+                }
+            } else {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+            }
+        }
+        return tokens;
+    }
+
+    static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣') || (c >= 'ㄱ' && c <= 'ㆎ');
+    }
+
+    /*
+     * 강조 표시
+     * - text에서 query 토큰이 나오는 위치를 <mark>로 감싼 HTML (나머지는 이스케이프)
+     * - window > 0 이면 처음 일치한 위치 주변 window자만 잘라서 반환 (앞뒤 생략 시 "…")
+     */
+    public static String highlight(String text, String query, int window) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        // 길이가 바뀌지 않도록 글자 단위로 소문자 변환
+        char[] chars = text.toCharArray();
+        for (int k = 0; k < chars.length; k++) {
+            chars[k] = Character.toLowerCase(chars[k]);
+        }
+        String lower = new String(chars);
+        boolean[] marked = new boolean[text.length()];
+        int first = -1;
+        for (String token : new LinkedHashSet<>(tokenize(query))) {
+            int from = 0;
+            int at;
+            while ((at = lower.indexOf(token, from)) >= 0) {
+                for (int k = at; k < at + token.length(); k++) {
+                    marked[k] = true;
+                }
+                if (first < 0 || at < first) {
+                    first = at;
+                }
+                from = at + 1;
+            }
+        }
+
+        int start = 0;
+        int end = text.length();
+        if (window > 0 && text.length() > window) {
+            start = Math.max(0, (first < 0 ? 0 : first) - window / 4);
+            end = Math.min(text.length(), start + window);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        if (start > 0) {
+            sb.append('…');
+        }
+        boolean open = false;
+        for (int k = start; k < end; k++) {
+            if (marked[k] && !open) {
+                sb.append("<mark>");
+                open = true;
+            } else if (!marked[k] && open) {
+                sb.append("</mark>");
+                open = false;
+            }
+            char c = text.charAt(k);
+            switch (c) {
+                case '<': sb.append("&lt;"); break;
+                case '>': sb.append("&gt;"); break;
+                case '&': sb.append("&amp;"); break;
+                case '"': sb.append("&quot;"); break;
+                case '\'': sb.append("&#39;"); break;
+                default: sb.append(c);
+            }
+        }
+        if (open) {
+            sb.append("</mark>");
+        }
+        if (end < text.length()) {
+            sb.append('…');
+        }
+        return sb.toString();
+    }
+
+    // 결과 항목 → 응답 형태 (제목/본문 강조 포함)
+    public static Map<String, Object> toResult(Hit hit, String query, int snippetWindow) {
+        Doc d = hit.doc;
+        Map<String, Object> item = new HashMap<>();
+        item.put("postNo", d.postNo);
+        item.put("postType", d.postType);
+        item.put("postTitle", d.title);
+        item.put("userId", d.userId);
+        item.put("userName", d.userName);
+        item.put("postDate", d.postDate);
+        item.put("score", Math.round(hit.score * 1000) / 1000.0);
+        item.put("titleHighlight", highlight(d.title, query, 0));
+        item.put("snippetHighlight", highlight(d.text, query, snippetWindow));
+        return item;
+    }
+}
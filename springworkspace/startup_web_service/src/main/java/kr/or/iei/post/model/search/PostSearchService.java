@@ -0,0 +1,171 @@
+package kr.or.iei.post.model.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import kr.or.iei.common.dto.PageInfo;
+import kr.or.iei.common.util.PageUtil;
+import kr.or.iei.common.util.SnippetUtil;
+import kr.or.iei.member.model.dto.Post;
+import kr.or.iei.post.model.dao.PostDao;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 커뮤니티 게시글 검색
+ * - 공개 게시글의 제목/본문(평문)을 메모리 역색인(PostSearchIndex)으로 검색
+ * - 기동 완료 후 테이블 전체로 색인 구성, 이후 등록/수정/삭제/상태 변경 시 해당 글만 커밋 후 반영
+ * - 재구성 중 들어온 변경은 기록해 두었다가 새 색인으로 교체한 뒤 다시 반영
+ */
+@Service
+@Slf4j
+public class PostSearchService {
+
+    private static final int NUM_PER_PAGE = 10;
+    private static final int PAGE_NAVI_SIZE = 5;
+    private static final int SNIPPET_WINDOW = 120;
+
+    @Autowired
+    private PostDao postDao;
+
+    @Autowired
+    private PageUtil pageUtil;
+
+    private volatile PostSearchIndex index = new PostSearchIndex();
+
+    // 재구성 중 변경된 게시글 번호 (null이면 재구성 중 아님)
+    private volatile Set<Integer> changedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    // 색인 전체 재구성 (500건씩 읽어 새 색인을 만든 뒤 교체)
+    public synchronized int rebuild() {
+        changedDuringRebuild = new LinkedHashSet<>();
+        long start = System.currentTimeMillis();
+        PostSearchIndex built = new PostSearchIndex();
+        try {
+            int lastNo = 0;
+            while (true) {
+                List<Post> posts = postDao.selectPostsForIndex(lastNo, 500);
+                if (posts.isEmpty()) {
+                    break;
+                }
+                for (Post post : posts) {
+                    put(built, post);
+                }
+                lastNo = posts.get(posts.size() - 1).getPostNo();
+            }
+        } catch (Exception e) {
+            log.error("게시글 검색 색인 구성 실패 (기존 색인 유지) : {}", e.getMessage());
+            changedDuringRebuild = null;
+            return -1;
+        }
+
+        // 교체 후에 기록 중단 : 교체 전에 들어온 변경은 새 색인에 다시 반영, 이후 변경은 새 색인에 바로 반영됨
+        index = built;
+        Set<Integer> changed = changedDuringRebuild;
+        changedDuringRebuild = null;
+        List<Integer> replay;
+        synchronized (changed) {
+            replay = new ArrayList<>(changed);
+        }
+        for (int postNo : replay) {
+            reindexNow(postNo);
+        }
+        log.info("게시글 검색 색인 구성 완료 - {}건, 토큰 {}개, 소요시간 {}ms",
+                built.size(), built.termCount(), System.currentTimeMillis() - start);
+        return built.size();
+    }
+
+    // 등록/수정/상태 변경 : 커밋 후 DB에서 다시 읽어 반영 (비공개/삭제된 글이면 제거)
+    public void reindex(int postNo) {
+        afterCommit(() -> {
+            recordChange(postNo);
+            reindexNow(postNo);
+        });
+    }
+
+    // 삭제
+    public void remove(int postNo) {
+        afterCommit(() -> {
+            recordChange(postNo);
+            index.remove(postNo);
+        });
+    }
+
+    private void recordChange(int postNo) {
+        Set<Integer> changed = changedDuringRebuild;
+        if (changed != null) {
+            synchronized (changed) {
+                changed.add(postNo);
+            }
+        }
+    }
+
+    private void reindexNow(int postNo) {
+        try {
+            Post post = postDao.selectOnePost(postNo);
+            if (post == null || !"public".equals(post.getPostStatus())) {
+                index.remove(postNo);
+            } else {
+                put(index, post);
+            }
+        } catch (Exception e) {
+            log.error("게시글 검색 색인 반영 실패 ({}) : {}", postNo, e.getMessage());
+        }
+    }
+
+    private static void put(PostSearchIndex target, Post post) {
+        String text = SnippetUtil.of(post.getPostContent(), Integer.MAX_VALUE);
+        target.put(post.getPostNo(), post.getPostType(), post.getPostTitle(), text,
+                post.getUserId(), post.getUserName(), post.getPostDate());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /*
+     * 게시판 안 검색
+     * - 반환 : {list, pi, totalCount, took} (list 항목은 제목/본문 강조 HTML 포함)
+     */
+    public Map<String, Object> search(String postType, String query, int reqPage) {
+        long start = System.currentTimeMillis();
+        List<PostSearchIndex.Hit> hits = index.search(postType, query == null ? "" : query.trim());
+
+        PageInfo pi = pageUtil.getPageInfo(Math.max(reqPage, 1), NUM_PER_PAGE, PAGE_NAVI_SIZE, hits.size());
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (int i = pi.getStart() - 1; i < Math.min(pi.getEnd(), hits.size()); i++) {
+            list.add(PostSearchIndex.toResult(hits.get(i), query, SNIPPET_WINDOW));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("list", list);
+        result.put("pi", pi);
+        result.put("totalCount", hits.size());
+        result.put("took", System.currentTimeMillis() - start);
+        return result;
+    }
+}
@@ -0,0 +1,113 @@
+package kr.or.iei.post.model.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import kr.or.iei.common.util.SingleFlightCache;
+import kr.or.iei.member.model.dto.Post;
+import kr.or.iei.member.model.dto.PostFile;
+
+/*
+ * 게시글 상세 캐시 (게시글 번호별)
+ * - 상세 : 게시글 + 첨부파일 목록, 같은 글의 동시 요청은 DB 조회 1회 (SingleFlightCache)
+ * - 작성자 : 수정/삭제 권한 확인용 (게시글 번호 → 작성자 아이디)
+ * - 첨부파일 : 다운로드용 (파일 번호 → 첨부파일 정보, 없는 번호는 null로 캐시), 글이 바뀌면 전체 비움 (파일 번호로는 어느 글인지 알 수 없으므로)
+ * - 수정/삭제/상태 변경/첨부파일 변경 시 해당 번호만 제거, 트랜잭션 안이면 커밋 후 제거
+ * - 캐시된 객체는 외부에 그대로 내주지 않고 요청마다 복사본을 반환
+ */
+@Component
+public class PostDetailCache {
+
+    @Value("${post.detailCache.ttl:600000}")
+    private long ttlMillis;
+
+    @Value("${post.detailCache.size:1000}")
+    private int maxEntries;
+
+    private SingleFlightCache<Integer, Post> details;
+    private SingleFlightCache<Integer, String> writers;
+    private SingleFlightCache<Integer, PostFile> files;
+
+    @PostConstruct
+    public void init() {
+        details = new SingleFlightCache<>(ttlMillis, maxEntries);
+        writers = new SingleFlightCache<>(ttlMillis, maxEntries * 10);
+        files = new SingleFlightCache<>(ttlMillis, maxEntries * 5);
+    }
+
+    // 상세 조회 (없는 글이면 null)
+    public Post get(int postNo, Supplier<Post> loader) {
+        Post post = details.get(postNo, loader);
+        return post == null ? null : copy(post);
+    }
+
+    // 작성자 아이디 (없는 글이면 null)
+    public String writer(int postNo, Supplier<String> loader) {
+        return writers.get(postNo, loader);
+    }
+
+    // 첨부파일 정보 (없는 번호면 null)
+    public PostFile file(int fileNo, Supplier<PostFile> loader) {
+        PostFile file = files.get(fileNo, loader);
+        return file == null ? null : new PostFile(file.getFileNo(), file.getPostNo(), file.getFileName(), file.getFilePath(),
+                                                  file.getContentType(), file.getFileSize());
+    }
+
+    // 조회수 반영처럼 내용 외 값만 바뀐 경우 : 상세만 제거 (즉시)
+    public void evictDetail(int postNo) {
+        details.invalidate(postNo);
+    }
+
+    // 등록/수정/삭제/상태 변경 : 상세와 작성자 제거, 첨부파일 캐시 비움 (트랜잭션 안이면 커밋 후)
+    public void evict(int postNo) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    details.invalidate(postNo);
+                    writers.invalidate(postNo);
+                    files.clear();
+                }
+            });
+        } else {
+            details.invalidate(postNo);
+            writers.invalidate(postNo);
+            files.clear();
+        }
+    }
+
+    private static Post copy(Post p) {
+        Post c = new Post();
+        c.setPostNo(p.getPostNo());
+        c.setUserId(p.getUserId());
+        c.setPostType(p.getPostType());
+        c.setPostTitle(p.getPostTitle());
+        c.setPostContent(p.getPostContent());
+        c.setPostSnippet(p.getPostSnippet());
+        c.setPostDate(p.getPostDate());
+        c.setReadCount(p.getReadCount());
+        c.setPostStatus(p.getPostStatus());
+        c.setReportCount(p.getReportCount());
+        c.setUserName(p.getUserName());
+        c.setUserNo(p.getUserNo());
+        c.setAttachedFiles(p.getAttachedFiles() == null ? new ArrayList<>() : new ArrayList<>(p.getAttachedFiles()));
+        return c;
+    }
+
+    // 캐시 통계 {detail, writer, file}
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("detail", details.stats());
+        stats.put("writer", writers.stats());
+        stats.put("file", files.stats());
+        return stats;
+    }
+}
@@ -0,0 +1,67 @@
+package kr.or.iei.post.model.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import kr.or.iei.common.util.FileUtil;
+import kr.or.iei.member.model.dto.PostFile;
+import kr.or.iei.post.model.dao.PostDao;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 게시글 첨부파일 형식/크기(content_type, file_size) 보정
+ * - 컬럼 추가는 배포 전 마이그레이션(db/migration/V2__post_file_meta.sql)으로 처리, 애플리케이션은 DDL을 실행하지 않음
+ * - 기동 완료 후 1회 : 값이 비어 있는 기존 첨부파일을 500건씩 채움 (실제 파일이 없으면 크기 0, 컬럼이 없으면 마이그레이션 누락을 기록하고 중단)
+ * - 새 첨부파일은 PostService에서 업로드 시 함께 저장하므로 이후에는 할 일이 없음
+ * - 실패해도 서비스는 계속 동작 (다운로드 시 파일명/파일에서 다시 구함)
+ */
+@Component
+@Slf4j
+public class PostFileMetaBackfill {
+
+    private static final int BATCH = 500;
+
+    @Autowired
+    private PostDao postDao;
+
+    @Autowired
+    private PostService postService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            if (postDao.selectFileMetaColumnCount() < 2) {
+                log.error("t_post_file.content_type, file_size 컬럼이 없습니다. db/migration/V2__post_file_meta.sql을 먼저 실행하세요.");
+                return;
+            }
+
+            int lastNo = 0;
+            int filled = 0;
+            while (true) {
+                List<PostFile> files = postDao.selectPostFilesWithoutMeta(lastNo, BATCH);
+                if (files.isEmpty()) {
+                    break;
+                }
+                for (PostFile file : files) {
+                    Path location = postService.postFileLocation(file.getFilePath());
+                    file.setContentType(FileUtil.contentType(file.getFileName()));
+                    file.setFileSize(Files.isRegularFile(location) ? Files.size(location) : 0);
+                }
+                postDao.updatePostFileMetas(files);
+                filled += files.size();
+                lastNo = files.get(files.size() - 1).getFileNo();
+            }
+            if (filled > 0) {
+                log.info("첨부파일 형식/크기 보정 완료 - {}건", filled);
+            }
+        } catch (Exception e) {
+            log.error("첨부파일 형식/크기 보정 실패 : {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package kr.or.iei.post.model.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import kr.or.iei.common.dto.PageInfo;
+import kr.or.iei.member.model.dto.Post;
+
+/*
+ * 게시판별 목록 앞 페이지 캐시
+ * - 게시판(postType)마다 1 ~ post.listCache.pages 페이지의 {목록, PageInfo, 전체 개수}를 보관 (그 뒤 페이지는 매번 DB 조회)
+ * - 캐시하는 게시판 수는 post.listCache.types개까지, 글이 없는 게시판은 캐시하지 않음 (없는 게시판 이름으로 캐시가 늘어나지 않도록)
+ * - 등록/수정/삭제/상태 변경 시 해당 게시판만 무효화, 트랜잭션 안이면 커밋 후 무효화
+ * - 게시판별 세대 번호 : 조회 시작 후 무효화가 일어났으면 조회 결과를 캐시하지 않음 (이전 데이터가 다시 캐시되는 것 방지)
+ * - 조회수는 지연 반영분이 DB에 들어갈 때(applyReadCounts) 캐시된 값도 같이 올려 DB와 같게 유지
+ *   반영 세대 번호(반영 중이면 홀수) : 반영 시작(beginReadCountFlush) ~ 끝(endReadCountFlush)과 겹친 조회 결과는 캐시하지 않음
+ *   (반영 전 값이 보정 후에 들어가거나, 반영 후 값이 한 번 더 보정되는 것 방지)
+ * - 캐시된 목록은 외부에 그대로 내주지 않고 요청마다 복사본을 반환
+ */
+@Component
+public class PostListCache {
+
+    @Value("${post.listCache.pages:5}")
+    private int maxPages;
+
+    @Value("${post.listCache.types:20}")
+    private int maxTypes;
+
+    private static final class Page {
+        final List<Post> list;
+        final PageInfo pageInfo;
+        final int totalCount;
+
+        Page(List<Post> list, PageInfo pageInfo, int totalCount) {
+            this.list = list;
+            this.pageInfo = pageInfo;
+            this.totalCount = totalCount;
+        }
+    }
+
+    // 조회 결과 {목록, PageInfo, 전체 개수}
+    public static final class Result {
+        public final List<Post> list;
+        public final PageInfo pageInfo;
+        public final int totalCount;
+
+        public Result(List<Post> list, PageInfo pageInfo, int totalCount) {
+            this.list = list;
+            this.pageInfo = pageInfo;
+            this.totalCount = totalCount;
+        }
+    }
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<Integer, Page>> pages = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong readCountFlushes = new AtomicLong(); // 조회수 반영 중이면 홀수
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypass = new LongAdder();        // 캐시 대상이 아닌 페이지
+    private final LongAdder invalidations = new LongAdder();
+
+    public Result get(String postType, int reqPage, Supplier<Result> loader) {
+        if (reqPage < 1 || reqPage > maxPages) {
+            bypass.increment();
+            return loader.get();
+        }
+        ConcurrentHashMap<Integer, Page> byPage = pages.get(postType);
+        Page page = byPage == null ? null : byPage.get(reqPage);
+        if (page != null) {
+            hits.increment();
+            return copy(page);
+        }
+
+        misses.increment();
+        long generation = generation(postType).get();
+        long flushes = readCountFlushes.get();
+        Result loaded = loader.get();
+        if (byPage == null) {
+            if (loaded.totalCount == 0 || pages.size() >= maxTypes) {
+                return loaded; // 글이 없는 게시판(잘못된 이름 포함)은 캐시하지 않음
+            }
+            byPage = pages.computeIfAbsent(postType, t -> new ConcurrentHashMap<>());
+        }
+        List<Post> stored = new ArrayList<>(loaded.list.size());
+        for (Post p : loaded.list) {
+            stored.add(clone(p));
+        }
+        Page entry = new Page(stored, loaded.pageInfo, loaded.totalCount);
+        byPage.put(reqPage, entry);
+        // 조회 중에 무효화됐거나 조회수 반영과 겹쳤으면 방금 넣은 값 제거
+        if (generation(postType).get() != generation || (flushes & 1) != 0 || readCountFlushes.get() != flushes) {
+            byPage.remove(reqPage, entry);
+        }
+        return loaded;
+    }
+
+    // 게시판 하나 무효화 (트랜잭션 안이면 커밋 후)
+    public void invalidate(String postType) {
+        afterCommit(() -> clear(postType));
+    }
+
+    // 게시판을 알 수 없는 변경 (관리자 신고 처리 등) : 전체 무효화
+    public void invalidateAll() {
+        afterCommit(() -> {
+            for (String postType : new ArrayList<>(pages.keySet())) {
+                clear(postType);
+            }
+        });
+    }
+
+    // 조회수 지연 반영 시작 (DB 반영 전에 호출, 성공/실패와 관계없이 endReadCountFlush로 끝냄)
+    public void beginReadCountFlush() {
+        readCountFlushes.incrementAndGet();
+    }
+
+    // 조회수 지연 반영 끝 (applyReadCounts 이후)
+    public void endReadCountFlush() {
+        readCountFlushes.incrementAndGet();
+    }
+
+    // 조회수 지연 반영분이 DB에 들어간 뒤 캐시된 조회수도 같이 증가 ({게시글 번호, 증가분})
+    public void applyReadCounts(List<long[]> deltas) {
+        Map<Integer, Long> byPostNo = new HashMap<>(deltas.size() * 4 / 3 + 1);
+        for (long[] d : deltas) {
+            byPostNo.put((int) d[0], d[1]);
+        }
+        pages.values().forEach(byPage -> byPage.values().forEach(page -> {
+            for (Post p : page.list) {
+                Long delta = byPostNo.get(p.getPostNo());
+                if (delta != null) {
+                    synchronized (p) {
+                        p.setReadCount(p.getReadCount() + delta.intValue());
+                    }
+                }
+            }
+        }));
+    }
+
+    private void clear(String postType) {
+        generation(postType).incrementAndGet();
+        ConcurrentHashMap<Integer, Page> byPage = pages.get(postType);
+        if (byPage != null) {
+            byPage.clear();
+        }
+        invalidations.increment();
+    }
+
+    private AtomicLong generation(String postType) {
+        return generations.computeIfAbsent(postType, t -> new AtomicLong());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Result copy(Page page) {
+        List<Post> list = new ArrayList<>(page.list.size());
+        for (Post p : page.list) {
+            synchronized (p) {
+                list.add(clone(p));
+            }
+        }
+        return new Result(list, page.pageInfo, page.totalCount);
+    }
+
+    // 목록 항목 복사 (목록 조회에 쓰이는 필드만)
+    private static Post clone(Post p) {
+        Post c = new Post();
+        c.setPostNo(p.getPostNo());
+        c.setUserId(p.getUserId());
+        c.setPostType(p.getPostType());
+        c.setPostTitle(p.getPostTitle());
+        c.setPostSnippet(p.getPostSnippet());
+        c.setPostDate(p.getPostDate());
+        c.setReadCount(p.getReadCount());
+        c.setPostStatus(p.getPostStatus());
+        c.setReportCount(p.getReportCount());
+        c.setUserName(p.getUserName());
+        c.setFileCount(p.getFileCount());
+        return c;
+    }
+
+    // 캐시 통계 {hits, misses, bypass, invalidations, hitRatio, size}
+    public Map<String, Object> stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        int size = 0;
+        for (ConcurrentHashMap<Integer, Page> byPage : pages.values()) {
+            size += byPage.size();
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("bypass", bypass.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("hitRatio", h + m == 0 ? 0.0 : Math.round(h * 1000.0 / (h + m)) / 1000.0);
+        stats.put("size", size);
+        return stats;
+    }
+}
@@ -2,7 +2,10 @@ package kr.or.iei.post.model.service;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -10,14 +13,26 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import kr.or.iei.common.dto.PageInfo;
+import kr.or.iei.common.service.BlobStore;
+import kr.or.iei.common.service.ChunkUploadService;
+import kr.or.iei.common.service.CountService;
+import kr.or.iei.common.service.HotRankingService;
+import kr.or.iei.common.service.UniqueViewService;
+import kr.or.iei.common.service.ViewCountService;
+import kr.or.iei.common.util.FileUtil;
 import kr.or.iei.common.util.PageUtil;
+import kr.or.iei.common.util.SnippetUtil;
 import kr.or.iei.member.model.dto.Post;
 import kr.or.iei.member.model.dto.PostFile;
 import kr.or.iei.member.model.dto.Report;
+import kr.or.iei.member.model.dto.UploadSession;
 import kr.or.iei.post.model.dao.PostDao;
+import kr.or.iei.post.model.search.PostSearchService;
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class PostService {
@@ -27,39 +42,125 @@ public class PostService {
     
     @Autowired
     private PageUtil pageUtil;
+
+    @Autowired
+    private CountService countService;
+
+    @Autowired
+    private ViewCountService viewCountService;
+
+    @Autowired
+    private UniqueViewService uniqueViewService;
+
+    @Autowired
+    private HotRankingService hotRankingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PostListCache postListCache;
+
+    @Autowired
+    private PostDetailCache postDetailCache;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private BlobStore blobStore;
+    
+    @Autowired
+    private ChunkUploadService chunkUploadService;
+
+    // 조회수 지연 반영 등록 : 500건씩 나눠 한 트랜잭션으로 반영, 반영 후 캐시된 목록의 조회수도 같이 증가
+    // (반영 시작 ~ 캐시 보정 사이에 조회된 목록은 캐시하지 않음 → PostListCache 반영 세대 번호)
+    @PostConstruct
+    public void registerViewCounter() {
+        viewCountService.register("post", deltas -> {
+            postListCache.beginReadCountFlush();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (int i = 0; i < deltas.size(); i += 500) {
+                        postDao.updateReadCounts(deltas.subList(i, Math.min(i + 500, deltas.size())));
+                    }
+                });
+                postListCache.applyReadCounts(deltas);
+            } finally {
+                postListCache.endReadCountFlush();
+            }
+            for (long[] d : deltas) {
+                postDetailCache.evictDetail((int) d[0]); // 캐시된 상세의 조회수가 DB보다 작아지지 않도록
+            }
+        });
+    }
     
-    // 게시글 목록 조회
+    // 게시글 목록 조회 (앞 페이지는 게시판별 캐시, 등록/수정/삭제/상태 변경 시 무효화)
     public Map<String, Object> selectPostList(int reqPage, String postType) {
-        int numPerPage = 10; // 한 페이지당 게시글 수
-        int pageNaviSize = 5; // 페이지 네비게이션 크기
-        
-        int totalCount = postDao.selectPostCount(postType);
-        
-        PageInfo pi = pageUtil.getPageInfo(reqPage, numPerPage, pageNaviSize, totalCount);
+        PostListCache.Result page = postListCache.get(postType, reqPage, () -> {
+            int numPerPage = 10; // 한 페이지당 게시글 수
+            int pageNaviSize = 5; // 페이지 네비게이션 크기
+            
+            // 전체 게시글 수는 게시판별로 캐시 (등록/수정/삭제/상태 변경 시 무효화)
+            int totalCount = countService.count("post", postType, () -> postDao.selectPostCount(postType));
+            
+            PageInfo pi = pageUtil.getPageInfo(reqPage, numPerPage, pageNaviSize, totalCount);
+            return new PostListCache.Result(postDao.selectPostList(pi, postType), pi, totalCount);
+        });
         
-        List<Post> list = postDao.selectPostList(pi, postType);
+        List<Post> list = page.list;
+        for (Post p : list) {
+            p.setReadCount(p.getReadCount() + viewCountService.pendingOf("post", p.getPostNo()));
+        }
         
         Map<String, Object> result = new HashMap<>();
         result.put("list", list);
-        result.put("pi", pi);
-        result.put("totalCount", totalCount); // 전체 게시글 수 추가
+        result.put("pi", page.pageInfo);
+        result.put("totalCount", page.totalCount); // 전체 게시글 수 추가
         
         return result;
     }
+
+    // 목록/상세 캐시 통계
+    public Map<String, Object> selectCacheStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("listCache", postListCache.stats());
+        stats.put("countCache", countService.stats());
+        stats.put("detailCache", postDetailCache.stats());
+        stats.put("upload", blobStore.stats());
+        stats.put("chunkUpload", chunkUploadService.stats());
+        return stats;
+    }
     
+    // 작성자 아이디 (수정/삭제 권한 확인용, 없는 글이면 null)
+    public String selectPostWriter(int postNo) {
+        return postDetailCache.writer(postNo, () -> postDao.selectPostWriter(postNo));
+    }
+
     // 게시글 상세 조회
-    @Transactional
     public Post selectOnePost(int postNo, boolean isView) {
-        // 조회수 증가 (상세보기일 때만)
-        if(isView) {
-            postDao.updateReadCount(postNo);
-        }
-        
-        Post post = postDao.selectOnePost(postNo);
+        return selectOnePost(postNo, isView, null);
+    }
+
+    // viewerKey : 고유 조회자 집계용 조회자 키 (상세보기일 때만 반영)
+    // 게시글 + 첨부파일은 한 번의 조회로 가져와 게시글 번호별로 캐시 (수정/삭제/상태 변경 시 제거)
+    public Post selectOnePost(int postNo, boolean isView, String viewerKey) {
+        Post post = postDetailCache.get(postNo, () -> postDao.selectPostDetail(postNo));
         if(post != null) {
-            // 첨부파일 정보 조회
-            List<PostFile> files = postDao.selectPostFileList(postNo);
-            post.setAttachedFiles(files);
+            // 조회수 증가 (상세보기일 때만, DB에는 주기적으로 일괄 반영)
+            if(isView) {
+                viewCountService.increment("post", postNo);
+                if(viewerKey != null) {
+                    uniqueViewService.record("post", postNo, viewerKey);
+                }
+            }
+
+            // 아직 반영되지 않은 조회수 포함
+            post.setReadCount(post.getReadCount() + viewCountService.pendingOf("post", postNo));
+            post.setUniqueViews(uniqueViewService.uniqueViews("post", postNo));
+            if(isView && "public".equals(post.getPostStatus())) {
+                hotRankingService.view(HotRankingService.postBoard(post.getPostType()), postNo, hotSummary(post));
+            }
         }
         
         return post;
@@ -68,43 +169,58 @@ public class PostService {
     // 게시글 등록
     @Transactional
     public int insertPost(Post post) {
-        return postDao.insertPost(post);
+        countService.invalidate("post");
+        post.setPostSnippet(SnippetUtil.of(post.getPostContent())); // 목록용 미리보기
+        int result = postDao.insertPost(post);
+        if(result > 0) {
+            postListCache.invalidate(post.getPostType());
+            postDetailCache.evict(post.getPostNo()); // 없는 번호로 조회된 적이 있으면 제거
+            postSearchService.reindex(post.getPostNo());
+            hotWrite(post);
+        }
+        return result;
     }
     
     // 게시글 등록 (파일 첨부 포함)
     @Transactional
     public int insertPost(Post post, MultipartFile[] attachedFiles) {
+        return insertPost(post, attachedFiles, null);
+    }
+    
+    // 게시글 등록 (파일 첨부 + 나눠 올리기로 완료된 파일 uploadIds 첨부)
+    @Transactional
+    public int insertPost(Post post, MultipartFile[] attachedFiles, String[] uploadIds) {
         System.out.println("=== PostService.insertPost ===");
         System.out.println("Post 정보: " + post);
         System.out.println("첨부파일 개수: " + (attachedFiles != null ? attachedFiles.length : 0));
         
-        // 먼저 게시글 등록
+        // 먼저 게시글 등록 (목록용 미리보기 함께 저장)
+        post.setPostSnippet(SnippetUtil.of(post.getPostContent()));
         int result = postDao.insertPost(post);
         System.out.println("게시글 등록 결과: " + result);
+        countService.invalidate("post");
+        if(result > 0) {
+            postListCache.invalidate(post.getPostType());
+            postDetailCache.evict(post.getPostNo()); // 없는 번호로 조회된 적이 있으면 제거
+            postSearchService.reindex(post.getPostNo());
+            hotWrite(post);
+        }
         
         if(result > 0 && attachedFiles != null && attachedFiles.length > 0) {
-            // 파일 업로드 처리
-            String uploadPath = System.getProperty("user.dir") + "/uploads/post/";
-            File uploadDir = new File(uploadPath);
-            if (!uploadDir.exists()) {
-                uploadDir.mkdirs();
-            }
-            
+            // 파일 업로드 처리 (같은 내용의 파일은 저장소에 1번만 저장)
             for (MultipartFile file : attachedFiles) {
                 if (!file.isEmpty()) {
                     try {
                         String originalFilename = file.getOriginalFilename();
-                        String savedFilename = System.currentTimeMillis() + "_" + originalFilename;
-                        String filePath = uploadPath + savedFilename;
-                        
-                        // 파일 저장
-                        file.transferTo(new File(filePath));
+                        String savedPath = blobStore.store(file);
                         
                         // 파일 정보 DB에 저장
                         PostFile postFile = new PostFile();
                         postFile.setPostNo(post.getPostNo());
                         postFile.setFileName(originalFilename);
-                        postFile.setFilePath(savedFilename);
+                        postFile.setFilePath(savedPath);
+                        postFile.setContentType(FileUtil.contentType(originalFilename));
+                        postFile.setFileSize(file.getSize());
                         
                         postDao.insertPostFile(postFile);
                     } catch (IOException e) {
@@ -115,6 +231,9 @@ public class PostService {
                 }
             }
         }
+        if(result > 0) {
+            attachUploads(post.getPostNo(), post.getUserId(), uploadIds);
+        }
         
         return result;
     }
@@ -122,20 +241,37 @@ public class PostService {
     // 게시글 수정
     @Transactional
     public int updatePost(Post post) {
-        return postDao.updatePost(post);
+        countService.invalidate("post");
+        post.setPostSnippet(SnippetUtil.of(post.getPostContent())); // 목록용 미리보기
+        int result = postDao.updatePost(post);
+        if(result > 0) {
+            afterUpdate(post.getPostNo());
+        }
+        return result;
     }
     
     // 게시글 수정 (파일 첨부 포함)
     @Transactional
     public int updatePost(Post post, MultipartFile[] attachedFiles, String deletedFiles) {
+        return updatePost(post, attachedFiles, deletedFiles, null);
+    }
+    
+    // 게시글 수정 (파일 첨부 + 나눠 올리기로 완료된 파일 uploadIds 첨부)
+    @Transactional
+    public int updatePost(Post post, MultipartFile[] attachedFiles, String deletedFiles, String[] uploadIds) {
         System.out.println("=== PostService.updatePost ===");
         System.out.println("Post 정보: " + post);
         System.out.println("첨부파일 개수: " + (attachedFiles != null ? attachedFiles.length : 0));
         System.out.println("삭제할 파일들: " + deletedFiles);
         
-        // 먼저 게시글 수정
+        // 먼저 게시글 수정 (목록용 미리보기 함께 갱신)
+        post.setPostSnippet(SnippetUtil.of(post.getPostContent()));
         int result = postDao.updatePost(post);
+        countService.invalidate("post");
         System.out.println("게시글 수정 결과: " + result);
+        if(result > 0) {
+            afterUpdate(post.getPostNo());
+        }
         
         if(result > 0) {
             // 삭제할 파일들 처리
@@ -157,19 +293,12 @@ public class PostService {
                             if(existingFile != null) {
                                 System.out.println("삭제할 파일 정보: " + existingFile.getFileName());
                                 
-                                // 실제 파일 삭제
-                                String uploadPath = System.getProperty("user.dir") + "/uploads/post/";
-                                File file = new File(uploadPath + existingFile.getFilePath());
-                                if(file.exists()) {
-                                    boolean deleted = file.delete();
-                                    System.out.println("실제 파일 삭제 결과: " + deleted);
-                                } else {
-                                    System.out.println("실제 파일이 존재하지 않음: " + file.getAbsolutePath());
-                                }
-                                
                                 // DB에서 파일 정보 삭제
                                 int deleteResult = postDao.deletePostFile(fileNo);
                                 System.out.println("DB 파일 정보 삭제 결과: " + deleteResult);
+                                
+                                // 실제 파일 삭제
+                                deleteStoredFile(existingFile.getFilePath());
                             } else {
                                 System.out.println("삭제할 파일이 DB에 존재하지 않음: " + fileNo);
                             }
@@ -184,33 +313,25 @@ public class PostService {
             // 새 파일들 업로드 처리
             if(attachedFiles != null && attachedFiles.length > 0) {
                 System.out.println("새 파일들 업로드 시작");
-                String uploadPath = System.getProperty("user.dir") + "/uploads/post/";
-                File uploadDir = new File(uploadPath);
-                if (!uploadDir.exists()) {
-                    boolean created = uploadDir.mkdirs();
-                    System.out.println("업로드 디렉토리 생성 결과: " + created);
-                }
                 
                 for (int i = 0; i < attachedFiles.length; i++) {
                     MultipartFile file = attachedFiles[i];
                     if (!file.isEmpty()) {
                         try {
                             String originalFilename = file.getOriginalFilename();
-                            String savedFilename = System.currentTimeMillis() + "_" + originalFilename;
-                            String filePath = uploadPath + savedFilename;
-                            
                             System.out.println("파일 " + (i+1) + " 업로드 시작: " + originalFilename);
-                            System.out.println("저장 경로: " + filePath);
                             
                             // 파일 저장
-                            file.transferTo(new File(filePath));
-                            System.out.println("파일 저장 완료: " + savedFilename);
+                            String savedPath = blobStore.store(file);
+                            System.out.println("파일 저장 완료: " + savedPath);
                             
                             // 파일 정보 DB에 저장
                             PostFile postFile = new PostFile();
                             postFile.setPostNo(post.getPostNo());
                             postFile.setFileName(originalFilename);
-                            postFile.setFilePath(savedFilename);
+                            postFile.setFilePath(savedPath);
+                            postFile.setContentType(FileUtil.contentType(originalFilename));
+                            postFile.setFileSize(file.getSize());
                             
                             int insertResult = postDao.insertPostFile(postFile);
                             System.out.println("파일 정보 DB 저장 결과: " + insertResult);
@@ -222,6 +343,7 @@ public class PostService {
                     }
                 }
             }
+            attachUploads(post.getPostNo(), post.getUserId(), uploadIds);
         }
         
         return result;
@@ -248,16 +370,9 @@ public class PostService {
             List<PostFile> files = postDao.selectPostFileList(postNo);
             System.out.println("삭제할 첨부파일 개수: " + files.size());
             
-            String uploadPath = System.getProperty("user.dir") + "/uploads/post/";
             for(PostFile file : files) {
-                // 실제 파일 삭제
-                File realFile = new File(uploadPath + file.getFilePath());
-                if(realFile.exists()) {
-                    boolean deleted = realFile.delete();
-                    System.out.println("첨부파일 삭제 결과: " + file.getFileName() + " -> " + deleted);
-                } else {
-                    System.out.println("첨부파일이 존재하지 않음: " + file.getFileName());
-                }
+                // 실제 파일 삭제 (저장소 파일은 커밋 후 참조가 없을 때만)
+                deleteStoredFile(file.getFilePath());
             }
         } catch (Exception e) {
             System.out.println("첨부파일 삭제 중 오류 발생: " + e.getMessage());
@@ -267,6 +382,14 @@ public class PostService {
         // 게시글 삭제 (CASCADE로 첨부파일 정보도 함께 삭제됨)
         int result = postDao.deletePost(postNo);
         System.out.println("게시글 삭제 결과: " + result);
+        countService.invalidate("post");
+        if(result > 0) {
+            uniqueViewService.remove("post", postNo);
+            hotRankingService.remove("post", postNo);
+            postListCache.invalidate(post.getPostType());
+            postDetailCache.evict(postNo);
+            postSearchService.remove(postNo);
+        }
         
         return result;
     }
@@ -274,12 +397,53 @@ public class PostService {
     // 게시글 상태 변경
     @Transactional
     public int updatePostStatus(int postNo, String postStatus) {
-        return postDao.updatePostStatus(postNo, postStatus);
+        countService.invalidate("post");
+        int result = postDao.updatePostStatus(postNo, postStatus);
+        if(result > 0) {
+            postDetailCache.evict(postNo);
+            postSearchService.reindex(postNo);
+            Post post = postDao.selectOnePost(postNo);
+            if(post != null) {
+                postListCache.invalidate(post.getPostType());
+            }
+            if(!"public".equals(postStatus)) {
+                hotRankingService.remove("post", postNo); // 비공개 전환 시 인기글에서 제외
+            }
+        }
+        return result;
     }
     
-    // 첨부파일 조회
+    // 첨부파일 조회 (다운로드용, 없는 번호도 캐시되어 반복 요청이 DB로 가지 않음)
     public PostFile selectPostFile(int fileNo) {
-        return postDao.selectPostFile(fileNo);
+        return postDetailCache.file(fileNo, () -> postDao.selectPostFile(fileNo));
+    }
+    
+    // 나눠 올리기로 완료된 파일 첨부 (업로드한 본인만, 완료 전이거나 만료된 uploadId면 CommonException → 글 등록/수정도 롤백)
+    private void attachUploads(int postNo, String userId, String[] uploadIds) {
+        if(uploadIds == null) {
+            return;
+        }
+        for(String uploadId : uploadIds) {
+            if(uploadId == null || uploadId.isBlank()) {
+                continue;
+            }
+            UploadSession upload = chunkUploadService.take(uploadId.trim(), userId);
+            
+            PostFile postFile = new PostFile();
+            postFile.setPostNo(postNo);
+            postFile.setFileName(upload.getFileName());
+            postFile.setFilePath(upload.getFilePath());
+            postFile.setContentType(upload.getContentType());
+            postFile.setFileSize(upload.getFileSize());
+            postDao.insertPostFile(postFile);
+        }
+    }
+    
+    // 첨부파일 실제 위치 : 저장소 파일은 내용 해시 경로, 이전 방식 파일은 uploads/post/ 아래 파일명
+    public Path postFileLocation(String filePath) {
+        return BlobStore.isBlob(filePath)
+                ? blobStore.resolve(filePath)
+                : Paths.get(System.getProperty("user.dir"), "uploads", "post", filePath);
     }
     
     // 신고 등록
@@ -292,7 +456,70 @@ public class PostService {
             return -1;
         }
         
-        // 신고 등록
-        return postDao.insertReport(report);
+        // 신고 등록 (인기글 점수 감점)
+        int result = postDao.insertReport(report);
+        if(result > 0) {
+            hotRankingService.report(report.getPostType(), report.getPostId());
+        }
+        return result;
+    }
+
+    // 게시판 안 검색 (메모리 색인)
+    public Map<String, Object> searchPost(String postType, String query, int reqPage) {
+        return postSearchService.search(postType, query, reqPage);
+    }
+
+    // 인기글 목록 (메모리 순위에서 바로 조회)
+    public List<Map<String, Object>> selectHotPostList(String postType, int limit) {
+        return hotRankingService.top(HotRankingService.postBoard(postType), limit);
+    }
+
+    // 작성 이벤트 (공개글만)
+    private void hotWrite(Post post) {
+        if(post.getPostStatus() == null || "public".equals(post.getPostStatus())) {
+            if(post.getPostDate() == null) {
+                post.setPostDate(new Date());
+            }
+            hotRankingService.write(HotRankingService.postBoard(post.getPostType()), post.getPostNo(), hotSummary(post));
+        }
+    }
+
+    // 첨부파일 실제 파일 삭제 : 저장소 파일은 커밋 후 참조가 없을 때만, 이전 방식 파일은 바로 삭제
+    private void deleteStoredFile(String filePath) {
+        if(BlobStore.isBlob(filePath)) {
+            blobStore.release(filePath);
+            return;
+        }
+        File file = postFileLocation(filePath).toFile();
+        if(file.exists()) {
+            boolean deleted = file.delete();
+            System.out.println("실제 파일 삭제 결과: " + deleted);
+        } else {
+            System.out.println("실제 파일이 존재하지 않음: " + file.getAbsolutePath());
+        }
+    }
+
+    // 수정 후 처리 : 상세 캐시 제거, 검색 색인 반영, 해당 게시판 목록 캐시 무효화, 인기글 순위에 있는 글이면 요약 정보 갱신
+    private void afterUpdate(int postNo) {
+        postDetailCache.evict(postNo);
+        postSearchService.reindex(postNo);
+        Post updated = postDao.selectOnePost(postNo);
+        if(updated != null) {
+            postListCache.invalidate(updated.getPostType());
+            hotRankingService.update(HotRankingService.postBoard(updated.getPostType()), postNo, hotSummary(updated));
+        }
+    }
+
+    // 인기글 목록에 보여줄 요약 정보 (본문/첨부파일 제외)
+    private Map<String, Object> hotSummary(Post post) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("postNo", post.getPostNo());
+        summary.put("postType", post.getPostType());
+        summary.put("postTitle", post.getPostTitle());
+        summary.put("userId", post.getUserId());
+        summary.put("userName", post.getUserName());
+        summary.put("postDate", post.getPostDate());
+        summary.put("readCount", post.getReadCount());
+        return summary;
     }
 } 
\ No newline at end of file
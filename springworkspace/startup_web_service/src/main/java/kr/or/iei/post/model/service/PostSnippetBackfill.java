@@ -0,0 +1,61 @@
+package kr.or.iei.post.model.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import kr.or.iei.common.util.SnippetUtil;
+import kr.or.iei.member.model.dto.Post;
+import kr.or.iei.post.model.dao.PostDao;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 게시글 목록 미리보기(post_snippet) 보정
+ * - 컬럼 추가는 배포 전 마이그레이션(db/migration/V1__post_snippet.sql)으로 처리, 애플리케이션은 DDL을 실행하지 않음
+ * - 기동 완료 후 1회 : 미리보기가 비어 있는 기존 게시글을 500건씩 채움 (컬럼이 없으면 마이그레이션 누락을 기록하고 중단)
+ * - 새 글/수정 글은 PostService에서 저장 시 함께 생성하므로 이후에는 할 일이 없음
+ * - 실패해도 서비스는 계속 동작 (목록의 미리보기만 비어 있음)
+ */
+@Component
+@Slf4j
+public class PostSnippetBackfill {
+
+    private static final int BATCH = 500;
+
+    @Autowired
+    private PostDao postDao;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            if (postDao.selectSnippetColumnCount() == 0) {
+                log.error("t_posts.post_snippet 컬럼이 없습니다. db/migration/V1__post_snippet.sql을 먼저 실행하세요.");
+                return;
+            }
+
+            int lastNo = 0;
+            int filled = 0;
+            while (true) {
+                List<Post> posts = postDao.selectPostsWithoutSnippet(lastNo, BATCH);
+                if (posts.isEmpty()) {
+                    break;
+                }
+                for (Post post : posts) {
+                    post.setPostSnippet(SnippetUtil.of(post.getPostContent()));
+                    post.setPostContent(null);
+                }
+                postDao.updatePostSnippets(posts);
+                filled += posts.size();
+                lastNo = posts.get(posts.size() - 1).getPostNo();
+            }
+            if (filled > 0) {
+                log.info("게시글 미리보기 보정 완료 - {}건", filled);
+            }
+        } catch (Exception e) {
+            log.error("게시글 미리보기 보정 실패 : {}", e.getMessage());
+        }
+    }
+}
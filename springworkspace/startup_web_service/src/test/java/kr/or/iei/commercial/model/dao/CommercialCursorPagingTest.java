@@ -0,0 +1,63 @@
+package kr.or.iei.commercial.model.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import kr.or.iei.commercial.model.dto.Commercial;
+import kr.or.iei.commercial.model.dto.CommercialCursor;
+
+/*
+ * 키셋 페이징이 상호명 없는(NULL) 상가까지 빠짐없이 한 번씩 돌려주는지 확인 (H2 Oracle 호환 모드)
+ * - 커서는 문자열로 인코딩/디코딩을 거쳐 다음 페이지에 전달 (컨트롤러와 같은 경로)
+ */
+@MybatisTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:commercialCursor;MODE=Oracle;DB_CLOSE_DELAY=-1",
+	"mybatis.mapper-locations=classpath:mapper/commercial-mapper.xml"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql("classpath:sql/commercial-schema.sql")
+class CommercialCursorPagingTest {
+
+	@Autowired
+	private CommercialDao dao;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Test
+	void pagesThroughNullNamesLast() {
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			rows.add(new Object[] {String.format("C%03d", i), i % 3 == 0 ? null : "상호" + (i % 4)});
+		}
+		jdbc.batchUpdate("INSERT INTO M_COMMERCIAL_INFO (M_NO, M_NM) VALUES (?, ?)", rows);
+
+		List<String> expected = jdbc.queryForList("SELECT M_NO FROM M_COMMERCIAL_INFO ORDER BY M_NM NULLS LAST, M_NO", String.class);
+		List<String> paged = new ArrayList<>();
+		String token = "";
+		do {
+			CommercialCursor after = CommercialCursor.decode(token);
+			Map<String, Object> param = new HashMap<>();
+			param.put("afterName", after != null ? after.getStoreName() : null);
+			param.put("afterNo", after != null ? after.getStoreId() : null);
+			param.put("fetchSize", 3);
+			List<Commercial> page = dao.selectByCursor(param);
+			page.forEach(c -> paged.add(c.getStoreId()));
+			token = page.size() < 3 ? null : CommercialCursor.of(page.get(page.size() - 1)).encode();
+		} while (token != null);
+
+		assertEquals(21, expected.size());
+		assertEquals(expected, paged);
+	}
+}
@@ -0,0 +1,119 @@
+package kr.or.iei.commercial.model.handler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import kr.or.iei.commercial.model.dto.Commercial;
+
+/*
+ * CanonicalStringTypeHandler 메모리 비교 (selectForExport 매핑, 행당 바이트)
+ * - 매핑된 행들이 붙잡고 있는 지역/업종 문자열 크기 (서로 다른 인스턴스만 계산)
+ * - 비교 기준은 같은 컬럼을 행마다 새 String으로 매핑하는 mapper-test/commercial-plain-mapper.xml (Oracle 드라이버 동작)
+ */
+@MybatisTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:commercialAlloc;MODE=Oracle;DB_CLOSE_DELAY=-1",
+	"mybatis.mapper-locations=classpath:mapper/commercial-mapper.xml,classpath:mapper-test/commercial-plain-mapper.xml"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql("classpath:sql/commercial-schema.sql")
+class CanonicalStringTypeHandlerAllocationTest {
+
+	private static final int ROWS = 20_000;
+
+	private static final String[] SIDO = {"서울특별시", "부산광역시", "대구광역시", "인천광역시", "광주광역시", "대전광역시", "경기도"};
+	private static final String[][] CATEGORY = {
+		{"I2", "음식", "I201", "한식", "I20101", "백반/한정식"},
+		{"I2", "음식", "I212", "비알코올", "I21201", "카페"},
+		{"G2", "소매", "G204", "종합 소매", "G20405", "편의점"},
+		{"S2", "수리·개인", "S207", "이용·미용", "S20701", "미용실"},
+	};
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Autowired
+	private SqlSession sqlSession;
+
+	@BeforeEach
+	void insertRows() {
+		List<Object[]> rows = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			String[] c = CATEGORY[i % CATEGORY.length];
+			rows.add(new Object[] {
+				String.format("MA%08d", i), "상호" + i, SIDO[i % SIDO.length], "구" + (i % 25), "동" + (i % 300),
+				"도로명 " + i, "지번 " + i, c[1], c[3], c[5], c[0], c[2], c[4],
+				127.0 + i * 1e-6, 37.0 + i * 1e-6
+			});
+		}
+		jdbc.batchUpdate("INSERT INTO M_COMMERCIAL_INFO (M_NO, M_NM, SIDO_NM, SIGUN_NM, HANG_NM, DORO_ADDR, ZIBUN_ADDR,"
+				+ " G_GB_NM, S_GB_NM, T_GB_NM, G_GB_CD, S_GB_CD, T_GB_CD, LON, LAT) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+	}
+
+	@Test
+	void canonicalMappingRetainsFewerBytesPerRow() throws Exception {
+		// 클래스 로딩/JIT/표 초기 적재 영향 제거
+		map("commercialPlain.selectForExport");
+		map("kr.or.iei.commercial.model.dao.CommercialDao.selectForExport");
+
+		List<Commercial> plain = map("commercialPlain.selectForExport");
+		List<Commercial> canonical = map("kr.or.iei.commercial.model.dao.CommercialDao.selectForExport");
+
+		int total = ROWS + 1; // 스키마 스크립트의 기본 1건 포함
+		assertEquals(total, plain.size());
+		assertEquals(total, canonical.size());
+		for (int i = 0; i < total; i++) {
+			assertEquals(plain.get(i), canonical.get(i)); // 값은 동일
+		}
+
+		long plainRetained = retainedBytes(plain) / total;
+		long canonicalRetained = retainedBytes(canonical) / total;
+		assertTrue(canonicalRetained * 10 < plainRetained,
+				"retained/row plain " + plainRetained + ", canonical " + canonicalRetained);
+	}
+
+	private List<Commercial> map(String statement) throws Exception {
+		List<Commercial> rows = new ArrayList<>(ROWS + 1);
+		try (Cursor<Commercial> cursor = sqlSession.selectCursor(statement, new HashMap<String, Object>())) {
+			cursor.forEach(rows::add);
+		}
+		return rows;
+	}
+
+	// 지역/업종 9개 컬럼 문자열 중 서로 다른 인스턴스의 크기 합 (String 24바이트 + byte[] 16바이트 헤더, 8바이트 정렬)
+	private static long retainedBytes(List<Commercial> rows) {
+		Set<String> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		long bytes = 0;
+		for (Commercial row : rows) {
+			for (String s : new String[] {row.getProvinceName(), row.getDistrictName(), row.getTownName(),
+					row.getCategoryLarge(), row.getCategoryMedium(), row.getCategorySmall(),
+					row.getLargeCode(), row.getMediumCode(), row.getSmallCode()}) {
+				if (s != null && seen.add(s)) {
+					boolean latin1 = s.chars().allMatch(ch -> ch < 256);
+					bytes += 24 + align(16 + (latin1 ? s.length() : s.length() * 2L));
+				}
+			}
+		}
+		return bytes;
+	}
+
+	private static long align(long size) {
+		return (size + 7) & ~7L;
+	}
+}
@@ -0,0 +1,34 @@
+package kr.or.iei.commercial.model.handler;
+
+import java.sql.CallableStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.apache.ibatis.type.StringTypeHandler;
+
+/*
+ * 비교 기준용 TypeHandler
+ * - Oracle 드라이버는 행마다 바이트를 새 String으로 디코딩하지만 H2 메모리 DB는 같은 값을 캐시된 인스턴스로 돌려줌
+ * - 기본 String 매핑의 Oracle 동작을 재현하도록 값마다 새 인스턴스로 복사
+ */
+public class DecodedStringTypeHandler extends StringTypeHandler {
+
+    @Override
+    public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return copy(super.getNullableResult(rs, columnName));
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return copy(super.getNullableResult(rs, columnIndex));
+    }
+
+    @Override
+    public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return copy(super.getNullableResult(cs, columnIndex));
+    }
+
+    private static String copy(String value) {
+        return value == null ? null : new String(value.toCharArray());
+    }
+}
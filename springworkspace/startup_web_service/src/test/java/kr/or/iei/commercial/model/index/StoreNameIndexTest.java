@@ -0,0 +1,111 @@
+package kr.or.iei.commercial.model.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+class StoreNameIndexTest {
+
+	private static final String SYLLABLES = "가나다라마";
+
+	// 한 글자 키워드 후보 = 해당 글자의 postings 그대로 → 행 번호 차이가 varint 1 ~ 4byte인 경우 모두 원래 행으로 복원
+	@Test
+	void postingsRoundTripAcrossVarintWidths() {
+		int[] rows = {0, 1, 2, 129, 130, 16_514, 16_515, 2_113_667, 2_113_668, 2_500_000};
+		String[] names = new String[2_500_001];
+		for (int i = 0; i < rows.length; i++) {
+			names[rows[i]] = i % 2 == 0 ? "가나" : "나나다";
+		}
+		StoreNameIndex index = StoreNameIndex.build(names, names.length);
+
+		assertEquals(bits(rows), index.candidates("나"));
+		assertEquals(bits(0, 2, 130, 16_515, 2_113_668), index.candidates("가"));
+		assertEquals(bits(1, 129, 16_514, 2_113_667, 2_500_000), index.candidates("다"));
+		assertEquals(bits(0, 2, 130, 16_515, 2_113_668), index.candidates("가나"));
+		assertEquals(bits(1, 129, 16_514, 2_113_667, 2_500_000), index.candidates("나나"));
+	}
+
+	// 후보는 항상 LIKE 결과를 포함 (색인으로 좁혀도 결과가 빠지지 않음)
+	@Test
+	void candidatesContainBruteForceLike() {
+		Random random = new Random(7);
+		String[] names = new String[5_000];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = random.nextInt(40) == 0 ? null : name(random);
+		}
+		StoreNameIndex index = StoreNameIndex.build(names, names.length);
+
+		int checked = 0;
+		for (int i = 0; i < 500; i++) {
+			String keyword = keyword(random);
+			BitSet candidates = index.candidates(keyword);
+			if (candidates == null) {
+				continue; // 글자 조각 없음 (%, _ 만) → 전체 행이 후보
+			}
+			Pattern pattern = StoreNameIndex.likePattern(keyword);
+			for (int row = 0; row < names.length; row++) {
+				if (names[row] != null && pattern.matcher(names[row]).matches()) {
+					assertTrue(candidates.get(row), keyword + " 후보 누락 : " + row + " " + names[row]);
+					checked++;
+				}
+			}
+		}
+		assertTrue(checked > 10_000, "LIKE 일치 " + checked + "건");
+	}
+
+	@Test
+	void unknownGramsHaveNoCandidatesAndWildcardsOnlyHaveNoFilter() {
+		StoreNameIndex index = StoreNameIndex.build(new String[] {"가나다", "라마"}, 2);
+
+		assertTrue(index.candidates("바").isEmpty());
+		assertTrue(index.candidates("나라").isEmpty());
+		assertNull(index.candidates("%"));
+		assertNull(index.candidates("__"));
+		assertEquals(bits(0), index.candidates("가%다"));
+	}
+
+	@Test
+	void likePatternFollowsOracleLike() {
+		assertTrue(StoreNameIndex.likePattern("가_다").matcher("가나다").matches());
+		assertFalse(StoreNameIndex.likePattern("가_다").matcher("가다").matches());
+		assertTrue(StoreNameIndex.likePattern("가%다").matcher("가다").matches());
+		assertTrue(StoreNameIndex.likePattern("나").matcher("가나다").matches());
+		assertTrue(StoreNameIndex.likePattern("(주)").matcher("(주)가나").matches());
+		assertFalse(StoreNameIndex.likePattern("a.c").matcher("abc").matches());
+		assertTrue(StoreNameIndex.likePattern("\\").matcher("a\\b").matches());
+	}
+
+	private static BitSet bits(int... rows) {
+		BitSet bits = new BitSet();
+		for (int row : rows) {
+			bits.set(row);
+		}
+		return bits;
+	}
+
+	private static String name(Random random) {
+		StringBuilder name = new StringBuilder();
+		int length = 1 + random.nextInt(6);
+		for (int i = 0; i < length; i++) {
+			name.append(SYLLABLES.charAt(random.nextInt(SYLLABLES.length())));
+		}
+		return name.toString();
+	}
+
+	private static String keyword(Random random) {
+		StringBuilder keyword = new StringBuilder();
+		int length = 1 + random.nextInt(4);
+		for (int i = 0; i < length; i++) {
+			int r = random.nextInt(10);
+			keyword.append(r == 0 ? '%' : r == 1 ? '_' : SYLLABLES.charAt(random.nextInt(SYLLABLES.length())));
+		}
+		return keyword.toString();
+	}
+}
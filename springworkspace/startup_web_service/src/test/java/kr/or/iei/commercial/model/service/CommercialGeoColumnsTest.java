@@ -0,0 +1,48 @@
+package kr.or.iei.commercial.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import kr.or.iei.commercial.model.dao.CommercialDao;
+import kr.or.iei.common.exception.CommonException;
+
+// 좌표 컬럼은 마이그레이션으로만 추가, 기동 시에는 확인만
+@ExtendWith(MockitoExtension.class)
+class CommercialGeoColumnsTest {
+
+	@Mock
+	private CommercialDao dao;
+
+	@InjectMocks
+	private CommercialGeoColumns geoColumns;
+
+	@Test
+	void missingColumnsKeepFeatureUnavailable() {
+		when(dao.selectGeoColumnCount()).thenReturn(1);
+
+		geoColumns.check();
+
+		CommonException e = assertThrows(CommonException.class, geoColumns::requireReady);
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getErrorCode());
+	}
+
+	@Test
+	void migratedColumnsAreReadyEvenWithoutIndex() {
+		when(dao.selectGeoColumnCount()).thenReturn(2);
+		when(dao.selectGeoIndexCount()).thenReturn(0);
+
+		geoColumns.check();
+
+		assertTrue(geoColumns.isReady());
+		geoColumns.requireReady();
+	}
+}
@@ -0,0 +1,212 @@
+package kr.or.iei.commercial.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
+import org.h2.api.Trigger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import kr.or.iei.commercial.model.dto.CommercialLoadReport;
+import kr.or.iei.common.exception.CommonException;
+
+/*
+ * 상가 CSV 적재 → 스테이징 → MERGE/DELETE 전체 흐름 (H2 Oracle 호환 모드)
+ * - 적재는 별도 스레드/세션에서 커밋하므로 테스트 트랜잭션은 사용하지 않음
+ */
+@MybatisTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:commercial;MODE=Oracle;DB_CLOSE_DELAY=-1",
+	"mybatis.mapper-locations=classpath:mapper/commercial-mapper.xml",
+	"commercial.load.threads=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CommercialLoadService.class, CommercialLoadServiceTest.H2DatabaseId.class})
+@Sql("classpath:sql/commercial-schema.sql")
+class CommercialLoadServiceTest {
+
+	private static final String HEADER = "상가업소번호,상호명,지점명,상권업종대분류코드,상권업종대분류명,상권업종중분류코드,상권업종중분류명,"
+			+ "상권업종소분류코드,상권업종소분류명,시도명,시군구명,행정동명,지번주소,도로명주소,경도,위도";
+
+	private static final Path LOAD_DIR;
+
+	static {
+		try {
+			LOAD_DIR = Files.createTempDirectory("commercial-load");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@DynamicPropertySource
+	static void loadDir(DynamicPropertyRegistry registry) {
+		registry.add("commercial.load.dir", LOAD_DIR::toString);
+	}
+
+	// 스테이징 테이블 존재 확인 쿼리를 H2용으로 선택
+	@TestConfiguration
+	static class H2DatabaseId {
+		@Bean
+		VendorDatabaseIdProvider databaseIdProvider() {
+			Properties properties = new Properties();
+			properties.setProperty("H2", "h2");
+			VendorDatabaseIdProvider provider = new VendorDatabaseIdProvider();
+			provider.setProperties(properties);
+			return provider;
+		}
+	}
+
+	// 본 테이블 UPDATE가 실제로 일어난 상가ID 기록
+	public static class UpdatedRows implements Trigger {
+		static final Set<String> IDS = ConcurrentHashMap.newKeySet();
+
+		@Override
+		public void fire(Connection conn, Object[] oldRow, Object[] newRow) {
+			IDS.add((String) newRow[0]);
+		}
+	}
+
+	@MockitoBean
+	private CommercialService commercialService;
+
+	@MockitoBean
+	private CommercialSnapshotService snapshotService;
+
+	@MockitoBean
+	private CommercialStatsService statsService;
+
+	@MockitoBean
+	private CommercialNameIndexService nameIndexService;
+
+	@MockitoBean
+	private CommercialGeoColumns geoColumns;
+
+	@Autowired
+	private CommercialLoadService loadService;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@BeforeEach
+	void trackUpdates() {
+		jdbc.execute("CREATE TRIGGER M_COMMERCIAL_INFO_UPD AFTER UPDATE ON M_COMMERCIAL_INFO FOR EACH ROW CALL '"
+				+ UpdatedRows.class.getName() + "'");
+		UpdatedRows.IDS.clear();
+	}
+
+	@Test
+	void loadTwiceThenApplyChanges() throws Exception {
+		write("seoul.csv",
+				row("S0001", "행복분식", "종로구", "I2", "I201", "I20101", "126.9780000", "37.5665000"),
+				row("S0002", "서울커피", "중구", "I2", "I212", "I21201", "126.9900000", "37.5600000"),
+				row("S0003", "옛이름", "강남구", "G2", "G204", "G20405", "127.0270000", "37.4979000"),
+				row("S0003", "동네마트", "강남구", "G2", "G204", "G20405", "127.0270000", "37.4979000"));
+
+		CommercialLoadReport first = load("seoul.csv", false);
+		assertReport(first, 4, 3, 0, 0);
+		assertEquals("동네마트", name("S0003")); // 같은 상가업소번호는 파일의 마지막 줄 사용
+
+		// 같은 파일 재적재 : 변경 없음, 본 테이블 UPDATE 없음
+		CommercialLoadReport second = load("seoul.csv", false);
+		assertReport(second, 4, 0, 0, 0);
+		assertTrue(UpdatedRows.IDS.isEmpty(), "변경 없는 행이 수정됨 : " + UpdatedRows.IDS);
+
+		// S0002 상호 변경, S0003 폐업, S0004 신규 → 바뀐 행만 UPDATE
+		write("seoul.csv",
+				row("S0001", "행복분식", "종로구", "I2", "I201", "I20101", "126.9780000", "37.5665000"),
+				row("S0002", "서울커피 2호점", "중구", "I2", "I212", "I21201", "126.9900000", "37.5600000"),
+				row("S0004", "새가게", "마포구", "I2", "I201", "I20101", null, null));
+		CommercialLoadReport third = load("seoul.csv", false);
+		assertReport(third, 3, 1, 1, 1);
+		assertEquals(Set.of("S0002"), UpdatedRows.IDS);
+		assertEquals("서울커피 2호점", name("S0002"));
+		assertEquals(List.of("B0001", "S0001", "S0002", "S0004"), ids());
+	}
+
+	@Test
+	void regionalFileKeepsOtherRegionsUnlessFullLoad() throws Exception {
+		write("seoul.csv", row("S0001", "행복분식", "종로구", "I2", "I201", "I20101", "126.9780000", "37.5665000"));
+
+		assertReport(load("seoul.csv", false), 1, 1, 0, 0);
+		assertEquals(List.of("B0001", "S0001"), ids());
+
+		assertReport(load("seoul.csv", true), 1, 0, 0, 1);
+		assertEquals(List.of("S0001"), ids());
+	}
+
+	private CommercialLoadReport load(String file, boolean fullLoad) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 30_000;
+		CommercialLoadReport report;
+		while (true) {
+			try {
+				report = loadService.start(file, "UTF-8", fullLoad);
+				break;
+			} catch (CommonException e) {
+				// 직전 적재가 DONE 보고 후 후처리(트리/스냅샷 갱신) 중이면 CONFLICT → 잠시 후 재시도
+				if (e.getErrorCode() != HttpStatus.CONFLICT || System.currentTimeMillis() > deadline) {
+					throw e;
+				}
+				Thread.sleep(20);
+			}
+		}
+		while (("RUNNING".equals(report.getStatus()) || "MERGING".equals(report.getStatus()))
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+			report = loadService.status();
+		}
+		assertEquals("DONE", report.getStatus(), report.getMessage());
+		return report;
+	}
+
+	private static void assertReport(CommercialLoadReport report, long parsed, long inserted, long updated, long deleted) {
+		assertEquals(parsed, report.getParsedRows(), "parsed");
+		assertEquals(inserted, report.getInsertedRows(), "inserted");
+		assertEquals(updated, report.getUpdatedRows(), "updated");
+		assertEquals(deleted, report.getDeletedRows(), "deleted");
+	}
+
+	private String name(String storeId) {
+		return jdbc.queryForObject("SELECT M_NM FROM M_COMMERCIAL_INFO WHERE M_NO = ?", String.class, storeId);
+	}
+
+	private List<String> ids() {
+		return jdbc.queryForList("SELECT M_NO FROM M_COMMERCIAL_INFO ORDER BY M_NO", String.class);
+	}
+
+	private static String row(String id, String name, String district, String large, String medium, String small,
+			String lon, String lat) {
+		return String.join(",", id, name, "", large, "대분류", medium, "중분류", small, "소분류",
+				"서울특별시", district, "행정동", "\"" + district + " 1-1\"", "\"서울특별시 " + district + " 도로 1\"",
+				lon == null ? "" : lon, lat == null ? "" : lat);
+	}
+
+	private static void write(String file, String... rows) throws IOException {
+		Files.write(LOAD_DIR.resolve(file), (HEADER + "\n" + String.join("\n", rows) + "\n").getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,77 @@
+package kr.or.iei.commercial.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import kr.or.iei.commercial.model.dao.CommercialDao;
+
+/*
+ * 상호명 색인 후보 조건(keywordIds)은 색인이 현재 데이터 버전일 때만 사용 (H2 Oracle 호환 모드)
+ */
+@MybatisTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:commercialNameIndex;MODE=Oracle;DB_CLOSE_DELAY=-1",
+	"mybatis.mapper-locations=classpath:mapper/commercial-mapper.xml",
+	"commercial.nameIndex.initialDelay=3600000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CommercialNameIndexService.class)
+@Sql("classpath:sql/commercial-schema.sql")
+class CommercialNameIndexServiceTest {
+
+	@Autowired
+	private CommercialNameIndexService nameIndexService;
+
+	@Autowired
+	private CommercialDao dao;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Test
+	void staleIndexFallsBackToLike() {
+		assertTrue(nameIndexService.reload());
+		assertEquals(0, count("행복"));                      // 최신 색인 : 후보 없음 → 1 = 0
+
+		// 적재 외 경로로 추가된 상가 → 갱신 알림 후에는 색인 대신 LIKE
+		jdbc.update("INSERT INTO M_COMMERCIAL_INFO (M_NO, M_NM) VALUES ('S0001', '행복분식')");
+		nameIndexService.markDataChanged();
+		Map<String, Object> param = param("행복");
+		nameIndexService.resolveKeyword(param);
+		assertFalse(param.containsKey("keywordIds"));
+		assertEquals(false, nameIndexService.stats().get("fresh"));
+		assertEquals(1, count("행복"));
+
+		// 재적재 후에는 다시 색인 사용
+		assertTrue(nameIndexService.reload());
+		param = param("행복");
+		nameIndexService.resolveKeyword(param);
+		assertEquals(List.of(List.of("S0001")), param.get("keywordIds"));
+		assertEquals(1, count("행복"));
+		assertEquals(0, count("없는상호"));
+	}
+
+	private int count(String keyword) {
+		Map<String, Object> param = param(keyword);
+		nameIndexService.resolveKeyword(param);
+		return dao.selectTotalCount(param);
+	}
+
+	private static Map<String, Object> param(String keyword) {
+		Map<String, Object> param = new HashMap<>();
+		param.put("keyword", keyword);
+		return param;
+	}
+}
@@ -0,0 +1,153 @@
+package kr.or.iei.commercial.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import kr.or.iei.commercial.model.dao.CommercialDao;
+import kr.or.iei.commercial.model.dto.Commercial;
+import kr.or.iei.commercial.model.index.CommercialSnapshot;
+
+/*
+ * 스냅샷 조건 검색(match) 결과가 같은 조건의 SQL(filterCondition) 결과와 같은지 비교 (H2 Oracle 호환 모드)
+ * - 상호명은 적은 음절 조합으로 만들어 키워드가 여러 행에 걸리도록 하고, 상호명/업종 코드가 없는 행도 포함
+ */
+@MybatisTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:commercialSnapshot;MODE=Oracle;DB_CLOSE_DELAY=-1",
+	"mybatis.mapper-locations=classpath:mapper/commercial-mapper.xml",
+	"commercial.snapshot.enabled=true",
+	"commercial.snapshot.initialDelay=3600000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CommercialSnapshotService.class)
+@Sql("classpath:sql/commercial-schema.sql")
+class CommercialSnapshotServiceTest {
+
+	private static final String SYLLABLES = "가나다라마";
+	private static final String[] LARGE = {"I2", "G2", "S2"};
+	private static final String[] KEYWORDS = {"가", "가나", "나다라", "가%다", "_나", "나_", "%", "가_라%마", "바", "다가다"};
+
+	@Autowired
+	private CommercialSnapshotService snapshotService;
+
+	@Autowired
+	private CommercialDao dao;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	private final Random random = new Random(42);
+
+	@BeforeEach
+	void insertRows() {
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 0; i < 2_000; i++) {
+			String large = random.nextInt(20) == 0 ? null : LARGE[random.nextInt(LARGE.length)];
+			String medium = large == null ? null : large + "0" + random.nextInt(3);
+			String small = medium == null ? null : medium + "0" + random.nextInt(3);
+			rows.add(new Object[] {String.format("S%05d", i), random.nextInt(30) == 0 ? null : name(), "서울특별시", large, medium, small});
+		}
+		jdbc.batchUpdate("INSERT INTO M_COMMERCIAL_INFO (M_NO, M_NM, SIDO_NM, G_GB_CD, S_GB_CD, T_GB_CD) VALUES (?, ?, ?, ?, ?, ?)", rows);
+	}
+
+	@Test
+	void matchEqualsSqlFilter() {
+		assertTrue(snapshotService.reload());
+		CommercialSnapshot snapshot = snapshotService.current();
+
+		int nonEmpty = 0;
+		for (int i = 0; i < 300; i++) {
+			Map<String, Object> param = randomParam();
+			BitSet rows = snapshotService.match(snapshot, param);
+
+			List<String> expected = sqlIds(param);
+			assertEquals(expected, ids(snapshot.page(rows, 0, snapshot.size())), param.toString());
+			assertEquals(dao.selectTotalCount(param), rows.cardinality(), param.toString());
+			if (!expected.isEmpty()) {
+				nonEmpty++;
+			}
+		}
+		assertTrue(nonEmpty > 100, "결과가 있는 조건 " + nonEmpty + "건");
+	}
+
+	@Test
+	void pageEqualsRownumPaging() {
+		assertTrue(snapshotService.reload());
+		CommercialSnapshot snapshot = snapshotService.current();
+
+		Map<String, Object> param = new HashMap<>();
+		param.put("largeCode", "I2");
+		param.put("keyword", "가");
+		BitSet rows = snapshotService.match(snapshot, param);
+		for (int start = 0; start < rows.cardinality() + 20; start += 20) {
+			param.put("startRow", start);
+			param.put("endRow", start + 20);
+			assertEquals(ids(dao.selectByCondition(param)), ids(snapshot.page(rows, start, start + 20)), "startRow " + start);
+		}
+	}
+
+	private Map<String, Object> randomParam() {
+		Map<String, Object> param = new HashMap<>();
+		String large = LARGE[random.nextInt(LARGE.length)];
+		switch (random.nextInt(4)) {
+			case 0 -> param.put("largeCode", large);
+			case 1 -> param.put("largeCodes", List.of(large, LARGE[random.nextInt(LARGE.length)]));
+			default -> { }
+		}
+		switch (random.nextInt(4)) {
+			case 0 -> param.put("mediumCode", large + "0" + random.nextInt(3));
+			case 1 -> param.put("mediumCodes", List.of(large + "00", "X999"));
+			default -> { }
+		}
+		if (random.nextInt(4) == 0) {
+			param.put("smallCodes", List.of(large + "0001", large + "0" + random.nextInt(3) + "0" + random.nextInt(3)));
+		}
+		if (random.nextInt(3) > 0) {
+			param.put("keyword", KEYWORDS[random.nextInt(KEYWORDS.length)]);
+		}
+		return param;
+	}
+
+	private List<String> sqlIds(Map<String, Object> param) {
+		List<String> ids = new ArrayList<>();
+		try (Cursor<Commercial> cursor = dao.selectForExport(param)) {
+			cursor.forEach(c -> ids.add(c.getStoreId()));
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		return ids;
+	}
+
+	private static List<String> ids(List<Commercial> list) {
+		List<String> ids = new ArrayList<>(list.size());
+		for (Commercial c : list) {
+			ids.add(c.getStoreId());
+		}
+		return ids;
+	}
+
+	private String name() {
+		StringBuilder name = new StringBuilder();
+		int length = 1 + random.nextInt(5);
+		for (int i = 0; i < length; i++) {
+			name.append(SYLLABLES.charAt(random.nextInt(SYLLABLES.length())));
+		}
+		return name.toString();
+	}
+}
@@ -0,0 +1,194 @@
+package kr.or.iei.commercial.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import kr.or.iei.commercial.model.dao.CommercialDao;
+
+/*
+ * 집계 큐브 결과가 같은 조건의 SQL GROUP BY / COUNT 결과와 같은지 비교 (H2 Oracle 호환 모드)
+ * - 지역/업종 값이 없는(null) 행도 포함
+ */
+@MybatisTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:commercialStats;MODE=Oracle;DB_CLOSE_DELAY=-1",
+	"mybatis.mapper-locations=classpath:mapper/commercial-mapper.xml",
+	"commercial.stats.initialDelay=3600000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CommercialStatsService.class)
+@Sql("classpath:sql/commercial-schema.sql")
+class CommercialStatsServiceTest {
+
+	private static final String[] REGION_COLUMNS = {"SIDO_NM", "SIGUN_NM", "HANG_NM"};
+	private static final String[] CATEGORY_COLUMNS = {"G_GB_CD", "S_GB_CD", "T_GB_CD"};
+	private static final String[] SIDO = {"서울특별시", "부산광역시", "경기도"};
+	private static final String[] LARGE = {"I2", "G2", "S2"};
+
+	@Autowired
+	private CommercialStatsService statsService;
+
+	@Autowired
+	private CommercialDao dao;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	private final Random random = new Random(11);
+
+	@BeforeEach
+	void insertRows() {
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 0; i < 3_000; i++) {
+			String sido = random.nextInt(50) == 0 ? null : SIDO[random.nextInt(SIDO.length)];
+			String sigun = sido == null || random.nextInt(50) == 0 ? null : "구" + random.nextInt(4);
+			String hang = sigun == null ? null : "동" + random.nextInt(5);
+			String large = random.nextInt(30) == 0 ? null : LARGE[random.nextInt(LARGE.length)];
+			String medium = large == null ? null : large + "0" + random.nextInt(3);
+			String small = medium == null ? null : medium + "0" + random.nextInt(4);
+			rows.add(new Object[] {String.format("S%05d", i), "상호" + i, sido, sigun, hang,
+					large, medium, small, large == null ? null : large + "분류", medium == null ? null : medium + "분류"});
+		}
+		jdbc.batchUpdate("INSERT INTO M_COMMERCIAL_INFO (M_NO, M_NM, SIDO_NM, SIGUN_NM, HANG_NM, G_GB_CD, S_GB_CD, T_GB_CD, G_GB_NM, S_GB_NM)"
+				+ " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+	}
+
+	@Test
+	void statsEqualGroupBy() {
+		assertTrue(statsService.reload());
+
+		List<String[]> regionPrefixes = prefixes(REGION_COLUMNS);
+		List<String[]> categoryPrefixes = prefixes(CATEGORY_COLUMNS);
+		int compared = 0;
+		for (String[] region : regionPrefixes) {
+			for (int i = 0; i < categoryPrefixes.size(); i += 7) {
+				String[] category = categoryPrefixes.get(i);
+				for (String groupBy : new String[] {"region", "category"}) {
+					Map<String, Object> stats = statsService.getStats(region[0], region[1], region[2],
+							category[0], category[1], category[2], groupBy, 0);
+					String where = " WHERE 1=1" + condition(REGION_COLUMNS, region) + condition(CATEGORY_COLUMNS, category);
+
+					Long total = jdbc.queryForObject("SELECT COUNT(*) FROM M_COMMERCIAL_INFO" + where, Long.class, args(region, category));
+					assertEquals(total, stats.get("total"), where);
+					assertEquals(groupBySql(region, category, groupBy, where), items(stats), groupBy + where);
+					compared++;
+				}
+			}
+		}
+		assertTrue(compared > 100, "비교 " + compared + "건");
+	}
+
+	@Test
+	void getStatsIfLoadedDoesNotLoadOnCaller() {
+		CommercialStatsService fresh = new CommercialStatsService(); // 다른 테스트에서 적재한 큐브 없이 시작
+		ReflectionTestUtils.setField(fresh, "dao", dao);
+		assertNull(fresh.getStatsIfLoaded(null, null, null, "I2", null, null, "category", 0));
+
+		assertTrue(fresh.reload());
+		Map<String, Object> stats = fresh.getStatsIfLoaded(null, null, null, "I2", null, null, "category", 0);
+		assertEquals(jdbc.queryForObject("SELECT COUNT(*) FROM M_COMMERCIAL_INFO WHERE G_GB_CD = 'I2'", Long.class), stats.get("total"));
+	}
+
+	@Test
+	void countByCategoriesEqualsFilterCount() {
+		assertTrue(statsService.reload());
+
+		for (int i = 0; i < 200; i++) {
+			String large = LARGE[random.nextInt(LARGE.length)];
+			Set<String> largeCodes = random.nextBoolean() ? codes(large, LARGE[random.nextInt(LARGE.length)]) : null;
+			Set<String> mediumCodes = random.nextBoolean() ? codes(large + "0" + random.nextInt(3)) : null;
+			Set<String> smallCodes = random.nextInt(3) == 0 ? codes(large + "000", large + "0" + random.nextInt(3) + "0" + random.nextInt(4)) : null;
+
+			Map<String, Object> param = new HashMap<>();
+			param.put("largeCodes", largeCodes == null ? null : new ArrayList<>(largeCodes));
+			param.put("mediumCodes", mediumCodes == null ? null : new ArrayList<>(mediumCodes));
+			param.put("smallCodes", smallCodes == null ? null : new ArrayList<>(smallCodes));
+
+			assertEquals(dao.selectTotalCount(param), statsService.countByCategories(largeCodes, mediumCodes, smallCodes), param.toString());
+		}
+	}
+
+	// 데이터에 있는 값으로 만든 1 ~ 3단계 조건 (앞 단계부터 지정, 전체 = 조건 없음)
+	private List<String[]> prefixes(String[] columns) {
+		List<String[]> prefixes = new ArrayList<>();
+		prefixes.add(new String[3]);
+		for (int depth = 1; depth <= 3; depth++) {
+			String select = String.join(", ", List.of(columns).subList(0, depth));
+			String notNull = String.join(" IS NOT NULL AND ", List.of(columns).subList(0, depth)) + " IS NOT NULL";
+			for (Map<String, Object> row : jdbc.queryForList("SELECT DISTINCT " + select + " FROM M_COMMERCIAL_INFO WHERE " + notNull)) {
+				String[] prefix = new String[3];
+				for (int i = 0; i < depth; i++) {
+					prefix[i] = (String) row.get(columns[i]);
+				}
+				prefixes.add(prefix);
+			}
+		}
+		return prefixes;
+	}
+
+	private Map<String, Long> groupBySql(String[] region, String[] category, String groupBy, String where) {
+		boolean byRegion = "region".equals(groupBy);
+		String[] prefix = byRegion ? region : category;
+		int depth = 0;
+		while (depth < 3 && prefix[depth] != null) {
+			depth++;
+		}
+		String column = (byRegion ? REGION_COLUMNS : CATEGORY_COLUMNS)[Math.min(depth, 2)];
+
+		Map<String, Long> counts = new HashMap<>();
+		for (Map<String, Object> row : jdbc.queryForList("SELECT " + column + " AS CODE, COUNT(*) AS CNT FROM M_COMMERCIAL_INFO"
+				+ where + " GROUP BY " + column, args(region, category))) {
+			counts.put((String) row.get("CODE"), ((Number) row.get("CNT")).longValue());
+		}
+		return counts;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Long> items(Map<String, Object> stats) {
+		Map<String, Long> counts = new HashMap<>();
+		for (Map<String, Object> item : (List<Map<String, Object>>) stats.get("items")) {
+			counts.put((String) item.get("code"), (Long) item.get("count"));
+		}
+		return counts;
+	}
+
+	private static Set<String> codes(String... codes) {
+		return new HashSet<>(List.of(codes));
+	}
+
+	private static String condition(String[] columns, String[] prefix) {
+		StringBuilder sql = new StringBuilder();
+		for (int i = 0; i < 3 && prefix[i] != null; i++) {
+			sql.append(" AND ").append(columns[i]).append(" = ?");
+		}
+		return sql.toString();
+	}
+
+	private static Object[] args(String[] region, String[] category) {
+		List<Object> args = new ArrayList<>();
+		for (String[] prefix : new String[][] {region, category}) {
+			for (int i = 0; i < 3 && prefix[i] != null; i++) {
+				args.add(prefix[i]);
+			}
+		}
+		return args.toArray();
+	}
+}
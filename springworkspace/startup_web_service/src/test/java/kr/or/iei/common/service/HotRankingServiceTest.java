@@ -0,0 +1,78 @@
+package kr.or.iei.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class HotRankingServiceTest {
+
+	private HotRankingService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new HotRankingService();
+		ReflectionTestUtils.setField(service, "halfLifeMillis", 21600000L);
+		ReflectionTestUtils.setField(service, "capacity", 200);
+		ReflectionTestUtils.setField(service, "viewWeight", 1.0);
+		ReflectionTestUtils.setField(service, "writeWeight", 3.0);
+		ReflectionTestUtils.setField(service, "reportWeight", -5.0);
+	}
+
+	@AfterEach
+	void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void writeInTransactionAppliesAfterCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+		service.write("post:free", 1, Map.of("postNo", 1));
+		assertTrue(service.top("post:free", 10).isEmpty());
+
+		commit();
+		assertEquals(1, service.top("post:free", 10).size());
+	}
+
+	@Test
+	void rolledBackWriteNeverRanks() {
+		TransactionSynchronizationManager.initSynchronization();
+		service.write("post:free", 1, Map.of("postNo", 1));
+		TransactionSynchronizationManager.clearSynchronization(); // 롤백 : afterCommit 호출 없음
+
+		assertTrue(service.top("post:free", 10).isEmpty());
+	}
+
+	@Test
+	void updateAndRemoveInTransactionWaitForCommit() {
+		service.write("post:free", 1, Map.of("postNo", 1, "postTitle", "before"));
+
+		TransactionSynchronizationManager.initSynchronization();
+		service.update("post:free", 1, Map.of("postNo", 1, "postTitle", "after"));
+		assertEquals("before", service.top("post:free", 1).get(0).get("postTitle"));
+		commit();
+		assertEquals("after", service.top("post:free", 1).get(0).get("postTitle"));
+
+		TransactionSynchronizationManager.initSynchronization();
+		service.remove("post", 1);
+		assertEquals(1, service.top("post:free", 10).size());
+		commit();
+		assertTrue(service.top("post:free", 10).isEmpty());
+	}
+
+	private static void commit() {
+		for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+			sync.afterCommit();
+		}
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+}
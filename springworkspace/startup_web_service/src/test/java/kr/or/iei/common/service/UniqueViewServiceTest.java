@@ -0,0 +1,73 @@
+package kr.or.iei.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import kr.or.iei.common.util.HyperLogLog;
+
+class UniqueViewServiceTest {
+
+	@TempDir
+	Path dir;
+
+	private UniqueViewService service() {
+		UniqueViewService service = new UniqueViewService();
+		ReflectionTestUtils.setField(service, "dir", dir.toString());
+		ReflectionTestUtils.setField(service, "precision", 12);
+		return service;
+	}
+
+	@Test
+	void saveAndLoadRoundTrip() throws IOException {
+		UniqueViewService service = service();
+		for (int i = 0; i < 20_000; i++) {
+			service.record("post", 1, "m:user" + i);    // dense
+		}
+		for (int i = 0; i < 15; i++) {
+			service.record("post", 2, "c:10.0.0." + i); // sparse
+		}
+		service.record("market", 7, "m:user1");
+		service.remove("post", 3);
+		service.save();
+
+		// sparse 글은 4KB 대신 수십 byte로 저장
+		assertTrue(Files.size(dir.resolve("post.hll")) < 4096 + 200, "post.hll " + Files.size(dir.resolve("post.hll")));
+
+		UniqueViewService reloaded = service();
+		assertEquals(service.uniqueViews("post", 1), reloaded.uniqueViews("post", 1));
+		assertEquals(15, reloaded.uniqueViews("post", 2));
+		assertEquals(1, reloaded.uniqueViews("market", 7));
+		assertEquals(0, reloaded.uniqueViews("post", 3));
+
+		// 읽어 온 스케치에 이어서 기록
+		reloaded.record("post", 2, "c:10.0.0.99");
+		reloaded.record("post", 2, "c:10.0.0.0");
+		assertEquals(16, reloaded.uniqueViews("post", 2));
+	}
+
+	@Test
+	void loadsPreviousDenseFormat() throws IOException {
+		HyperLogLog hll = new HyperLogLog(12);
+		for (int i = 0; i < 40; i++) {
+			hll.add("m:user" + i);
+		}
+		try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(dir.resolve("post.hll")))) {
+			out.writeInt(0x484C4C31); // "HLL1"
+			out.writeInt(12);
+			out.writeInt(1);
+			out.writeInt(5);
+			out.write(hll.toBytes());
+		}
+
+		assertEquals(hll.cardinality(), service().uniqueViews("post", 5));
+	}
+}
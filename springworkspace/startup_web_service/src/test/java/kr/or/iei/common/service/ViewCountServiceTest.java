@@ -0,0 +1,63 @@
+package kr.or.iei.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ViewCountServiceTest {
+
+	// flusher 안(DB 커밋 직후 시점)에서는 반영 중인 증가분을 pending으로 다시 세지 않음
+	@Test
+	void flushedDeltasAreNotPendingWhileFlusherRuns() {
+		ViewCountService service = new ViewCountService();
+		Map<Integer, Long> db = new HashMap<>();
+		Map<Integer, Integer> seen = new HashMap<>();
+		service.register("post", deltas -> {
+			for (long[] d : deltas) {
+				db.merge((int) d[0], d[1], Long::sum);
+			}
+			service.increment("post", 1); // 반영 중에 들어온 조회
+			seen.put(1, service.pendingOf("post", 1));
+		});
+
+		service.increment("post", 1);
+		service.increment("post", 1);
+		service.increment("post", 2);
+		service.flush();
+
+		assertEquals(Map.of(1, 2L, 2, 1L), db);
+		assertEquals(1, seen.get(1));
+		assertEquals(1, service.pendingOf("post", 1));
+		assertEquals(0, service.pendingOf("post", 2));
+	}
+
+	@Test
+	void failedFlushRestoresDeltas() {
+		ViewCountService service = new ViewCountService();
+		service.register("post", deltas -> {
+			throw new IllegalStateException("db down");
+		});
+
+		service.increment("post", 1);
+		service.increment("post", 1);
+		service.flush();
+		assertEquals(2, service.pendingOf("post", 1));
+
+		List<long[]> flushed = new ArrayList<>();
+		service.register("post", flushed::addAll);
+		service.flush();
+		assertEquals(1, flushed.size());
+		assertEquals(2, flushed.get(0)[1]);
+		assertEquals(0, service.pendingOf("post", 1));
+	}
+
+	@Test
+	void unregisteredTypeHasNoPending() {
+		assertEquals(0, new ViewCountService().pendingOf("market", 1));
+	}
+}
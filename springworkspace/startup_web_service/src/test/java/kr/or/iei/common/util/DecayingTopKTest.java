@@ -0,0 +1,103 @@
+package kr.or.iei.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class DecayingTopKTest {
+
+	private static final long HALF_LIFE = 1000;
+
+	private long now = 1_000_000;
+
+	private DecayingTopK<String> topK(int capacity) {
+		return new DecayingTopK<>(HALF_LIFE, capacity, () -> now);
+	}
+
+	@Test
+	void olderScoresDecayByHalfLife() {
+		DecayingTopK<String> topK = topK(10);
+		topK.add(1, 4, "a");
+		now += HALF_LIFE;
+		topK.add(2, 3, "b");
+
+		// a : 4 → 2 (반감기 1회), b : 3
+		assertEquals(List.of("b", "a"), items(topK.top(10)));
+		assertEquals(3.0, topK.top(10).get(0).getValue(), 1e-9);
+		assertEquals(2.0, topK.top(10).get(1).getValue(), 1e-9);
+
+		now += 2 * HALF_LIFE;
+		assertEquals(0.75, topK.top(1).get(0).getValue(), 1e-9); // b : 3 → 0.75
+	}
+
+	@Test
+	void repeatedEventsOvertakeOlderHigherScore() {
+		DecayingTopK<String> topK = topK(10);
+		topK.add(1, 10, "a");
+		for (int i = 0; i < 3; i++) {
+			now += HALF_LIFE;
+			topK.add(2, 2, "b");
+		}
+		// a : 10 / 8 = 1.25, b : 2/4 + 2/2 + 2 = 3.5
+		assertEquals(List.of("b", "a"), items(topK.top(10)));
+		assertEquals(3.5, topK.top(1).get(0).getValue(), 1e-9);
+	}
+
+	@Test
+	void fullCapacityEvictsLowestAndInheritsItsScore() {
+		DecayingTopK<String> topK = topK(2);
+		topK.add(1, 5, "a");
+		topK.add(2, 1, "b");
+		topK.add(3, 1, "c"); // b(1) 자리를 넘겨받아 1 + 1
+
+		assertEquals(2, topK.size());
+		assertEquals(List.of("a", "c"), items(topK.top(10)));
+		assertEquals(2.0, topK.top(10).get(1).getValue(), 1e-9);
+
+		// 밀려난 항목은 adjust로 다시 들어오지 않음
+		assertFalse(topK.adjust(2, 10, "b"));
+		assertEquals(List.of("a", "c"), items(topK.top(10)));
+	}
+
+	@Test
+	void negativeAdjustBelowZeroRemoves() {
+		DecayingTopK<String> topK = topK(10);
+		topK.add(1, 3, "a");
+		topK.add(2, 1, "b");
+
+		assertTrue(topK.adjust(1, -1, "a2")); // 요약 정보도 교체
+		assertEquals(List.of("a2", "b"), items(topK.top(10)));
+		assertTrue(topK.adjust(1, -5, null));
+		assertEquals(List.of("b"), items(topK.top(10)));
+
+		topK.remove(2);
+		assertEquals(0, topK.size());
+	}
+
+	@Test
+	void rebaseKeepsOrderAndScores() {
+		DecayingTopK<String> topK = topK(10);
+		topK.add(1, 8, "a");
+		topK.add(2, 4, "b");
+		now += 70 * HALF_LIFE; // 재조정 기준(반감기 64회) 초과
+		topK.add(3, 1, "c");
+
+		assertEquals(List.of("c", "a", "b"), items(topK.top(10)));
+		assertEquals(1.0, topK.top(1).get(0).getValue(), 1e-9);
+		assertEquals(8 * Math.pow(2, -70), topK.top(10).get(1).getValue(), 1e-30);
+	}
+
+	private static List<String> items(List<Map.Entry<String, Double>> top) {
+		List<String> items = new ArrayList<>();
+		for (Map.Entry<String, Double> e : top) {
+			items.add(e.getKey());
+		}
+		return items;
+	}
+}
@@ -0,0 +1,108 @@
+package kr.or.iei.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class HyperLogLogTest {
+
+	private static final int PRECISION = 12;
+
+	// 표준 오차 1.04 / sqrt(4096) ≈ 1.6% → 3σ 이내
+	@ParameterizedTest
+	@ValueSource(ints = {10, 100, 1_000, 10_000, 100_000, 1_000_000})
+	void estimateWithinExpectedError(int n) {
+		HyperLogLog hll = new HyperLogLog(PRECISION);
+		for (int i = 0; i < n; i++) {
+			hll.add("m:user" + i);
+			hll.add("m:user" + (i / 2)); // 중복은 세지 않음
+		}
+		double error = Math.abs(hll.cardinality() - n) / (double) n;
+		assertTrue(error <= 3 * 1.04 / Math.sqrt(1 << PRECISION), n + "건 추정 " + hll.cardinality());
+	}
+
+	@Test
+	void sparseUntilLimitThenDenseWithSameEstimate() throws IOException {
+		HyperLogLog hll = new HyperLogLog(PRECISION);
+		for (int i = 0; i < 100; i++) {
+			hll.add("c:10.0.0." + i);
+		}
+		assertTrue(hll.isSparse());
+		assertTrue(hll.sizeInBytes() < 1 << PRECISION, "sparse " + hll.sizeInBytes() + "byte");
+
+		// 같은 레지스터 값을 dense로 강제한 스케치와 비교
+		HyperLogLog dense = dense(hll.toBytes());
+		assertFalse(dense.isSparse());
+		assertEquals(dense.cardinality(), hll.cardinality());
+
+		for (int i = 100; i < 5_000; i++) {
+			String key = "c:10.0.0." + i;
+			assertEquals(dense.add(key), hll.add(key));
+		}
+		assertFalse(hll.isSparse());
+		assertEquals(1 << PRECISION, hll.sizeInBytes());
+		assertArrayEquals(dense.toBytes(), hll.toBytes());
+		assertEquals(dense.cardinality(), hll.cardinality());
+	}
+
+	@Test
+	void mergeSparseAndDense() {
+		HyperLogLog a = new HyperLogLog(PRECISION);
+		HyperLogLog b = new HyperLogLog(PRECISION);
+		HyperLogLog all = new HyperLogLog(PRECISION);
+		for (int i = 0; i < 20_000; i++) {
+			a.add("k" + i);
+			all.add("k" + i);
+		}
+		for (int i = 0; i < 50; i++) {
+			b.add("x" + i);
+			all.add("x" + i);
+		}
+		assertTrue(b.isSparse());
+
+		HyperLogLog sparseFirst = b.copy();
+		sparseFirst.merge(a);
+		a.merge(b);
+		assertArrayEquals(all.toBytes(), a.toBytes());
+		assertArrayEquals(all.toBytes(), sparseFirst.toBytes());
+	}
+
+	// 처음부터 dense인 스케치 (저장 형식의 dense 항목으로 읽음)
+	private static HyperLogLog dense(byte[] registers) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(-1);
+		out.write(registers);
+		return HyperLogLog.readFrom(PRECISION, new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {0, 30, 100_000})
+	void writeReadRoundTrip(int n) throws IOException {
+		HyperLogLog hll = new HyperLogLog(PRECISION);
+		for (int i = 0; i < n; i++) {
+			hll.add("m:user" + i);
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		hll.writeTo(new DataOutputStream(bytes));
+
+		HyperLogLog read = HyperLogLog.readFrom(PRECISION, new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+		assertEquals(hll.isSparse(), read.isSparse());
+		assertArrayEquals(hll.toBytes(), read.toBytes());
+		assertEquals(hll.cardinality(), read.cardinality());
+		if (hll.isSparse()) {
+			assertTrue(bytes.size() <= Integer.BYTES * (n + 1), "sparse 저장 크기 " + bytes.size());
+		}
+	}
+}
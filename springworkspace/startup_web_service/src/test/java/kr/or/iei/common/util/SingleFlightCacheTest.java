@@ -0,0 +1,62 @@
+package kr.or.iei.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class SingleFlightCacheTest {
+
+	@Test
+	void loaderErrorReleasesWaitingCallers() {
+		SingleFlightCache<String, String> cache = new SingleFlightCache<>(5000, 100);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get("k", () -> {
+			started.countDown();
+			await(release);
+			throw new StackOverflowError("loader");
+		}));
+		await(started);
+		CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> cache.get("k", () -> "other"));
+		while (cache.stats().get("coalesced") == 0) {
+			Thread.onSpinWait();
+		}
+		release.countDown();
+
+		assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+			ExecutionException e = assertThrows(ExecutionException.class, waiter::get);
+			assertEquals(StackOverflowError.class, e.getCause().getClass());
+			assertThrows(ExecutionException.class, first::get);
+		});
+
+		// 실패한 결과는 캐시되지 않음
+		assertEquals("next", cache.get("k", () -> "next"));
+	}
+
+	@Test
+	void runtimeExceptionIsNotCached() {
+		SingleFlightCache<String, String> cache = new SingleFlightCache<>(5000, 100);
+		assertThrows(IllegalStateException.class, () -> cache.get("k", () -> {
+			throw new IllegalStateException("db");
+		}));
+		assertEquals("ok", cache.get("k", () -> "ok"));
+		assertEquals("ok", cache.get("k", () -> "again"));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package kr.or.iei.member.model.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import kr.or.iei.common.service.BlobStore;
+import kr.or.iei.common.service.CountService;
+import kr.or.iei.common.service.HotRankingService;
+import kr.or.iei.member.model.dao.MemberDao;
+import kr.or.iei.member.model.dto.Report;
+import kr.or.iei.post.model.search.PostSearchService;
+import kr.or.iei.post.model.service.PostDetailCache;
+import kr.or.iei.post.model.service.PostListCache;
+
+// 신고 삭제 처리 시 첨부파일 경로를 삭제 전에 조회해 저장소 참조 해제
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MemberServiceTest {
+
+	@Mock
+	private MemberDao dao;
+
+	@Mock
+	private BlobStore blobStore;
+
+	@Mock
+	private CountService countService;
+
+	@Mock
+	private HotRankingService hotRankingService;
+
+	@Mock
+	private PostListCache postListCache;
+
+	@Mock
+	private PostDetailCache postDetailCache;
+
+	@Mock
+	private PostSearchService postSearchService;
+
+	@InjectMocks
+	private MemberService service;
+
+	@BeforeEach
+	void setUp() {
+		when(dao.updateReportStatus(any())).thenReturn(1);
+	}
+
+	@Test
+	void deletedPostReleasesAttachments() {
+		when(dao.selectPostFilePaths(7)).thenReturn(List.of("a1/a1b2.pdf", "20240101_old.txt"));
+
+		service.processReport(report("post", 7), "deleted");
+
+		InOrder order = inOrder(dao, blobStore);
+		order.verify(dao).selectPostFilePaths(7);
+		order.verify(dao).deletePost(7);
+		order.verify(blobStore).release("a1/a1b2.pdf");
+		order.verify(blobStore).release("20240101_old.txt");
+	}
+
+	@Test
+	void deletedMarketReleasesImages() {
+		when(dao.selectMarketFilePaths(3)).thenReturn(List.of("c3/c3d4.jpg"));
+
+		service.processReport(report("market", 3), "deleted");
+
+		InOrder order = inOrder(dao, blobStore);
+		order.verify(dao).selectMarketFilePaths(3);
+		order.verify(dao).deleteMarket(3);
+		order.verify(blobStore).release("c3/c3d4.jpg");
+	}
+
+	private static Report report(String postType, int postId) {
+		Report report = new Report();
+		report.setPostType(postType);
+		report.setPostId(postId);
+		return report;
+	}
+}
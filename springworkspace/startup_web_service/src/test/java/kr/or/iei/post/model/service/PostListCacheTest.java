@@ -0,0 +1,93 @@
+package kr.or.iei.post.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import kr.or.iei.member.model.dto.Post;
+
+class PostListCacheTest {
+
+	private PostListCache cache;
+	private int dbReadCount;      // DB의 조회수
+	private AtomicInteger loads;
+
+	@BeforeEach
+	void setUp() {
+		cache = new PostListCache();
+		ReflectionTestUtils.setField(cache, "maxPages", 5);
+		ReflectionTestUtils.setField(cache, "maxTypes", 20);
+		dbReadCount = 10;
+		loads = new AtomicInteger();
+	}
+
+	@Test
+	void cachedPageIsPatchedOnceByFlush() {
+		assertEquals(10, readCount(cache.get("free", 1, this::load)));
+
+		flush(3, null);
+
+		assertEquals(13, readCount(cache.get("free", 1, this::load)));
+		assertEquals(1, loads.get()); // 보정된 캐시 사용
+	}
+
+	@Test
+	void pageLoadedBeforeCommitIsNotCachedAfterFlush() {
+		// 조회가 반영 커밋 전 값을 읽은 뒤, 캐시에 넣기 전에 반영이 끝남 → 이전 값이 캐시되면 안 됨
+		PostListCache.Result first = cache.get("free", 1, () -> {
+			PostListCache.Result stale = load();
+			flush(3, null);
+			return stale;
+		});
+		assertEquals(10, readCount(first));
+
+		assertEquals(13, readCount(cache.get("free", 1, this::load)));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void pageLoadedAfterCommitIsNotPatchedTwice() {
+		// 반영 커밋 후, 캐시 보정(applyReadCounts) 전에 조회해 캐시에 넣은 경우 → 보정이 한 번 더 더해지면 안 됨
+		flush(3, () -> assertEquals(13, readCount(cache.get("free", 1, this::load))));
+
+		assertEquals(13, readCount(cache.get("free", 1, this::load)));
+	}
+
+	@Test
+	void failedFlushDoesNotDisableCaching() {
+		cache.beginReadCountFlush();
+		cache.endReadCountFlush(); // DB 반영 실패 시에도 호출됨
+
+		cache.get("free", 1, this::load);
+		cache.get("free", 1, this::load);
+		assertEquals(1, loads.get());
+	}
+
+	// 조회수 반영 (PostService와 같은 순서) : 시작 → DB 커밋 → (afterCommit 동작) → 캐시 보정 → 끝
+	private void flush(int delta, Runnable afterCommit) {
+		cache.beginReadCountFlush();
+		dbReadCount += delta;
+		if (afterCommit != null) {
+			afterCommit.run();
+		}
+		cache.applyReadCounts(List.of(new long[] {1, delta}));
+		cache.endReadCountFlush();
+	}
+
+	private PostListCache.Result load() {
+		loads.incrementAndGet();
+		Post post = new Post();
+		post.setPostNo(1);
+		post.setReadCount(dbReadCount);
+		return new PostListCache.Result(List.of(post), null, 1);
+	}
+
+	private static int readCount(PostListCache.Result result) {
+		return result.list.get(0).getReadCount();
+	}
+}
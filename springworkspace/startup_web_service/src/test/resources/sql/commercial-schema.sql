@@ -0,0 +1,24 @@
+DROP TABLE IF EXISTS M_COMMERCIAL_INFO_STG;
+DROP TABLE IF EXISTS M_COMMERCIAL_INFO;
+
+CREATE TABLE M_COMMERCIAL_INFO (
+    M_NO        VARCHAR2(30) PRIMARY KEY,
+    M_NM        VARCHAR2(200),
+    SIDO_NM     VARCHAR2(50),
+    SIGUN_NM    VARCHAR2(50),
+    HANG_NM     VARCHAR2(50),
+    DORO_ADDR   VARCHAR2(300),
+    ZIBUN_ADDR  VARCHAR2(300),
+    G_GB_NM     VARCHAR2(100),
+    S_GB_NM     VARCHAR2(100),
+    T_GB_NM     VARCHAR2(100),
+    G_GB_CD     VARCHAR2(10),
+    S_GB_CD     VARCHAR2(10),
+    T_GB_CD     VARCHAR2(10),
+    LON         NUMBER(10, 7),
+    LAT         NUMBER(10, 7)
+);
+
+-- 이번 적재 파일에 없는 다른 시도의 상가 (시도 범위 삭제 확인용)
+INSERT INTO M_COMMERCIAL_INFO (M_NO, M_NM, SIDO_NM, SIGUN_NM, HANG_NM, G_GB_CD, S_GB_CD, T_GB_CD, LON, LAT)
+VALUES ('B0001', '부산상회', '부산광역시', '해운대구', '우동', 'G2', 'G204', 'G20405', 129.1603000, 35.1631000);